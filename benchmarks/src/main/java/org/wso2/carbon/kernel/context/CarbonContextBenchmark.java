@@ -0,0 +1,134 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.context;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures looking up the {@link CarbonContext} and {@link PrivilegedCarbonContext} of the current thread, and
+ * reading and writing context properties. The {@code legacy} benchmarks measure the same with the lookup used up to
+ * 5.3.0, which created a new view on every call.
+ *
+ * @since 5.3.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class CarbonContextBenchmark {
+
+    private static final String PROPERTY_NAME = "benchmark-property";
+
+    private static final ContextKey<Object> PROPERTY_KEY = ContextKey.register("benchmark-key", Object.class);
+
+    private Object propertyValue = new Object();
+
+    @Setup
+    public void setup() {
+        PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_NAME, propertyValue);
+        PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_KEY, propertyValue);
+        LegacyCarbonContext.getPrivilegedCurrentContext().setProperty(PROPERTY_NAME, propertyValue);
+    }
+
+    @TearDown
+    public void tearDown() {
+        PrivilegedCarbonContext.destroyCurrentContext();
+        LegacyCarbonContext.destroyCurrentContext();
+    }
+
+    @Benchmark
+    public CarbonContext getCurrentContext() {
+        return CarbonContext.getCurrentContext();
+    }
+
+    @Benchmark
+    public PrivilegedCarbonContext getPrivilegedCurrentContext() {
+        return PrivilegedCarbonContext.getCurrentContext();
+    }
+
+    @Benchmark
+    public Object getProperty() {
+        return CarbonContext.getCurrentContext().getProperty(PROPERTY_NAME);
+    }
+
+    @Benchmark
+    public void setProperty() {
+        PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_NAME, propertyValue);
+    }
+
+    @Benchmark
+    public Object getKeyedProperty() {
+        return CarbonContext.getCurrentContext().getProperty(PROPERTY_KEY);
+    }
+
+    @Benchmark
+    public void setKeyedProperty() {
+        PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_KEY, propertyValue);
+    }
+
+    /**
+     * Looks up a context on a thread which has none, and destroys it, as done for each task of a pooled thread.
+     */
+    @Benchmark
+    public void createAndDestroyContext() {
+        PrivilegedCarbonContext.destroyCurrentContext();
+        PrivilegedCarbonContext.getCurrentContext();
+        PrivilegedCarbonContext.destroyCurrentContext();
+    }
+
+    @Benchmark
+    public LegacyCarbonContext legacyGetCurrentContext() {
+        return LegacyCarbonContext.getCurrentContext();
+    }
+
+    @Benchmark
+    public LegacyCarbonContext legacyGetPrivilegedCurrentContext() {
+        return LegacyCarbonContext.getPrivilegedCurrentContext();
+    }
+
+    @Benchmark
+    public Object legacyGetProperty() {
+        return LegacyCarbonContext.getCurrentContext().getProperty(PROPERTY_NAME);
+    }
+
+    @Benchmark
+    public void legacySetProperty() {
+        LegacyCarbonContext.getPrivilegedCurrentContext().setProperty(PROPERTY_NAME, propertyValue);
+    }
+
+    @Benchmark
+    public void legacyCreateAndDestroyContext() {
+        LegacyCarbonContext.destroyCurrentContext();
+        LegacyCarbonContext.getPrivilegedCurrentContext();
+        LegacyCarbonContext.destroyCurrentContext();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.context;
+
+import org.wso2.carbon.utils.Utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The context lookup which was used by {@link CarbonContext} and {@link PrivilegedCarbonContext} up to 5.3.0: a
+ * thread local holder with an eagerly created properties map, a new view on every lookup and an unconditional
+ * security check on every privileged call. It is kept only as the baseline of {@link CarbonContextBenchmark}.
+ *
+ * @since 5.3.1
+ */
+class LegacyCarbonContext {
+
+    private static ThreadLocal<Holder> currentHolder = new ThreadLocal<Holder>() {
+        protected Holder initialValue() {
+            return new Holder();
+        }
+    };
+
+    private final Holder holder;
+
+    private LegacyCarbonContext(Holder holder) {
+        this.holder = holder;
+    }
+
+    static LegacyCarbonContext getCurrentContext() {
+        return new LegacyCarbonContext(currentHolder.get());
+    }
+
+    static LegacyCarbonContext getPrivilegedCurrentContext() {
+        Utils.checkSecurity();
+        return new LegacyCarbonContext(currentHolder.get());
+    }
+
+    static void destroyCurrentContext() {
+        Utils.checkSecurity();
+        getPrivilegedCurrentContext();
+        currentHolder.remove();
+    }
+
+    Object getProperty(String name) {
+        return holder.properties.get(name);
+    }
+
+    void setProperty(String name, Object value) {
+        Utils.checkSecurity();
+        holder.properties.put(name, value);
+    }
+
+    private static final class Holder {
+        private final Map<String, Object> properties = new HashMap<>();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MultiCounter} when several threads update the counts of the same set of keys.
+ *
+ * @since 5.3.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiCounterBenchmark {
+
+    @Param({"1", "16", "256"})
+    private int keyCount;
+
+    private String[] keys;
+
+    private MultiCounter<String> multiCounter;
+
+    @Setup
+    public void setup() {
+        multiCounter = new MultiCounter<>();
+        keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = "org.wso2.carbon.synthetic.Service" + i;
+            multiCounter.incrementAndGet(keys[i]);
+        }
+    }
+
+    /**
+     * Keeps the index of the next key used by a benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class KeyIndex {
+        private int next;
+
+        private String nextKey(String[] keys) {
+            return keys[next++ % keys.length];
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int incrementAndDecrement(KeyIndex keyIndex) {
+        String key = keyIndex.nextKey(keys);
+        multiCounter.incrementAndGet(key);
+        return multiCounter.decrementAndGet(key);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int get(KeyIndex keyIndex) {
+        return multiCounter.get(keyIndex.nextKey(keys));
+    }
+
+    @Benchmark
+    public List<String> getKeysWithNonZeroCount() {
+        return multiCounter.getKeysWithNonZeroCount();
+    }
+}
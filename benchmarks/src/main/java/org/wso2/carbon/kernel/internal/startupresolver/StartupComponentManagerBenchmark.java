@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link StartupComponentManager} with synthetic startup graphs of 10 to 10k components.
+ *
+ * @since 5.3.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StartupComponentManagerBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int componentCount;
+
+    @Param({"3"})
+    private int maxDependencies;
+
+    private SyntheticStartupGraph startupGraph;
+
+    @Setup
+    public void setup() {
+        startupGraph = new SyntheticStartupGraph(componentCount, maxDependencies, 42);
+    }
+
+    /**
+     * Adds the components and their expected capabilities, as done while processing the manifest headers.
+     */
+    @Benchmark
+    public StartupComponentManager addComponents() {
+        return startupGraph.createManager();
+    }
+
+    /**
+     * Adds the components and notifies all of them in dependency order.
+     */
+    @Benchmark
+    public int resolve() {
+        int notifiedCount = startupGraph.resolve(startupGraph.createManager());
+        if (notifiedCount != startupGraph.getComponentCount()) {
+            throw new IllegalStateException("Only " + notifiedCount + " of " + startupGraph.getComponentCount() +
+                    " components were notified");
+        }
+        return notifiedCount;
+    }
+}
@@ -0,0 +1,568 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.CapabilityProviderCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+import org.wso2.carbon.kernel.startupresolver.CapabilityProvider;
+import org.wso2.carbon.kernel.startupresolver.manifest.ManifestElement;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.capabilityProviderElementPredicate;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.requiredCapabilityListenerElementPredicate;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.CARBON_COMPONENT_HEADER;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.OSGI_SERVICE_COMPONENT;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.STARTUP_LISTENER_COMPONENT;
+
+/**
+ * An in-memory simulation of the startup order resolution, which drives the {@link StartupComponentManager} with
+ * synthetic Carbon-Component manifest headers and OSGi service registration sequences, without an OSGi framework.
+ * <p>
+ * Each synthetic component requires the services of up to {@code maxDependencies} components which are declared before
+ * it, and registers its own service once it is notified. Every tenth component also requires a capability which is
+ * registered by a {@code CapabilityProvider} bundle, and the components without any other dependency require a service
+ * of a bundle without startup components. The manifest headers are parsed and processed in the same way as the
+ * {@link StartupOrderResolver}, and the components are notified in the event driven mode.
+ * <p>
+ * The simulation reports the time taken to parse the headers and to satisfy the components, the time-to-satisfied
+ * percentiles of the components and the bytes allocated in both phases, from the fastest of {@code --runs} runs. When
+ * given more than one component count, it also reports the growth exponent of the resolution time and allocations
+ * between consecutive counts, and fails if the allocation exponent exceeds {@code --max-exponent}. Allocations are
+ * used for this check since they do not vary between runs.
+ * <p>
+ * e.g. java -cp benchmarks/target/benchmarks.jar
+ * org.wso2.carbon.kernel.internal.startupresolver.StartupResolverSimulation --max-exponent=1.3 1000 10000 50000
+ *
+ * @since 5.3.1
+ */
+public final class StartupResolverSimulation {
+
+    private static final String COMPONENT_NAME_PREFIX = "simulation-component-";
+    private static final String COMPONENT_SERVICE_PREFIX = "org.wso2.carbon.simulation.ComponentService";
+    private static final String LEAF_SERVICE_PREFIX = "org.wso2.carbon.simulation.LeafService";
+    private static final String PROVIDED_CAPABILITY_PREFIX = "org.wso2.carbon.simulation.ProvidedCapability";
+    private static final int CAPABILITY_PROVIDER_INTERVAL = 10;
+    private static final int MAX_PROVIDED_SERVICES = 3;
+    private static final int BURST_SIZE = 256;
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+    private static final double BYTES_PER_MEGABYTE = 1024d * 1024d;
+
+    /**
+     * The order in which the listeners and services are registered.
+     */
+    enum Scenario {
+        /**
+         * Registrations arrive one at a time in the order they are made, as with bundles started in their start level
+         * order.
+         */
+        ORDERED,
+        /**
+         * Registrations arrive one at a time in a random order.
+         */
+        RANDOM,
+        /**
+         * Registrations arrive in random bursts of {@value #BURST_SIZE}, and the components are only checked after
+         * each burst, as when the resolver falls behind the service events.
+         */
+        BURSTY,
+        /**
+         * Registrations arrive one at a time in a random order, but the {@code CapabilityProvider} services are only
+         * registered once all the other registrations are done.
+         */
+        DELAYED_PROVIDERS
+    }
+
+    private final int componentCount;
+
+    private final long seed;
+
+    private final Bundle[] componentBundles;
+
+    private final Bundle[] leafBundles;
+
+    private final Bundle[] providerBundles;
+
+    private final int[] providedServiceCounts;
+
+    StartupResolverSimulation(int componentCount, int maxDependencies, long seed) {
+        this.componentCount = componentCount;
+        this.seed = seed;
+        this.componentBundles = new Bundle[componentCount];
+        this.leafBundles = new Bundle[Math.max(1, componentCount / CAPABILITY_PROVIDER_INTERVAL)];
+        this.providerBundles = new Bundle[(componentCount + CAPABILITY_PROVIDER_INTERVAL - 1) /
+                CAPABILITY_PROVIDER_INTERVAL];
+        this.providedServiceCounts = new int[providerBundles.length];
+
+        Random random = new Random(seed);
+        long bundleId = 0;
+        for (int i = 0; i < componentCount; i++) {
+            List<String> requiredServices = new ArrayList<>();
+            int dependencyCount = Math.min(i, random.nextInt(maxDependencies + 1));
+            while (requiredServices.size() < dependencyCount) {
+                String serviceName = COMPONENT_SERVICE_PREFIX + random.nextInt(i);
+                if (!requiredServices.contains(serviceName)) {
+                    requiredServices.add(serviceName);
+                }
+            }
+            if (i % CAPABILITY_PROVIDER_INTERVAL == 0) {
+                requiredServices.add(PROVIDED_CAPABILITY_PREFIX + i / CAPABILITY_PROVIDER_INTERVAL);
+            }
+            if (requiredServices.isEmpty()) {
+                requiredServices.add(LEAF_SERVICE_PREFIX + random.nextInt(leafBundles.length));
+            }
+
+            componentBundles[i] = createBundle(bundleId++, "org.wso2.carbon.simulation.component" + i,
+                    STARTUP_LISTENER_COMPONENT + ";componentName=\"" + COMPONENT_NAME_PREFIX + i + "\";" +
+                            "requiredService=\"" + String.join(",", requiredServices) + "\"," +
+                            OSGI_SERVICE_COMPONENT + ";objectClass=\"" + COMPONENT_SERVICE_PREFIX + i + "\"");
+        }
+
+        for (int i = 0; i < leafBundles.length; i++) {
+            leafBundles[i] = createBundle(bundleId++, "org.wso2.carbon.simulation.leaf" + i,
+                    OSGI_SERVICE_COMPONENT + ";objectClass=\"" + LEAF_SERVICE_PREFIX + i + "\"");
+        }
+
+        for (int i = 0; i < providerBundles.length; i++) {
+            providedServiceCounts[i] = 1 + random.nextInt(MAX_PROVIDED_SERVICES);
+            providerBundles[i] = createBundle(bundleId++, "org.wso2.carbon.simulation.provider" + i,
+                    OSGI_SERVICE_COMPONENT + ";objectClass=\"" + CapabilityProvider.class.getName() + "\";" +
+                            "capabilityName=\"" + PROVIDED_CAPABILITY_PREFIX + i + "\"");
+        }
+    }
+
+    /**
+     * Parses the Carbon-Component headers of all the synthetic bundles and creates a {@link StartupComponentManager}
+     * with the components and capabilities declared in them.
+     *
+     * @return the created {@code StartupComponentManager}
+     */
+    StartupComponentManager createManager() {
+        List<Bundle> bundles = new ArrayList<>(componentBundles.length + leafBundles.length + providerBundles.length);
+        bundles.addAll(Arrays.asList(componentBundles));
+        bundles.addAll(Arrays.asList(leafBundles));
+        bundles.addAll(Arrays.asList(providerBundles));
+
+        Map<String, List<ManifestElement>> groupedManifestElements = bundles.stream()
+                .map(StartupOrderResolverUtils::getManifestElements)
+                .flatMap(Collection::stream)
+                .collect(Collectors.groupingBy(ManifestElement::getValue));
+
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        groupedManifestElements.get(STARTUP_LISTENER_COMPONENT)
+                .stream()
+                .map(StartupOrderResolverUtils::getStartupComponent)
+                .forEach(startupComponentManager::addStartupComponent);
+
+        List<ManifestElement> osgiServiceElements = groupedManifestElements.get(OSGI_SERVICE_COMPONENT);
+        osgiServiceElements.stream()
+                .filter(capabilityProviderElementPredicate)
+                .map(StartupOrderResolverUtils::getCapabilityProviderCapability)
+                .forEach(startupComponentManager::addExpectedOrAvailableCapabilityProvider);
+        osgiServiceElements.stream()
+                .filter(capabilityProviderElementPredicate.negate().and(
+                        requiredCapabilityListenerElementPredicate.negate()))
+                .map(StartupOrderResolverUtils::getOSGiServiceCapabilities)
+                .flatMap(Collection::stream)
+                .forEach(startupComponentManager::addExpectedCapability);
+        return startupComponentManager;
+    }
+
+    /**
+     * Parses the headers and registers all the listeners and services in the order of the given scenario, until no
+     * registration is left.
+     *
+     * @param scenario order of the registrations
+     * @return the measurements of the run
+     */
+    Result run(Scenario scenario) {
+        Result result = new Result(scenario, componentCount);
+        long allocatedBytes = getAllocatedBytes();
+        long startTime = System.nanoTime();
+        StartupComponentManager startupComponentManager = createManager();
+        result.parseNanos = System.nanoTime() - startTime;
+        result.parseBytes = getAllocatedBytes() - allocatedBytes;
+
+        Deque<StartupComponent> updatedComponents = new ArrayDeque<>();
+        startupComponentManager.setComponentUpdateListener(updatedComponents::add);
+        RegistrationQueue registrationQueue = new RegistrationQueue(scenario, new Random(seed));
+        ServiceRegistry serviceRegistry = new ServiceRegistry(startupComponentManager, updatedComponents::add);
+
+        allocatedBytes = getAllocatedBytes();
+        long resolveStartTime = System.nanoTime();
+        for (int i = 0; i < componentCount; i++) {
+            int componentIndex = i;
+            Capability componentService = createAvailableService(COMPONENT_SERVICE_PREFIX + i, componentBundles[i]);
+            registrationQueue.add(() -> startupComponentManager.addRequiredCapabilityListener(() -> {
+                result.satisfiedNanos[componentIndex] = System.nanoTime() - resolveStartTime;
+                result.satisfiedCount++;
+                // The service of the component is registered once the component is activated.
+                registrationQueue.add(() -> serviceRegistry.register(componentService));
+            }, COMPONENT_NAME_PREFIX + componentIndex, componentBundles[componentIndex]));
+        }
+        for (int i = 0; i < leafBundles.length; i++) {
+            Capability leafService = createAvailableService(LEAF_SERVICE_PREFIX + i, leafBundles[i]);
+            registrationQueue.add(() -> serviceRegistry.register(leafService));
+        }
+        for (int i = 0; i < providerBundles.length; i++) {
+            int providerIndex = i;
+            registrationQueue.addCapabilityProvider(() ->
+                    registerCapabilityProvider(serviceRegistry, registrationQueue, providerIndex));
+        }
+
+        List<Runnable> registrations = new ArrayList<>();
+        while (!registrationQueue.isEmpty()) {
+            registrationQueue.poll(registrations);
+            registrations.forEach(Runnable::run);
+            result.registrationCount += registrations.size();
+            registrations.clear();
+
+            StartupComponent startupComponent;
+            while ((startupComponent = updatedComponents.poll()) != null) {
+                startupComponentManager.notifyIfSatisfiable(startupComponent);
+            }
+        }
+        result.resolveNanos = System.nanoTime() - resolveStartTime;
+        result.resolveBytes = getAllocatedBytes() - allocatedBytes;
+        return result;
+    }
+
+    /**
+     * Registers a {@code CapabilityProvider} in the same way as the {@code OSGiServiceCapabilityTracker}, and
+     * queues the registrations of the services it provides.
+     */
+    private void registerCapabilityProvider(ServiceRegistry serviceRegistry, RegistrationQueue registrationQueue,
+                                            int providerIndex) {
+        StartupComponentManager startupComponentManager = serviceRegistry.startupComponentManager;
+        String capabilityName = PROVIDED_CAPABILITY_PREFIX + providerIndex;
+        Bundle bundle = providerBundles[providerIndex];
+        startupComponentManager.addExpectedOrAvailableCapabilityProvider(new CapabilityProviderCapability(
+                CapabilityProvider.class.getName(), Capability.CapabilityType.OSGi_SERVICE,
+                Capability.CapabilityState.AVAILABLE, capabilityName, bundle));
+
+        Capability providedService = createAvailableService(capabilityName, bundle);
+        for (int i = 0; i < providedServiceCounts[providerIndex]; i++) {
+            startupComponentManager.addExpectedCapability(new OSGiServiceCapability(capabilityName,
+                    Capability.CapabilityType.OSGi_SERVICE, Capability.CapabilityState.EXPECTED, bundle, true));
+            registrationQueue.add(() -> serviceRegistry.register(providedService));
+        }
+    }
+
+    private static Capability createAvailableService(String serviceName, Bundle bundle) {
+        return new OSGiServiceCapability(serviceName, Capability.CapabilityType.OSGi_SERVICE,
+                Capability.CapabilityState.AVAILABLE, bundle, false);
+    }
+
+    private static Bundle createBundle(long bundleId, String symbolicName, String carbonComponentHeader) {
+        Hashtable<String, String> headers = new Hashtable<>();
+        headers.put(CARBON_COMPONENT_HEADER, carbonComponentHeader);
+        return SyntheticStartupGraph.createBundle(bundleId, symbolicName, headers);
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread, or -1 if the JVM does not support measuring it.
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+            if (allocationMXBean.isThreadAllocatedMemorySupported() &&
+                    allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+                return allocationMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    public static void main(String[] args) {
+        List<Scenario> scenarios = Arrays.asList(Scenario.values());
+        List<Integer> componentCounts = new ArrayList<>();
+        int maxDependencies = 3;
+        long seed = 42;
+        int runs = 3;
+        double maxExponent = Double.NaN;
+
+        for (String arg : args) {
+            if (arg.startsWith("--scenario=")) {
+                scenarios = Arrays.stream(getOptionValue(arg).split(","))
+                        .map(value -> Scenario.valueOf(value.trim().toUpperCase(Locale.ENGLISH)))
+                        .collect(Collectors.toList());
+            } else if (arg.startsWith("--max-dependencies=")) {
+                maxDependencies = Integer.parseInt(getOptionValue(arg));
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(getOptionValue(arg));
+            } else if (arg.startsWith("--runs=")) {
+                runs = Integer.parseInt(getOptionValue(arg));
+            } else if (arg.startsWith("--max-exponent=")) {
+                maxExponent = Double.parseDouble(getOptionValue(arg));
+            } else if (arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown option: " + arg + ". Supported options are --scenario, " +
+                        "--max-dependencies, --seed, --runs and --max-exponent");
+            } else {
+                componentCounts.add(Integer.parseInt(arg));
+            }
+        }
+        if (componentCounts.isEmpty()) {
+            componentCounts = Arrays.asList(1000, 10000, 50000);
+        }
+        componentCounts.sort(Integer::compare);
+
+        // Warm up the JIT compiler with the smallest graph, so that it does not skew the first measurement.
+        StartupResolverSimulation warmupSimulation =
+                new StartupResolverSimulation(componentCounts.get(0), maxDependencies, seed);
+        for (Scenario scenario : scenarios) {
+            warmupSimulation.run(scenario);
+        }
+
+        System.out.println(Result.HEADER);
+        boolean failed = false;
+        for (Scenario scenario : scenarios) {
+            Result previousResult = null;
+            for (int componentCount : componentCounts) {
+                // Keep the fastest of the runs, since the others are more likely to be slowed down by the GC.
+                StartupResolverSimulation simulation =
+                        new StartupResolverSimulation(componentCount, maxDependencies, seed);
+                Result result = simulation.run(scenario);
+                for (int i = 1; i < runs; i++) {
+                    Result nextResult = simulation.run(scenario);
+                    if (nextResult.resolveNanos < result.resolveNanos) {
+                        result = nextResult;
+                    }
+                }
+                System.out.println(result.format(previousResult));
+                if (result.satisfiedCount != componentCount) {
+                    System.out.println("  " + (componentCount - result.satisfiedCount) + " components were not " +
+                            "satisfied");
+                    failed = true;
+                } else if (previousResult != null && result.getAllocationExponent(previousResult) > maxExponent) {
+                    System.out.println("  allocations grow faster than n^" + maxExponent);
+                    failed = true;
+                }
+                previousResult = result;
+            }
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    private static String getOptionValue(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    /**
+     * Queues the registrations, and hands them out in the order of a {@link Scenario}.
+     */
+    private static final class RegistrationQueue {
+
+        private final Scenario scenario;
+
+        private final Random random;
+
+        private final Deque<Runnable> orderedRegistrations = new ArrayDeque<>();
+
+        private final List<Runnable> registrations = new ArrayList<>();
+
+        private final List<Runnable> delayedRegistrations = new ArrayList<>();
+
+        private RegistrationQueue(Scenario scenario, Random random) {
+            this.scenario = scenario;
+            this.random = random;
+        }
+
+        private void add(Runnable registration) {
+            if (scenario == Scenario.ORDERED) {
+                orderedRegistrations.add(registration);
+            } else {
+                registrations.add(registration);
+            }
+        }
+
+        private void addCapabilityProvider(Runnable registration) {
+            if (scenario == Scenario.DELAYED_PROVIDERS) {
+                delayedRegistrations.add(registration);
+            } else {
+                add(registration);
+            }
+        }
+
+        private boolean isEmpty() {
+            return orderedRegistrations.isEmpty() && registrations.isEmpty() && delayedRegistrations.isEmpty();
+        }
+
+        /**
+         * Moves the next registration, or the next burst of registrations, to the given list.
+         */
+        private void poll(List<Runnable> nextRegistrations) {
+            if (scenario == Scenario.ORDERED) {
+                nextRegistrations.add(orderedRegistrations.poll());
+                return;
+            }
+            if (registrations.isEmpty()) {
+                registrations.addAll(delayedRegistrations);
+                delayedRegistrations.clear();
+            }
+
+            int count = scenario == Scenario.BURSTY ? Math.min(BURST_SIZE, registrations.size()) : 1;
+            for (int i = 0; i < count; i++) {
+                // Swap a random registration with the last one, so that it is removed in constant time.
+                int lastIndex = registrations.size() - 1;
+                int index = random.nextInt(registrations.size());
+                nextRegistrations.add(registrations.set(index, registrations.get(lastIndex)));
+                registrations.remove(lastIndex);
+            }
+        }
+    }
+
+    /**
+     * Registers the synthetic OSGi services. Each registration is seen by the {@code OSGiServiceCapabilityTracker},
+     * and reported by every component which requires the service, as done with
+     * {@code StartupServiceUtils.updateServiceCache}. The reports bypass the {@code StartupServiceCache} singleton, so
+     * that the service counts are not shared between runs.
+     */
+    private static final class ServiceRegistry {
+
+        private final StartupComponentManager startupComponentManager;
+
+        private final Consumer<StartupComponent> componentUpdateListener;
+
+        private final Map<String, Integer> serviceCounts = new HashMap<>();
+
+        private ServiceRegistry(StartupComponentManager startupComponentManager,
+                                Consumer<StartupComponent> componentUpdateListener) {
+            this.startupComponentManager = startupComponentManager;
+            this.componentUpdateListener = componentUpdateListener;
+        }
+
+        private void register(Capability service) {
+            startupComponentManager.updateCapability(service);
+
+            String serviceName = service.getName();
+            int serviceCount = serviceCounts.merge(serviceName, 1, Integer::sum);
+            for (StartupComponent startupComponent : startupComponentManager.getComponentsRequiring(serviceName)) {
+                startupComponent.updateAvailableCount(serviceName, serviceCount);
+                componentUpdateListener.accept(startupComponent);
+            }
+        }
+    }
+
+    /**
+     * Measurements of a single simulation run.
+     */
+    static final class Result {
+
+        private static final String HEADER = String.format(Locale.ENGLISH,
+                "%-17s %10s %13s %9s %9s %11s %11s %8s %8s %9s %9s",
+                "scenario", "components", "registrations", "parse ms", "parse MB", "resolve ms", "resolve MB",
+                "p50 ms", "p99 ms", "time exp", "alloc exp");
+
+        private final Scenario scenario;
+
+        private final int componentCount;
+
+        private final long[] satisfiedNanos;
+
+        private int satisfiedCount;
+
+        private int registrationCount;
+
+        private long parseNanos;
+
+        private long parseBytes;
+
+        private long resolveNanos;
+
+        private long resolveBytes;
+
+        private Result(Scenario scenario, int componentCount) {
+            this.scenario = scenario;
+            this.componentCount = componentCount;
+            this.satisfiedNanos = new long[componentCount];
+        }
+
+        /**
+         * Returns the time taken to satisfy the given percentage of the components, in nanoseconds.
+         */
+        long getTimeToSatisfied(double percentile) {
+            long[] sortedNanos = Arrays.copyOf(satisfiedNanos, satisfiedCount);
+            Arrays.sort(sortedNanos);
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, index)];
+        }
+
+        /**
+         * Returns k of n^k, where n is the component count, from the resolution time of this and the given run.
+         */
+        double getTimeExponent(Result previousResult) {
+            return getExponent(previousResult, resolveNanos, previousResult.resolveNanos);
+        }
+
+        /**
+         * Returns k of n^k, where n is the component count, from the bytes allocated by this and the given run.
+         */
+        double getAllocationExponent(Result previousResult) {
+            if (resolveBytes < 0 || previousResult.resolveBytes < 0) {
+                return Double.NaN;
+            }
+            return getExponent(previousResult, parseBytes + resolveBytes,
+                    previousResult.parseBytes + previousResult.resolveBytes);
+        }
+
+        private double getExponent(Result previousResult, long value, long previousValue) {
+            if (previousValue <= 0 || componentCount == previousResult.componentCount) {
+                return Double.NaN;
+            }
+            return Math.log((double) value / previousValue) /
+                    Math.log((double) componentCount / previousResult.componentCount);
+        }
+
+        private String format(Result previousResult) {
+            return String.format(Locale.ENGLISH,
+                    "%-17s %10d %13d %9.1f %9.1f %11.1f %11.1f %8.1f %8.1f %9s %9s",
+                    scenario.name().toLowerCase(Locale.ENGLISH), componentCount, registrationCount,
+                    parseNanos / NANOS_PER_MILLI, parseBytes / BYTES_PER_MEGABYTE,
+                    resolveNanos / NANOS_PER_MILLI, resolveBytes / BYTES_PER_MEGABYTE,
+                    getTimeToSatisfied(50) / NANOS_PER_MILLI, getTimeToSatisfied(99) / NANOS_PER_MILLI,
+                    previousResult != null ? formatExponent(getTimeExponent(previousResult)) : "-",
+                    previousResult != null ? formatExponent(getAllocationExponent(previousResult)) : "-");
+        }
+
+        private static String formatExponent(double exponent) {
+            return Double.isNaN(exponent) ? "n/a" : String.format(Locale.ENGLISH, "%.2f", exponent);
+        }
+    }
+}
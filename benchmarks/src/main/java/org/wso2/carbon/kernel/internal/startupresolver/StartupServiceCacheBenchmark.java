@@ -0,0 +1,88 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link StartupServiceCache#update(String, Class)} when several threads report OSGi services, as done by
+ * the components registering services during the server startup.
+ *
+ * @since 5.3.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StartupServiceCacheBenchmark {
+
+    private static final Class[] SERVICE_INTERFACES = {Runnable.class, Callable.class, AutoCloseable.class,
+            Comparable.class};
+
+    @Param({"1", "64"})
+    private int componentCount;
+
+    private String[] componentNames;
+
+    @Setup
+    public void setup() {
+        componentNames = new String[componentCount];
+        for (int i = 0; i < componentCount; i++) {
+            componentNames[i] = "synthetic-component-" + i;
+        }
+    }
+
+    /**
+     * Keeps the index of the next update of a benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class UpdateIndex {
+        private int next;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void update(UpdateIndex updateIndex) {
+        int index = updateIndex.next++;
+        StartupServiceCache.getInstance().update(componentNames[index % componentNames.length],
+                SERVICE_INTERFACES[index % SERVICE_INTERFACES.length]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long getAvailableServiceCount(UpdateIndex updateIndex) {
+        int index = updateIndex.next++;
+        return StartupServiceCache.getInstance().getAvailableServiceCount(
+                componentNames[index % componentNames.length],
+                SERVICE_INTERFACES[index % SERVICE_INTERFACES.length].getName());
+    }
+}
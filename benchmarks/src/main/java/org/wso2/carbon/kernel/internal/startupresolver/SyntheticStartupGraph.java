@@ -0,0 +1,185 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.Version;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Dictionary;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A synthetic, acyclic graph of startup components which runs through the {@link StartupComponentManager} without an
+ * OSGi framework.
+ * <p>
+ * Each component registers one OSGi service from its {@code RequiredCapabilityListener}, and requires the services of
+ * up to {@code maxDependencies} components which are declared before it.
+ *
+ * @since 5.3.1
+ */
+final class SyntheticStartupGraph {
+
+    private static final String COMPONENT_NAME_PREFIX = "synthetic-component-";
+    private static final String SERVICE_NAME_PREFIX = "org.wso2.carbon.synthetic.Service";
+
+    private final int componentCount;
+
+    private final List<List<String>> requiredServices;
+
+    private final Bundle[] bundles;
+
+    SyntheticStartupGraph(int componentCount, int maxDependencies, long seed) {
+        this.componentCount = componentCount;
+        this.requiredServices = new ArrayList<>(componentCount);
+        this.bundles = new Bundle[componentCount];
+
+        Random random = new Random(seed);
+        for (int i = 0; i < componentCount; i++) {
+            int dependencyCount = Math.min(i, random.nextInt(maxDependencies + 1));
+            List<String> services = new ArrayList<>(dependencyCount);
+            while (services.size() < dependencyCount) {
+                String serviceName = getServiceName(random.nextInt(i));
+                if (!services.contains(serviceName)) {
+                    services.add(serviceName);
+                }
+            }
+            requiredServices.add(services);
+            bundles[i] = createBundle(i, "org.wso2.carbon.synthetic.bundle" + i);
+        }
+    }
+
+    /**
+     * Creates a {@link StartupComponentManager} with all the components and the services they expect, as done while
+     * processing the Carbon-Component manifest headers.
+     *
+     * @return the created {@code StartupComponentManager}
+     */
+    StartupComponentManager createManager() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        for (int i = 0; i < componentCount; i++) {
+            StartupComponent startupComponent = new StartupComponent(getComponentName(i), bundles[i]);
+            startupComponent.addRequiredServices(requiredServices.get(i));
+            startupComponentManager.addStartupComponent(startupComponent);
+        }
+
+        for (int i = 0; i < componentCount; i++) {
+            startupComponentManager.addExpectedCapability(createCapability(i, Capability.CapabilityState.EXPECTED));
+        }
+        return startupComponentManager;
+    }
+
+    /**
+     * Registers the {@code RequiredCapabilityListener}s of all the components and notifies them as soon as they are
+     * satisfied, in the same way as the event driven mode of the {@code StartupOrderResolver}.
+     *
+     * @param startupComponentManager manager created with {@link #createManager()}
+     * @return the number of notified components
+     */
+    int resolve(StartupComponentManager startupComponentManager) {
+        Deque<StartupComponent> updatedComponents = new ArrayDeque<>();
+        startupComponentManager.setComponentUpdateListener(updatedComponents::add);
+
+        AtomicInteger notifiedCount = new AtomicInteger();
+        for (int i = 0; i < componentCount; i++) {
+            Capability availableCapability = createCapability(i, Capability.CapabilityState.AVAILABLE);
+            startupComponentManager.addRequiredCapabilityListener(() -> {
+                notifiedCount.incrementAndGet();
+                startupComponentManager.updateCapability(availableCapability);
+            }, getComponentName(i), bundles[i]);
+        }
+
+        StartupComponent startupComponent;
+        while ((startupComponent = updatedComponents.poll()) != null) {
+            startupComponentManager.notifyIfSatisfiable(startupComponent);
+        }
+        return notifiedCount.get();
+    }
+
+    int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Creates a {@link Bundle} which returns the given id and symbolic name. Other methods return default values.
+     *
+     * @param bundleId     id of the bundle
+     * @param symbolicName symbolic name of the bundle
+     * @return the created {@code Bundle}
+     */
+    static Bundle createBundle(long bundleId, String symbolicName) {
+        return createBundle(bundleId, symbolicName, null);
+    }
+
+    /**
+     * Creates a {@link Bundle} which returns the given id, symbolic name and manifest headers. Other methods return
+     * default values.
+     *
+     * @param bundleId     id of the bundle
+     * @param symbolicName symbolic name of the bundle
+     * @param headers      manifest headers of the bundle, or {@code null}
+     * @return the created {@code Bundle}
+     */
+    static Bundle createBundle(long bundleId, String symbolicName, Dictionary<String, String> headers) {
+        Version version = new Version(1, 0, 0);
+        return (Bundle) Proxy.newProxyInstance(Bundle.class.getClassLoader(), new Class<?>[]{Bundle.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getBundleId":
+                            return bundleId;
+                        case "getSymbolicName":
+                            return symbolicName;
+                        case "getVersion":
+                            return version;
+                        case "getLastModified":
+                            return 0L;
+                        case "getHeaders":
+                            return headers;
+                        case "getState":
+                            return Bundle.ACTIVE;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return symbolicName + ":" + version;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private Capability createCapability(int index, Capability.CapabilityState state) {
+        return new OSGiServiceCapability(getServiceName(index), Capability.CapabilityType.OSGi_SERVICE, state,
+                bundles[index], false);
+    }
+
+    private static String getComponentName(int index) {
+        return COMPONENT_NAME_PREFIX + index;
+    }
+
+    private static String getServiceName(int index) {
+        return SERVICE_NAME_PREFIX + index;
+    }
+}
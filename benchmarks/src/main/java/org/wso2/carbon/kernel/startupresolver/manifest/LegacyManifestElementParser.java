@@ -0,0 +1,227 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.startupresolver.manifest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.utils.Tokenizer;
+
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.List;
+
+/**
+ * The {@code Tokenizer} based manifest header parser which was used by {@link ManifestElement} up to 5.3.0. It is
+ * kept only as the baseline of {@link ManifestElementBenchmark}.
+ *
+ * @since 5.3.1
+ */
+class LegacyManifestElementParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(LegacyManifestElementParser.class);
+
+    private static final String MANIFEST_INVALID_HEADER_EXCEPTION = "Invalid header found.";
+
+    private final String mainValue;
+
+    private Hashtable<String, Object> attributes;
+
+    private Hashtable<String, Object> directives;
+
+    private LegacyManifestElementParser(String value) {
+        this.mainValue = value;
+    }
+
+    String getValue() {
+        return mainValue;
+    }
+
+    private void addAttribute(String key, String value) {
+        attributes = addTableValue(attributes, key, value);
+    }
+
+    private void addDirective(String key, String value) {
+        directives = addTableValue(directives, key, value);
+    }
+
+    /**
+     * Add the given key/value association to the specified table. If an entry already exists
+     * for this key, then create an array list from the current value (if necessary) and
+     * append the new value to the end of the list.
+     *
+     * @param table Hashtable&lt;String, Object&gt;
+     * @param key   String
+     * @param value String
+     * @return Hashtable&lt;String, Object&gt;
+     */
+    @SuppressWarnings("unchecked")
+    private Hashtable<String, Object> addTableValue(Hashtable<String, Object> table, String key, String value) {
+        if (table == null) {
+            table = new Hashtable<>(7);
+        }
+        Object curValue = table.get(key);
+        if (curValue != null) {
+            List<String> newList;
+            // create a list to contain multiple values
+            if (curValue instanceof List) {
+                newList = (List<String>) curValue;
+            } else {
+                newList = new ArrayList<>(5);
+                newList.add((String) curValue);
+            }
+            newList.add(value);
+            table.put(key, newList);
+        } else {
+            table.put(key, value);
+        }
+        return table;
+    }
+
+    /**
+     * Parses a manifest header value in the same way as {@link ManifestElement#parseHeader} did up to 5.3.0.
+     *
+     * @param header the header name to parse
+     * @param value  the header value to parse
+     * @return the parsed manifest elements
+     * @throws ManifestElementParserException if the header value is invalid
+     */
+    static List<LegacyManifestElementParser> parseHeader(String header, String value)
+            throws ManifestElementParserException {
+        if (value == null) {
+            return new ArrayList<>();
+        }
+        List<LegacyManifestElementParser> headerElements = new ArrayList<>(10);
+        Tokenizer tokenizer = new Tokenizer(value);
+        while (true) {
+            String next = tokenizer.getString(";,");
+            if (next == null) {
+                throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header : " +
+                        header + ", Value: " + value);
+            }
+            StringBuilder headerValue = new StringBuilder(next);
+
+            logger.debug("parseHeader: " + next);
+            boolean directive = false;
+            char c = tokenizer.getChar();
+            // Header values may be a list of ';' separated values.  Just append them all into one value until the
+            // first '=' or ','
+            while (c == ';') {
+                next = tokenizer.getString(";,=:");
+                if (next == null) {
+                    throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header: " +
+                            header + ", Value: " + value);
+                }
+                c = tokenizer.getChar();
+                while (c == ':') { // may not really be a :=
+                    c = tokenizer.getChar();
+                    if (c != '=') {
+                        String restOfNext = tokenizer.getToken(";,=:");
+                        if (restOfNext == null) {
+                            throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header: " +
+                                    header + ", Value: " +
+                                    value);
+                        }
+                        next = next.concat(":" + c + restOfNext);
+                        c = tokenizer.getChar();
+                    } else {
+                        directive = true;
+                    }
+                }
+                if (c == ';' || c == ',' || c == '\0') /* more */ {
+                    headerValue.append(";").append(next);
+                    logger.debug(";" + next);
+                }
+            }
+            // found the header value create a manifestElement for it.
+            LegacyManifestElementParser manifestElement = new LegacyManifestElementParser(headerValue.toString());
+
+            // now add any attributes/directives for the manifestElement.
+            while (c == '=' || c == ':') {
+                while (c == ':') { // may not really be a :=
+                    c = tokenizer.getChar();
+                    if (c != '=') {
+                        String restOfNext = tokenizer.getToken("=:");
+                        if (restOfNext == null) {
+                            throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header: " +
+                                    header + ", Value: " +
+                                    value);
+                        }
+                        next = next.concat(":" + c + restOfNext);
+                        c = tokenizer.getChar();
+                    } else {
+                        directive = true;
+                    }
+                }
+                // determine if the attribute is the form attr:List<type>
+                String preserveEscapes = null;
+                String tempNextWithoutFirstLetter = next.substring(1);
+                if (!directive && tempNextWithoutFirstLetter.contains("List")) {
+                    Tokenizer listTokenizer = new Tokenizer(next);
+                    String attrKey = listTokenizer.getToken(":");
+                    if (attrKey != null && listTokenizer.getChar() == ':' && "List"
+                            .equals(listTokenizer.getToken("<"))) {
+                        // we assume we must preserve escapes for , and "
+                        preserveEscapes = "\\,";
+                    }
+                }
+
+                String val = tokenizer.getString(";,", preserveEscapes);
+                if (val == null) {
+                    throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header: " +
+                            header + ", Value: " + value);
+                }
+
+                logger.debug(";" + next + "=" + val);
+                try {
+                    if (directive) {
+                        manifestElement.addDirective(next, val);
+                    } else {
+                        manifestElement.addAttribute(next, val);
+                    }
+                    directive = false;
+                } catch (RuntimeException e) {
+                    throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header: " +
+                            header + ", Value: " + value);
+                }
+                c = tokenizer.getChar();
+                if (c == ';') /* more */ {
+                    next = tokenizer.getToken("=:");
+                    if (next == null) {
+                        throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header: " +
+                                header + ", Value: " +
+                                value);
+                    }
+                    c = tokenizer.getChar();
+                }
+            }
+            headerElements.add(manifestElement);
+            if (c == ',') { /* another manifest element */
+                continue;
+            }
+            if (c == '\0') { /* end of value */
+                break;
+            }
+            throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header: " +
+                    header + ", Value: " + value);
+        }
+        int size = headerElements.size();
+        if (size == 0) {
+            return new ArrayList<>();
+        }
+
+        return headerElements;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.startupresolver.manifest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link ManifestElement} header parser with the {@code Tokenizer} based parser which it replaced, using
+ * Carbon-Component headers of the startup coordination sample bundles.
+ * <p>
+ * Run with -prof gc to compare the allocation rates of the two parsers.
+ *
+ * @since 5.3.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ManifestElementBenchmark {
+
+    private static final String CARBON_COMPONENT_HEADER = "Carbon-Component";
+
+    @Param({"listener", "listenerAndService", "capabilityProvider"})
+    private String header;
+
+    private String headerValue;
+
+    @Setup
+    public void setup() {
+        switch (header) {
+            case "listener":
+                headerValue = "startup.listener;componentName=\"carbon-sample-transport-mgt\";" +
+                        "requiredService=\"org.wso2.carbon.sample.transport.mgt.Transport\"";
+                break;
+            case "listenerAndService":
+                headerValue = "startup.listener;componentName=\"carbon-sample-runtime-mgt\";\n" +
+                        "            requiredService=\"org.wso2.carbon.sample.runtime.mgt.Runtime\",\n" +
+                        "            osgi.service;" +
+                        "objectClass=\"org.wso2.carbon.sample.runtime.mgt.RuntimeManager\";\n" +
+                        "            requiredByComponentName=\"carbon-sample-deployment-engine, " +
+                        "carbon-sample-transport-mgt\"";
+                break;
+            case "capabilityProvider":
+                headerValue = "osgi.service;" +
+                        "objectClass=\"org.wso2.carbon.kernel.startupresolver.CapabilityProvider\";" +
+                        "capabilityName=\"org.wso2.carbon.sample.transport.mgt.Transport\";effective:=active";
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown header: " + header);
+        }
+    }
+
+    @Benchmark
+    public List<ManifestElement> parseHeader() throws ManifestElementParserException {
+        return ManifestElement.parseHeader(CARBON_COMPONENT_HEADER, headerValue, null);
+    }
+
+    @Benchmark
+    public List<LegacyManifestElementParser> parseHeaderWithTokenizer() throws ManifestElementParserException {
+        return LegacyManifestElementParser.parseHeader(CARBON_COMPONENT_HEADER, headerValue);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.launcher.extensions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.launcher.Constants;
+import org.wso2.carbon.launcher.extensions.model.BundleInfo;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures reading a large bundles.info file into {@link BundleInfo} instances, and the
+ * {@link OSGiLibBundleDeployerUtils} operations performed on it when the server starts.
+ * <p>
+ * Half of the bundles in the generated bundles.info file are plugins and the other half are bundles in the
+ * {@value Constants#OSGI_LIB} directory, which are created as jar files with a minimal bundle manifest.
+ *
+ * @since 5.3.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BundleInfoBenchmark {
+
+    private static final String PROFILE = "default";
+
+    @Param({"100", "1000", "10000"})
+    private int bundleCount;
+
+    private Path carbonHome;
+
+    private Path bundlesInfoFile;
+
+    private Path osgiLibDirectory;
+
+    private List<BundleInfo> osgiLibBundlesInfo;
+
+    @Setup
+    public void setup() throws IOException {
+        carbonHome = Files.createTempDirectory("carbon-home");
+        osgiLibDirectory = Files.createDirectories(carbonHome.resolve(Constants.OSGI_LIB));
+        bundlesInfoFile = Files.createDirectories(carbonHome.resolve(Paths.get(Constants.PROFILE_REPOSITORY, PROFILE,
+                "configuration", "org.eclipse.equinox.simpleconfigurator"))).resolve(Constants.BUNDLES_INFO);
+
+        List<String> bundlesInfoLines = new ArrayList<>(bundleCount);
+        for (int i = 0; i < bundleCount; i++) {
+            String symbolicName = "org.wso2.carbon.synthetic.bundle" + i;
+            if (i % 2 == 0) {
+                bundlesInfoLines.add(symbolicName + ",1.0.0,../../" + Constants.PLUGINS + "/" + symbolicName +
+                        "_1.0.0.jar,4,true");
+            } else {
+                String fileName = symbolicName + "-1.0.0.jar";
+                createBundle(osgiLibDirectory.resolve(fileName), symbolicName);
+                bundlesInfoLines.add(symbolicName + ",1.0.0,../../" + Constants.OSGI_LIB + "/" + fileName + ",4,true");
+            }
+        }
+        Files.write(bundlesInfoFile, bundlesInfoLines);
+        osgiLibBundlesInfo = OSGiLibBundleDeployerUtils.getBundlesInfo(osgiLibDirectory);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(carbonHome)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<BundleInfo> readBundlesInfo() throws IOException {
+        return Files.readAllLines(bundlesInfoFile)
+                .stream()
+                .filter(line -> !line.startsWith("#"))
+                .map(BundleInfo::getInstance)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<BundleInfo> getBundlesInfo() throws IOException {
+        return OSGiLibBundleDeployerUtils.getBundlesInfo(osgiLibDirectory);
+    }
+
+    /**
+     * Compares the bundles in the {@value Constants#OSGI_LIB} directory with the bundles.info file, which is already
+     * up to date, as done on every startup.
+     */
+    @Benchmark
+    public void updateOSGiLib() throws IOException {
+        OSGiLibBundleDeployerUtils.updateOSGiLib(carbonHome.toString(), PROFILE, osgiLibBundlesInfo);
+    }
+
+    private static void createBundle(Path bundlePath, String symbolicName) throws IOException {
+        Manifest manifest = new Manifest();
+        Attributes attributes = manifest.getMainAttributes();
+        attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        attributes.putValue("Bundle-SymbolicName", symbolicName);
+        attributes.putValue("Bundle-Version", "1.0.0");
+
+        try (OutputStream outputStream = Files.newOutputStream(bundlePath);
+             JarOutputStream jarOutputStream = new JarOutputStream(outputStream, manifest)) {
+            jarOutputStream.flush();
+        }
+    }
+}
@@ -32,6 +32,14 @@ public final class Constants {
     public static final String MAVEN_PROJECT_VERSION = "MAVEN_PROJECT_VERSION";
 
     public static final String START_TIME = "carbon.start.time";
+
+    /**
+     * Prefix of the system properties, in which the launcher records the duration of each boot phase in milliseconds.
+     *
+     * @since 5.3.1
+     */
+    public static final String BOOT_PHASE_PROPERTY_PREFIX = "carbon.boot.phase.";
+    public static final String RUNTIME_PATH = "wso2.runtime.path";
     public static final String LOGIN_MODULE_ENTRY = "CarbonSecurityConfig";
     public static final String DEFAULT_TENANT = "default";
     public static final String TENANT_NAME = "tenant.name";
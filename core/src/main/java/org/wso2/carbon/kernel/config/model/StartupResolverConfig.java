@@ -19,6 +19,7 @@ package org.wso2.carbon.kernel.config.model;
 
 
 import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
 
 /**
  * Config bean for startupOrderResolver.
@@ -30,6 +31,26 @@ public class StartupResolverConfig {
 
     private PendingCapabilityTimer pendingCapabilityTimer = new PendingCapabilityTimer();
 
+    @Element(description = "notify RequiredCapabilityListeners as soon as their last required capability is " +
+            "available, instead of polling with the capabilityListenerTimer")
+    private boolean eventDrivenNotification = false;
+
+    @Element(description = "maximum number of threads used to notify satisfied RequiredCapabilityListeners in " +
+            "parallel. Listeners are notified one after another if this is 1")
+    private int listenerNotificationThreads = 1;
+
+    @Element(description = "record when each startup component is declared, receives its capabilities and notifies " +
+            "its listener, and export the timeline and the critical path to the logs directory of the runtime")
+    private boolean startupTimelineEnabled = false;
+
+    @Element(description = "persist the parsed Carbon-Component manifest headers in the OSGi configuration area, so " +
+            "that only the bundles installed or updated since the previous startup are parsed")
+    private boolean startupManifestCacheEnabled = false;
+
+    @Element(description = "number of threads used to read and parse the Carbon-Component manifest headers of the " +
+            "bundles. Bundles are scanned one after another if this is 1")
+    private int manifestScanningThreads = 1;
+
     public CapabilityListenerTimer getCapabilityListenerTimer() {
         return capabilityListenerTimer;
     }
@@ -37,4 +58,24 @@ public class StartupResolverConfig {
     public PendingCapabilityTimer getPendingCapabilityTimer() {
         return pendingCapabilityTimer;
     }
+
+    public boolean isEventDrivenNotification() {
+        return eventDrivenNotification;
+    }
+
+    public int getListenerNotificationThreads() {
+        return listenerNotificationThreads;
+    }
+
+    public boolean isStartupTimelineEnabled() {
+        return startupTimelineEnabled;
+    }
+
+    public boolean isStartupManifestCacheEnabled() {
+        return startupManifestCacheEnabled;
+    }
+
+    public int getManifestScanningThreads() {
+        return manifestScanningThreads;
+    }
 }
@@ -60,7 +60,13 @@ public class CarbonContext {
      * @return the carbon context instance.
      */
     public static CarbonContext getCurrentContext() {
-        return new CarbonContext(CarbonContextHolder.getCurrentContextHolder());
+        CarbonContextHolder carbonContextHolder = CarbonContextHolder.getCurrentContextHolder();
+        CarbonContext carbonContext = carbonContextHolder.getCarbonContext();
+        if (carbonContext == null) {
+            carbonContext = new CarbonContext(carbonContextHolder);
+            carbonContextHolder.setCarbonContext(carbonContext);
+        }
+        return carbonContext;
     }
 
     /**
@@ -80,6 +86,50 @@ public class CarbonContext {
      * @return the value stored using the given key, or null if no value is already set.
      */
     public Object getProperty(String name) {
-        return getCarbonContextHolder().getProperty(name);
+        return getProperty(getCarbonContextHolder(), name);
+    }
+
+    /**
+     * Method to lookup the property stored with the carbon context instance using the given key.
+     *
+     * @param key the key of the property to lookup.
+     * @param <T> the type of the property value.
+     * @return the value stored using the given key, or null if no value is already set.
+     * @since 5.3.1
+     */
+    public <T> T getProperty(ContextKey<T> key) {
+        return getProperty(getCarbonContextHolder(), key);
+    }
+
+    /**
+     * Looks up a property using the given key. A value set with the name of the key before the key was registered is
+     * kept with the string keyed properties, hence it is returned if it is of the type of the key.
+     */
+    static <T> T getProperty(CarbonContextHolder carbonContextHolder, ContextKey<T> key) {
+        Object value = carbonContextHolder.getValue(key.index);
+        if (value == null) {
+            value = carbonContextHolder.getProperty(key.getName());
+            return key.getType().isInstance(value) ? key.getType().cast(value) : null;
+        }
+        // The value was type checked when it was set.
+        @SuppressWarnings("unchecked")
+        T typedValue = (T) value;
+        return typedValue;
+    }
+
+    /**
+     * Looks up a string keyed property, using the slot of the key registered with the same name, if any. The string
+     * keyed properties are looked up if the slot is empty, since the value may have been set before the key was
+     * registered.
+     */
+    static Object getProperty(CarbonContextHolder carbonContextHolder, String name) {
+        ContextKey<?> key = ContextKey.lookup(name);
+        if (key != null) {
+            Object value = carbonContextHolder.getValue(key.index);
+            if (value != null) {
+                return value;
+            }
+        }
+        return carbonContextHolder.getProperty(name);
     }
 }
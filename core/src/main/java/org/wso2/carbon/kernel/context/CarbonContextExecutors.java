@@ -0,0 +1,184 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.context;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Wraps tasks and executors, so that the tasks run with the carbon context of the thread which submitted them.
+ * <p>
+ * The carbon context is captured as a {@link CarbonContextSnapshot} when a task is wrapped or submitted, and is bound
+ * to the executing thread only while the task runs. e.g.
+ * <pre>
+ * ExecutorService executorService = CarbonContextExecutors.wrap(Executors.newFixedThreadPool(4));
+ * CompletableFuture.supplyAsync(this::lookup, executorService).thenApplyAsync(this::render, executorService);
+ * </pre>
+ * Each stage of the above runs with the context of the thread which called {@code supplyAsync}, since the later
+ * stages are submitted from within the earlier ones.
+ *
+ * @since 5.3.1
+ */
+public final class CarbonContextExecutors {
+
+    private CarbonContextExecutors() {
+        throw new AssertionError("Instantiating utility class...");
+    }
+
+    /**
+     * Wraps the given task, so that it runs with the current carbon context.
+     *
+     * @param runnable the task to be wrapped.
+     * @return the wrapped task.
+     */
+    public static Runnable wrap(Runnable runnable) {
+        Objects.requireNonNull(runnable, "runnable");
+        CarbonContextSnapshot snapshot = PrivilegedCarbonContext.snapshot();
+        return () -> PrivilegedCarbonContext.runInContext(snapshot, runnable);
+    }
+
+    /**
+     * Wraps the given task, so that it is called with the current carbon context.
+     *
+     * @param callable the task to be wrapped.
+     * @param <V>      the result type of the task.
+     * @return the wrapped task.
+     */
+    public static <V> Callable<V> wrap(Callable<V> callable) {
+        Objects.requireNonNull(callable, "callable");
+        CarbonContextSnapshot snapshot = PrivilegedCarbonContext.snapshot();
+        return () -> PrivilegedCarbonContext.callInContext(snapshot, callable);
+    }
+
+    /**
+     * Wraps the given executor, so that each task runs with the carbon context of the thread which submitted it.
+     *
+     * @param executor the executor to be wrapped.
+     * @return the wrapped executor.
+     */
+    public static Executor wrap(Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+        return command -> executor.execute(wrap(command));
+    }
+
+    /**
+     * Wraps the given executor service, so that each task runs with the carbon context of the thread which submitted
+     * it. Shutting down the returned executor service shuts down the given one.
+     *
+     * @param executorService the executor service to be wrapped.
+     * @return the wrapped executor service.
+     */
+    public static ExecutorService wrap(ExecutorService executorService) {
+        Objects.requireNonNull(executorService, "executorService");
+        return new CarbonContextExecutorService(executorService);
+    }
+
+    private static <V> List<Callable<V>> wrapAll(Collection<? extends Callable<V>> tasks) {
+        CarbonContextSnapshot snapshot = PrivilegedCarbonContext.snapshot();
+        return tasks.stream()
+                .map(callable -> (Callable<V>) () -> PrivilegedCarbonContext.callInContext(snapshot, callable))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * An {@code ExecutorService} which wraps the submitted tasks before handing them to the delegate.
+     */
+    private static final class CarbonContextExecutorService implements ExecutorService {
+
+        private final ExecutorService delegate;
+
+        private CarbonContextExecutorService(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(wrap(command));
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            return delegate.submit(wrap(task));
+        }
+
+        @Override
+        public <T> Future<T> submit(Runnable task, T result) {
+            return delegate.submit(wrap(task), result);
+        }
+
+        @Override
+        public Future<?> submit(Runnable task) {
+            return delegate.submit(wrap(task));
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+            return delegate.invokeAll(wrapAll(tasks));
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+                throws InterruptedException {
+            return delegate.invokeAll(wrapAll(tasks), timeout, unit);
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks)
+                throws InterruptedException, ExecutionException {
+            return delegate.invokeAny(wrapAll(tasks));
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return delegate.invokeAny(wrapAll(tasks), timeout, unit);
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.context;
+
+import org.wso2.carbon.kernel.internal.context.CarbonContextHolder;
+
+import java.security.Principal;
+
+/**
+ * An immutable copy of the user principal and the properties of a carbon context, taken with
+ * {@link PrivilegedCarbonContext#snapshot()}. A snapshot can be bound to any thread for the duration of a task with
+ * {@link PrivilegedCarbonContext#runWithContext(CarbonContextSnapshot, Runnable)}, and each binding gets its own copy
+ * of the properties, hence the tasks sharing a snapshot do not see the changes of each other.
+ *
+ * @since 5.3.1
+ */
+public final class CarbonContextSnapshot {
+
+    /**
+     * Snapshot of a thread without a carbon context.
+     */
+    public static final CarbonContextSnapshot EMPTY = new CarbonContextSnapshot(null);
+
+    private final CarbonContextHolder carbonContextHolder;
+
+    private CarbonContextSnapshot(CarbonContextHolder carbonContextHolder) {
+        this.carbonContextHolder = carbonContextHolder;
+    }
+
+    /**
+     * Creates a snapshot of the given holder.
+     *
+     * @param carbonContextHolder the holder to be copied, or null if the thread does not have a carbon context.
+     * @return the created snapshot.
+     */
+    static CarbonContextSnapshot of(CarbonContextHolder carbonContextHolder) {
+        if (carbonContextHolder == null || carbonContextHolder.isEmpty()) {
+            return EMPTY;
+        }
+        return new CarbonContextSnapshot(CarbonContextHolder.copyOf(carbonContextHolder));
+    }
+
+    /**
+     * Creates a new holder with the state of this snapshot, to be bound to a thread.
+     *
+     * @return the created holder, or null if this snapshot is empty, so that a holder is only created if the thread
+     * uses the carbon context.
+     */
+    CarbonContextHolder newContextHolder() {
+        return carbonContextHolder == null ? null : CarbonContextHolder.copyOf(carbonContextHolder);
+    }
+
+    /**
+     * The jaas user principal in this snapshot.
+     *
+     * @return the jaas user principal, or null if no principal was set.
+     */
+    public Principal getUserPrincipal() {
+        return carbonContextHolder == null ? null : carbonContextHolder.getUserPrincipal();
+    }
+
+    /**
+     * Method to lookup a property in this snapshot using the given property key name.
+     *
+     * @param name property key name to lookup.
+     * @return the value stored using the given key, or null if no value was set.
+     */
+    public Object getProperty(String name) {
+        return carbonContextHolder == null ? null : CarbonContext.getProperty(carbonContextHolder, name);
+    }
+
+    /**
+     * Method to lookup a property in this snapshot using the given key.
+     *
+     * @param key the key of the property to lookup.
+     * @param <T> the type of the property value.
+     * @return the value stored using the given key, or null if no value was set.
+     */
+    public <T> T getProperty(ContextKey<T> key) {
+        return carbonContextHolder == null ? null : CarbonContext.getProperty(carbonContextHolder, key);
+    }
+}
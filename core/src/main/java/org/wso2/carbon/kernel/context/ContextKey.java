@@ -0,0 +1,122 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.context;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A typed key of a carbon context property. Keys are registered once, usually as constants, and each key gets a dense
+ * index, which the carbon context uses to store the property in an array slot. Hence getting and setting a property
+ * with a key needs neither hashing nor casting, unlike the string keyed properties.
+ * <pre>
+ * private static final ContextKey&lt;String&gt; REQUEST_ID = ContextKey.register("requestId", String.class);
+ * ...
+ * PrivilegedCarbonContext.getCurrentContext().setProperty(REQUEST_ID, requestId);
+ * String requestId = CarbonContext.getCurrentContext().getProperty(REQUEST_ID);
+ * </pre>
+ * The string keyed property methods use the slot of the key registered with the same name, if any. Hence
+ * {@code getProperty("requestId")} returns the value set with {@code REQUEST_ID} above, and vice versa. A value set
+ * with the name before the key was registered remains visible through both, until it is replaced through either. A
+ * value set with the name which is not of the type of the key is only visible through the name.
+ *
+ * @param <T> the type of the property value.
+ * @since 5.3.1
+ */
+public final class ContextKey<T> {
+
+    private static final ConcurrentMap<String, ContextKey<?>> registeredKeys = new ConcurrentHashMap<>();
+
+    // Only incremented while holding the registeredKeys lock.
+    private static volatile int keyCount;
+
+    private final String name;
+
+    private final Class<T> type;
+
+    final int index;
+
+    private ContextKey(String name, Class<T> type, int index) {
+        this.name = name;
+        this.type = type;
+        this.index = index;
+    }
+
+    /**
+     * Registers a key with the given name and value type. Registering the same name and type again returns the
+     * already registered key.
+     *
+     * @param name the property name.
+     * @param type the type of the property value.
+     * @param <T>  the type of the property value.
+     * @return the registered key.
+     * @throws IllegalArgumentException if the name is already registered with a different type.
+     */
+    public static <T> ContextKey<T> register(String name, Class<T> type) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(type, "type");
+
+        ContextKey<?> contextKey = registeredKeys.get(name);
+        if (contextKey == null) {
+            synchronized (registeredKeys) {
+                contextKey = registeredKeys.computeIfAbsent(name, keyName -> new ContextKey<>(keyName, type,
+                        keyCount++));
+            }
+        }
+        if (contextKey.type != type) {
+            throw new IllegalArgumentException("Context key " + name + " is already registered with the type " +
+                    contextKey.type.getName() + ", hence cannot be registered with the type " + type.getName());
+        }
+
+        @SuppressWarnings("unchecked")
+        ContextKey<T> typedContextKey = (ContextKey<T>) contextKey;
+        return typedContextKey;
+    }
+
+    /**
+     * Returns the key registered with the given name.
+     *
+     * @param name the property name.
+     * @return the registered key, or null if no key is registered with the name.
+     */
+    static ContextKey<?> lookup(String name) {
+        return registeredKeys.get(name);
+    }
+
+    /**
+     * Returns the number of registered keys, which is also the number of slots needed to store a property of any of
+     * them.
+     *
+     * @return the number of registered keys.
+     */
+    static int getKeyCount() {
+        return keyCount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    @Override
+    public String toString() {
+        return "ContextKey{name=" + name + ", type=" + type.getName() + "}";
+    }
+}
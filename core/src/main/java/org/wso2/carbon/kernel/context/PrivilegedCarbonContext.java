@@ -20,18 +20,26 @@ import org.wso2.carbon.kernel.internal.context.CarbonContextHolder;
 import org.wso2.carbon.utils.Utils;
 
 import java.security.Principal;
-
+import java.util.concurrent.Callable;
 
 /**
  * This CarbonContext provides users the ability to carry out privileged actions such as setting user principal,
  * properties which are needed at thread local level. It also exposes a privileged action to destroy the current
  * context which is to remove the current carbon context instance stored at thread local space.
+ * <p>
+ * The current context can be carried over to other threads by taking a {@link CarbonContextSnapshot} and running a task
+ * within it with {@link #runWithContext(CarbonContextSnapshot, Runnable)} or
+ * {@link #callWithContext(CarbonContextSnapshot, Callable)}. Once the task completes, the context the thread had before
+ * is restored, and a thread which did not have a context is left without one. {@link CarbonContextExecutors} does this
+ * for the tasks submitted to an executor.
  *
  * @since 5.1.0
  */
 
 public final class PrivilegedCarbonContext extends CarbonContext {
 
+    private static final String MDC_USER_NAME = "user-name";
+
     private PrivilegedCarbonContext(CarbonContextHolder carbonContextHolder) {
         super(carbonContextHolder);
     }
@@ -42,16 +50,130 @@ public final class PrivilegedCarbonContext extends CarbonContext {
      * @return the carbon context instance.
      */
     public static PrivilegedCarbonContext getCurrentContext() {
-        Utils.checkSecurity();
-        return new PrivilegedCarbonContext(CarbonContextHolder.getCurrentContextHolder());
+        checkSecurity();
+        CarbonContextHolder carbonContextHolder = CarbonContextHolder.getCurrentContextHolder();
+        PrivilegedCarbonContext privilegedCarbonContext = carbonContextHolder.getPrivilegedCarbonContext();
+        if (privilegedCarbonContext == null) {
+            privilegedCarbonContext = new PrivilegedCarbonContext(carbonContextHolder);
+            carbonContextHolder.setPrivilegedCarbonContext(privilegedCarbonContext);
+        }
+        return privilegedCarbonContext;
     }
 
     /**
      * Destroys the current carbon context instance by removing it from thread local space.
      */
     public static void destroyCurrentContext() {
-        Utils.checkSecurity();
-        getCurrentContext().getCarbonContextHolder().destroyCurrentCarbonContextHolder();
+        checkSecurity();
+        CarbonContextHolder.setCurrentContextHolder(null);
+    }
+
+    /**
+     * Takes a snapshot of the current carbon context, which can be bound to other threads.
+     *
+     * @return the snapshot of the current carbon context, or {@link CarbonContextSnapshot#EMPTY} if the current thread
+     * does not have a carbon context.
+     */
+    public static CarbonContextSnapshot snapshot() {
+        checkSecurity();
+        return CarbonContextSnapshot.of(CarbonContextHolder.peekCurrentContextHolder());
+    }
+
+    /**
+     * Replaces the current carbon context with a copy of the given snapshot. Unlike
+     * {@link #runWithContext(CarbonContextSnapshot, Runnable)}, the replaced context is not restored afterwards, hence
+     * take a snapshot before and restore it once done. Restoring {@link CarbonContextSnapshot#EMPTY} removes the
+     * carbon context from the current thread.
+     *
+     * @param snapshot the snapshot to be restored.
+     */
+    public static void restore(CarbonContextSnapshot snapshot) {
+        checkSecurity();
+        bind(snapshot);
+    }
+
+    /**
+     * Runs the given task with a copy of the given snapshot as the current carbon context, and restores the current
+     * context afterwards.
+     *
+     * @param snapshot the snapshot to be used as the carbon context of the task.
+     * @param runnable the task to be run.
+     */
+    public static void runWithContext(CarbonContextSnapshot snapshot, Runnable runnable) {
+        checkSecurity();
+        runInContext(snapshot, runnable);
+    }
+
+    /**
+     * Calls the given task with a copy of the given snapshot as the current carbon context, and restores the current
+     * context afterwards.
+     *
+     * @param snapshot the snapshot to be used as the carbon context of the task.
+     * @param callable the task to be called.
+     * @param <V>      the result type of the task.
+     * @return the result of the task.
+     * @throws Exception if the task throws an exception.
+     */
+    public static <V> V callWithContext(CarbonContextSnapshot snapshot, Callable<V> callable) throws Exception {
+        checkSecurity();
+        return callInContext(snapshot, callable);
+    }
+
+    /**
+     * Runs the given task within the given snapshot, without the security check, for the tasks which were wrapped by
+     * an already checked caller.
+     */
+    static void runInContext(CarbonContextSnapshot snapshot, Runnable runnable) {
+        BoundContext previousContext = bind(snapshot);
+        try {
+            runnable.run();
+        } finally {
+            previousContext.restore();
+        }
+    }
+
+    /**
+     * Calls the given task within the given snapshot, without the security check, for the tasks which were wrapped
+     * by an already checked caller.
+     */
+    static <V> V callInContext(CarbonContextSnapshot snapshot, Callable<V> callable) throws Exception {
+        BoundContext previousContext = bind(snapshot);
+        try {
+            return callable.call();
+        } finally {
+            previousContext.restore();
+        }
+    }
+
+    /**
+     * Binds a copy of the given snapshot to the current thread, along with the user name used for auditing.
+     *
+     * @return the context which was bound to the thread before.
+     */
+    private static BoundContext bind(CarbonContextSnapshot snapshot) {
+        Principal userPrincipal = snapshot.getUserPrincipal();
+        BoundContext previousContext = new BoundContext(
+                CarbonContextHolder.setCurrentContextHolder(snapshot.newContextHolder()), MDC.get(MDC_USER_NAME));
+        setAuditUserName(userPrincipal != null ? userPrincipal.getName() : null);
+        return previousContext;
+    }
+
+    /**
+     * Checks the permission of the caller if a {@code SecurityManager} is installed. Without one, which is the common
+     * case, context lookups skip the call altogether.
+     */
+    private static void checkSecurity() {
+        if (System.getSecurityManager() != null) {
+            Utils.checkSecurity();
+        }
+    }
+
+    private static void setAuditUserName(String userName) {
+        if (userName != null) {
+            MDC.put(MDC_USER_NAME, userName);
+        } else {
+            MDC.remove(MDC_USER_NAME);
+        }
     }
 
     /**
@@ -62,22 +184,77 @@ public final class PrivilegedCarbonContext extends CarbonContext {
      * @param userPrincipal the jaas principal object to be set.
      */
     public void setUserPrincipal(Principal userPrincipal) {
-        Utils.checkSecurity();
+        checkSecurity();
         getCarbonContextHolder().setUserPrincipal(userPrincipal);
 
         //for auditing
-        MDC.put("user-name", userPrincipal.getName());
+        MDC.put(MDC_USER_NAME, userPrincipal.getName());
     }
 
     /**
      * Method to set key, value pair as properties with carbon context instance. The stored properties can be
      * replaced with new values by using the same property name.
      *
+     * <p>
+     * If a {@link ContextKey} is registered with the name, and the value is not of its type, the value is still set
+     * with the name, but it is not visible through the key.
+     *
      * @param name the name of property to be set.
      * @param value the value of the property to be set.
      */
     public void setProperty(String name, Object value) {
-        Utils.checkSecurity();
-        getCarbonContextHolder().setProperty(name, value);
+        checkSecurity();
+        ContextKey<?> key = ContextKey.lookup(name);
+        if (key == null) {
+            getCarbonContextHolder().setProperty(name, value);
+        } else if (value == null || key.getType().isInstance(value)) {
+            setValue(key, value);
+        } else {
+            // Key names are shared by all bundles, hence a key of another type does not fail the string methods.
+            CarbonContextHolder carbonContextHolder = getCarbonContextHolder();
+            carbonContextHolder.setValue(key.index, null, ContextKey.getKeyCount());
+            carbonContextHolder.setProperty(name, value);
+        }
+    }
+
+    /**
+     * Method to set a property with carbon context instance using the given key. The stored property can be replaced
+     * with a new value by using the same key.
+     *
+     * @param key   the key of the property to be set.
+     * @param value the value of the property to be set.
+     * @param <T>   the type of the property value.
+     * @since 5.3.1
+     */
+    public <T> void setProperty(ContextKey<T> key, T value) {
+        checkSecurity();
+        setValue(key, value);
+    }
+
+    private void setValue(ContextKey<?> key, Object value) {
+        CarbonContextHolder carbonContextHolder = getCarbonContextHolder();
+        carbonContextHolder.setValue(key.index, value, ContextKey.getKeyCount());
+        // The slot replaces the value set with the name before the key was registered, if any.
+        carbonContextHolder.removeProperty(key.getName());
+    }
+
+    /**
+     * The carbon context holder and the audit user name which were bound to a thread before a context scope.
+     */
+    private static final class BoundContext {
+
+        private final CarbonContextHolder carbonContextHolder;
+
+        private final String userName;
+
+        private BoundContext(CarbonContextHolder carbonContextHolder, String userName) {
+            this.carbonContextHolder = carbonContextHolder;
+            this.userName = userName;
+        }
+
+        private void restore() {
+            CarbonContextHolder.setCurrentContextHolder(carbonContextHolder);
+            setAuditUserName(userName);
+        }
     }
 }
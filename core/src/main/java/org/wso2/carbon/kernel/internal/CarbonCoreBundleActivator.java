@@ -17,6 +17,8 @@ package org.wso2.carbon.kernel.internal;
 
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.SynchronousBundleListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.kernel.jmx.MBeanRegistrator;
@@ -32,6 +34,12 @@ public class CarbonCoreBundleActivator implements BundleActivator {
     @Override
     public void start(BundleContext bundleContext) throws Exception {
         DataHolder.getInstance().setBundleContext(bundleContext);
+        // Unregisters the MBeans of a bundle while it is stopping, before its classes become unusable.
+        bundleContext.addBundleListener((SynchronousBundleListener) event -> {
+            if (event.getType() == BundleEvent.STOPPING) {
+                MBeanRegistrator.unregisterMBeans(event.getBundle());
+            }
+        });
         logger.debug("Carbon core bundle is started successfully");
     }
 
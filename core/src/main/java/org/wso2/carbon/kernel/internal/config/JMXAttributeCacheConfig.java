@@ -0,0 +1,77 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.config;
+
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration of the cache of the attributes of the MBeans registered through the MBeanRegistrator.
+ *
+ * @since 5.3.1
+ */
+@Configuration(description = "Caching of the MBean attributes, so that monitoring agents polling the attributes do " +
+        "not recompute them on each poll")
+public class JMXAttributeCacheConfig {
+
+    @Element(description = "To serve the MBean attributes from a cache, change this value to true")
+    private boolean enabled = false;
+
+    @Element(description = "time in milliseconds for which an attribute value is served from the cache")
+    private long defaultTtl = 5000;
+
+    @Element(description = "time in milliseconds for which the attributes with the given names are served from the " +
+            "cache, overriding the default. A value of 0 disables the caching of the attribute", required = false)
+    private Map<String, Long> attributeTtls = new HashMap<>();
+
+    @Element(description = "serve the expired value of an attribute while it is refreshed in the background")
+    private boolean asyncRefresh = false;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getDefaultTtl() {
+        return defaultTtl;
+    }
+
+    public void setDefaultTtl(long defaultTtl) {
+        this.defaultTtl = defaultTtl;
+    }
+
+    public Map<String, Long> getAttributeTtls() {
+        return attributeTtls;
+    }
+
+    public void setAttributeTtls(Map<String, Long> attributeTtls) {
+        this.attributeTtls = attributeTtls;
+    }
+
+    public boolean isAsyncRefresh() {
+        return asyncRefresh;
+    }
+
+    public void setAsyncRefresh(boolean asyncRefresh) {
+        this.asyncRefresh = asyncRefresh;
+    }
+}
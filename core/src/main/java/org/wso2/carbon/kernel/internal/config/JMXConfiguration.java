@@ -34,6 +34,12 @@ public class JMXConfiguration {
     private int rmiServerPort = 11111;
     @Element(description = "The port RMI registry is exposed")
     private int rmiRegistryPort = 9999;
+    @Element(description = "Caching of the successful authentications")
+    private JMXAuthenticationCacheConfig authenticationCache = new JMXAuthenticationCacheConfig();
+    @Element(description = "Caching of the MBean attributes")
+    private JMXAttributeCacheConfig attributeCache = new JMXAttributeCacheConfig();
+    @Element(description = "OpenMetrics endpoint of the kernel and platform metrics")
+    private MetricsExporterConfig metricsExporter = new MetricsExporterConfig();
 
     public boolean isEnabled() {
         return enabled;
@@ -66,4 +72,28 @@ public class JMXConfiguration {
     public void setRmiRegistryPort(int rmiRegistryPort) {
         this.rmiRegistryPort = rmiRegistryPort;
     }
+
+    public JMXAuthenticationCacheConfig getAuthenticationCache() {
+        return authenticationCache;
+    }
+
+    public void setAuthenticationCache(JMXAuthenticationCacheConfig authenticationCache) {
+        this.authenticationCache = authenticationCache;
+    }
+
+    public JMXAttributeCacheConfig getAttributeCache() {
+        return attributeCache;
+    }
+
+    public void setAttributeCache(JMXAttributeCacheConfig attributeCache) {
+        this.attributeCache = attributeCache;
+    }
+
+    public MetricsExporterConfig getMetricsExporter() {
+        return metricsExporter;
+    }
+
+    public void setMetricsExporter(MetricsExporterConfig metricsExporter) {
+        this.metricsExporter = metricsExporter;
+    }
 }
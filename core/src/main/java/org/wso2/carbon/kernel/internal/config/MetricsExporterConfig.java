@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.config;
+
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+
+/**
+ * Configuration of the HTTP endpoint which exports the kernel and platform metrics in the OpenMetrics text format.
+ *
+ * @since 5.3.1
+ */
+@Configuration(description = "OpenMetrics endpoint, to be scraped by Prometheus without a remote JMX connection")
+public class MetricsExporterConfig {
+
+    @Element(description = "To enable the OpenMetrics endpoint, change this value to true")
+    private boolean enabled = false;
+
+    @Element(description = "The host name the endpoint is bound to")
+    private String hostName = "127.0.0.1";
+
+    @Element(description = "The port the endpoint is exposed, which is incremented by the ports offset")
+    private int port = 9797;
+
+    @Element(description = "To leave out the memory, thread, class loading and garbage collection metrics of the " +
+            "JVM, change this value to false")
+    private boolean platformMetrics = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getHostName() {
+        return hostName;
+    }
+
+    public void setHostName(String hostName) {
+        this.hostName = hostName;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public boolean isPlatformMetrics() {
+        return platformMetrics;
+    }
+
+    public void setPlatformMetrics(boolean platformMetrics) {
+        this.platformMetrics = platformMetrics;
+    }
+}
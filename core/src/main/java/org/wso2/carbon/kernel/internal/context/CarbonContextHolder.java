@@ -15,6 +15,10 @@
  */
 package org.wso2.carbon.kernel.internal.context;
 
+import org.wso2.carbon.kernel.context.CarbonContext;
+import org.wso2.carbon.kernel.context.PrivilegedCarbonContext;
+import org.wso2.carbon.kernel.internal.metrics.KernelMetrics;
+
 import java.security.Principal;
 import java.util.HashMap;
 import java.util.Map;
@@ -31,34 +35,120 @@ import java.util.Optional;
 public final class CarbonContextHolder {
 
     private Principal userPrincipal;
-    private Map<String, Object> properties = new HashMap<>();
+    // Values of the properties set with a ContextKey, indexed by the key index. Created when the first one is set.
+    private Object[] values;
+    // String keyed properties without a ContextKey. Created when the first one is set, since most contexts only carry
+    // the user principal, if anything.
+    private Map<String, Object> properties;
 
-    private static ThreadLocal<CarbonContextHolder> currentContextHolder = new ThreadLocal<CarbonContextHolder>() {
-        protected CarbonContextHolder initialValue() {
-            return new CarbonContextHolder();
-        }
-    };
+    // Views of this holder, which are created on the first lookup and reused by the later lookups on this holder.
+    private CarbonContext carbonContext;
+    private PrivilegedCarbonContext privilegedCarbonContext;
+
+    /*
+    Holders are only created when a thread uses the carbon context, and are removed when a context scope ends, so that
+    pooled and virtual threads do not keep a holder each.
+     */
+    private static final ThreadLocal<CarbonContextHolder> currentContextHolder = new ThreadLocal<>();
 
     /**
-     * Private Constructor which gets invoked via the static variable above. This gets invoked only once.
+     * Private Constructor which gets invoked via the static methods below.
      */
     private CarbonContextHolder() {
     }
 
     /**
-     * Method to obtain the current thread local CarbonContextHolder instance.
+     * Method to obtain the current thread local CarbonContextHolder instance. A new instance is created if the current
+     * thread does not have one.
      *
      * @return the thread local CarbonContextHolder instance.
      */
     public static CarbonContextHolder getCurrentContextHolder() {
+        CarbonContextHolder carbonContextHolder = currentContextHolder.get();
+        if (carbonContextHolder == null) {
+            carbonContextHolder = new CarbonContextHolder();
+            currentContextHolder.set(carbonContextHolder);
+            KernelMetrics.getInstance().contextHolderCreated();
+            KernelMetrics.getInstance().contextHolderBound();
+        }
+        return carbonContextHolder;
+    }
+
+    /**
+     * Method to obtain the current thread local CarbonContextHolder instance without creating one.
+     *
+     * @return the thread local CarbonContextHolder instance, or null if the current thread does not have one.
+     */
+    public static CarbonContextHolder peekCurrentContextHolder() {
         return currentContextHolder.get();
     }
 
+    /**
+     * Replaces the thread local CarbonContextHolder instance of the current thread with the given instance.
+     *
+     * @param carbonContextHolder the instance to be set, or null to remove the current instance.
+     * @return the replaced instance, or null if the current thread did not have one.
+     */
+    public static CarbonContextHolder setCurrentContextHolder(CarbonContextHolder carbonContextHolder) {
+        CarbonContextHolder previousContextHolder = currentContextHolder.get();
+        if (carbonContextHolder == null) {
+            currentContextHolder.remove();
+            if (previousContextHolder != null) {
+                KernelMetrics.getInstance().contextHolderUnbound();
+            }
+        } else {
+            currentContextHolder.set(carbonContextHolder);
+            if (previousContextHolder == null) {
+                KernelMetrics.getInstance().contextHolderBound();
+            }
+        }
+        return previousContextHolder;
+    }
+
+    /**
+     * Creates a CarbonContextHolder with the user principal and a copy of the properties of the given instance.
+     *
+     * @param carbonContextHolder the instance to be copied, or null to create an empty instance.
+     * @return the created instance.
+     */
+    public static CarbonContextHolder copyOf(CarbonContextHolder carbonContextHolder) {
+        CarbonContextHolder copy = new CarbonContextHolder();
+        if (carbonContextHolder != null) {
+            copy.userPrincipal = carbonContextHolder.userPrincipal;
+            if (carbonContextHolder.values != null) {
+                copy.values = carbonContextHolder.values.clone();
+            }
+            if (carbonContextHolder.properties != null) {
+                copy.properties = new HashMap<>(carbonContextHolder.properties);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Returns 'true' if neither the user principal nor any property is set on this CarbonContext instance.
+     *
+     * @return 'true' if this instance is empty.
+     */
+    public boolean isEmpty() {
+        if (userPrincipal != null || (properties != null && !properties.isEmpty())) {
+            return false;
+        }
+        if (values != null) {
+            for (Object value : values) {
+                if (value != null) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     /**
      * This method will destroy the current thread local CarbonContextHolder.
      */
     public void destroyCurrentCarbonContextHolder() {
-        currentContextHolder.remove();
+        setCurrentContextHolder(null);
     }
 
     /**
@@ -68,7 +158,7 @@ public final class CarbonContextHolder {
      * @return the value of the property by the given name.
      */
     public Object getProperty(String name) {
-        return properties.get(name);
+        return properties == null ? null : properties.get(name);
     }
 
     /**
@@ -78,9 +168,91 @@ public final class CarbonContextHolder {
      * @param value the value to be set to the property by the given name.
      */
     public void setProperty(String name, Object value) {
+        if (properties == null) {
+            properties = new HashMap<>();
+        }
         properties.put(name, value);
     }
 
+    /**
+     * Method to remove a property from this CarbonContext instance.
+     *
+     * @param name the property name.
+     */
+    public void removeProperty(String name) {
+        if (properties != null) {
+            properties.remove(name);
+        }
+    }
+
+    /**
+     * Method to obtain the value in the given slot of this CarbonContext instance.
+     *
+     * @param index the slot index, which is the index of a {@code ContextKey}.
+     * @return the value in the slot, or null if no value is set.
+     */
+    public Object getValue(int index) {
+        Object[] currentValues = values;
+        return currentValues != null && index < currentValues.length ? currentValues[index] : null;
+    }
+
+    /**
+     * Method to set the value in the given slot of this CarbonContext instance.
+     *
+     * @param index     the slot index, which is the index of a {@code ContextKey}.
+     * @param value     the value to be set, or null to clear the slot.
+     * @param slotCount the number of slots to be allocated if the current slots cannot hold the given index.
+     */
+    public void setValue(int index, Object value, int slotCount) {
+        if (values == null || index >= values.length) {
+            if (value == null) {
+                return;
+            }
+            Object[] newValues = new Object[Math.max(index + 1, slotCount)];
+            if (values != null) {
+                System.arraycopy(values, 0, newValues, 0, values.length);
+            }
+            values = newValues;
+        }
+        values[index] = value;
+    }
+
+    /**
+     * Returns the {@code CarbonContext} view of this holder.
+     *
+     * @return the view, or null if it is not created yet.
+     */
+    public CarbonContext getCarbonContext() {
+        return carbonContext;
+    }
+
+    /**
+     * Sets the {@code CarbonContext} view of this holder, to be reused by the later lookups.
+     *
+     * @param carbonContext the view of this holder.
+     */
+    public void setCarbonContext(CarbonContext carbonContext) {
+        this.carbonContext = carbonContext;
+    }
+
+    /**
+     * Returns the {@code PrivilegedCarbonContext} view of this holder.
+     *
+     * @return the view, or null if it is not created yet.
+     */
+    public PrivilegedCarbonContext getPrivilegedCarbonContext() {
+        return privilegedCarbonContext;
+    }
+
+    /**
+     * Sets the {@code PrivilegedCarbonContext} view of this holder, to be reused by the later lookups.
+     *
+     * @param privilegedCarbonContext the view of this holder.
+     */
+    public void setPrivilegedCarbonContext(PrivilegedCarbonContext privilegedCarbonContext) {
+        this.privilegedCarbonContext = privilegedCarbonContext;
+    }
+
     /**
      * Method to obtain the currently set user principal from the CarbonContext instance.
      *
@@ -25,17 +25,26 @@ import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.kernel.CarbonRuntime;
+import org.wso2.carbon.kernel.Constants;
 import org.wso2.carbon.kernel.config.model.CarbonConfiguration;
+import org.wso2.carbon.kernel.internal.config.JMXAttributeCacheConfig;
+import org.wso2.carbon.kernel.internal.config.JMXAuthenticationCacheConfig;
 import org.wso2.carbon.kernel.internal.config.JMXConfiguration;
+import org.wso2.carbon.kernel.internal.config.MetricsExporterConfig;
+import org.wso2.carbon.kernel.internal.metrics.KernelMetrics;
+import org.wso2.carbon.kernel.internal.metrics.OpenMetricsExporter;
+import org.wso2.carbon.kernel.jmx.MBeanRegistrator;
 import org.wso2.carbon.kernel.jmx.connection.SingleAddressRMIServerSocketFactory;
 import org.wso2.carbon.kernel.jmx.security.CarbonJMXAuthenticator;
 
+import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.net.InetAddress;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.HashMap;
+import javax.management.ObjectName;
 import javax.management.remote.JMXConnectorServer;
 import javax.management.remote.JMXConnectorServerFactory;
 import javax.management.remote.JMXServiceURL;
@@ -44,6 +53,7 @@ import javax.management.remote.rmi.RMIConnectorServer;
 /**
  * This service component is responsible for initializing and starting the JMXConnectorServer which enables remote
  * JMX monitors to connect to the Platform JMX Server.
+ * It also starts the {@link OpenMetricsExporter}, if enabled, which serves the kernel and platform metrics over HTTP.
  *
  * @since 5.1.0
  */
@@ -57,6 +67,8 @@ public class CarbonJMXComponent {
     private JMXConnectorServer jmxConnectorServer;
     private Registry rmiRegistry;
     private CarbonRuntime carbonRuntime;
+    private ObjectName kernelMetricsName;
+    private OpenMetricsExporter metricsExporter;
 
     /**
      * This is the activation method of CarbonJMXComponent. This will be called when all the references are
@@ -69,6 +81,18 @@ public class CarbonJMXComponent {
         try {
             CarbonConfiguration carbonConfiguration = carbonRuntime.getConfiguration();
             JMXConfiguration jmxConfiguration = carbonConfiguration.getJmxConfiguration();
+            // The attribute cache applies to the local MBean server as well, hence it is set even if remote JMX is
+            // disabled. It also wraps the MBeans registered before this component is activated, such as the
+            // runtime service MBean, since there is no ordering between the components registering MBeans.
+            JMXAttributeCacheConfig attributeCacheConfig = jmxConfiguration.getAttributeCache();
+            if (attributeCacheConfig != null && attributeCacheConfig.isEnabled()) {
+                MBeanRegistrator.setAttributeCache(attributeCacheConfig.getDefaultTtl(),
+                        attributeCacheConfig.getAttributeTtls(), attributeCacheConfig.isAsyncRefresh());
+            }
+            registerKernelMetrics();
+            startMetricsExporter(jmxConfiguration.getMetricsExporter(),
+                    carbonConfiguration.getPortsConfig().getOffset());
+
             if (!jmxConfiguration.isEnabled()) {
                 if (logger.isDebugEnabled()) {
                     logger.debug("Remote JMX is disabled.");
@@ -100,7 +124,8 @@ public class CarbonJMXComponent {
             JMXServiceURL jmxServiceURL = new JMXServiceURL(jmxURL);
 
             HashMap<String, Object> environment = new HashMap<>();
-            environment.put(JMXConnectorServer.AUTHENTICATOR, new CarbonJMXAuthenticator());
+            environment.put(JMXConnectorServer.AUTHENTICATOR,
+                    createAuthenticator(jmxConfiguration.getAuthenticationCache()));
             environment.put(RMIConnectorServer.RMI_SERVER_SOCKET_FACTORY_ATTRIBUTE,
                     singleAddressRMIServerSocketFactory);
 
@@ -121,6 +146,15 @@ public class CarbonJMXComponent {
      */
     @Deactivate
     protected void stop() throws Exception {
+        if (metricsExporter != null) {
+            metricsExporter.stop();
+            metricsExporter = null;
+        }
+        if (kernelMetricsName != null) {
+            MBeanRegistrator.unregisterMBean(kernelMetricsName);
+            kernelMetricsName = null;
+        }
+        MBeanRegistrator.removeAttributeCache();
 
         if (jmxConnectorServer != null) {
             jmxConnectorServer.stop();
@@ -128,6 +162,40 @@ public class CarbonJMXComponent {
         }
     }
 
+    private void registerKernelMetrics() {
+        if (!KernelMetrics.isEnabled()) {
+            return;
+        }
+        try {
+            kernelMetricsName = MBeanRegistrator.registerMBean(KernelMetrics.getInstance(),
+                    Constants.SERVER_PACKAGE + ":type=" + KernelMetrics.class.getSimpleName());
+        } catch (RuntimeException e) {
+            logger.error("Error while registering the kernel metrics MBean", e);
+        }
+    }
+
+    private static CarbonJMXAuthenticator createAuthenticator(JMXAuthenticationCacheConfig authenticationCacheConfig) {
+        if (authenticationCacheConfig == null || !authenticationCacheConfig.isEnabled()) {
+            return new CarbonJMXAuthenticator();
+        }
+        return new CarbonJMXAuthenticator(authenticationCacheConfig.getTtl(), authenticationCacheConfig.getMaxSize());
+    }
+
+    private void startMetricsExporter(MetricsExporterConfig metricsExporterConfig, int portOffset) {
+        if (metricsExporterConfig == null || !metricsExporterConfig.isEnabled()) {
+            return;
+        }
+        OpenMetricsExporter exporter = new OpenMetricsExporter(
+                metricsExporterConfig.isPlatformMetrics() ? ManagementFactory.getPlatformMBeanServer() : null,
+                KernelMetrics.isEnabled() ? KernelMetrics.getInstance() : null);
+        try {
+            exporter.start(metricsExporterConfig.getHostName(), metricsExporterConfig.getPort() + portOffset);
+            metricsExporter = exporter;
+        } catch (IOException e) {
+            logger.error("Failed to start the OpenMetrics exporter.", e);
+        }
+    }
+
     @Reference(
             name = "carbon.jmx.carbon.runtime",
             service = CarbonRuntime.class,
@@ -0,0 +1,229 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.metrics;
+
+import org.wso2.carbon.kernel.Constants;
+import org.wso2.carbon.kernel.runtime.RuntimeLifecycleAction;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * The metrics of the kernel, i.e. the boot phase durations, the latencies of the runtime lifecycle actions, the
+ * startup resolver progress and the carbon context holder counts.
+ * <p>
+ * The recorders are lock-free counters and histograms, which are updated by the code being measured, while the
+ * MXBean getters only read them. Hence enabling the metrics costs an atomic increment on the recorded paths. The
+ * metrics can be disabled altogether with the {@value #ENABLED_PROPERTY} system property, in which case the recorded
+ * paths only check a constant.
+ *
+ * @since 5.3.1
+ */
+public final class KernelMetrics implements KernelMetricsMXBean {
+
+    /**
+     * System property to disable the kernel metrics, by setting it to false.
+     */
+    public static final String ENABLED_PROPERTY = "carbon.kernel.metrics.enabled";
+
+    public static final String LAUNCHER_PHASE = "launcher";
+    public static final String FRAMEWORK_PHASE = "framework";
+    public static final String INITIAL_BUNDLES_PHASE = "initialBundles";
+    public static final String RESOLVER_PHASE = "resolver";
+    public static final String LISTENERS_PHASE = "listeners";
+
+    // The phases recorded by the launcher, which are read from the system properties.
+    private static final List<String> LAUNCHER_PHASES = Arrays.asList(LAUNCHER_PHASE, FRAMEWORK_PHASE,
+            INITIAL_BUNDLES_PHASE);
+
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+
+    private static final KernelMetrics instance = new KernelMetrics();
+
+    private final ConcurrentMap<String, Long> bootPhaseMillis = new ConcurrentHashMap<>();
+    private final LongAdder listenerNotificationNanos = new LongAdder();
+    private final Map<RuntimeLifecycleAction, ConcurrentMap<String, LatencyRecorder>> runtimeLatencies =
+            new EnumMap<>(RuntimeLifecycleAction.class);
+    private final LongAdder createdContextHolders = new LongAdder();
+    private final LongAdder boundContextHolders = new LongAdder();
+    private volatile IntSupplier pendingComponentCount = () -> 0;
+    private volatile IntSupplier runningNotificationCount = () -> 0;
+
+    private KernelMetrics() {
+        for (RuntimeLifecycleAction action : RuntimeLifecycleAction.values()) {
+            runtimeLatencies.put(action, new ConcurrentHashMap<>());
+        }
+    }
+
+    public static KernelMetrics getInstance() {
+        return instance;
+    }
+
+    /**
+     * Whether the metrics are recorded.
+     *
+     * @return false if the metrics are disabled with the {@value #ENABLED_PROPERTY} system property.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Records the duration of a boot phase.
+     *
+     * @param phase the phase name.
+     * @param nanos the duration in nanoseconds.
+     */
+    public void recordBootPhase(String phase, long nanos) {
+        if (ENABLED) {
+            bootPhaseMillis.put(phase, TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    /**
+     * Adds the time taken by a RequiredCapabilityListener notification to the listeners boot phase.
+     *
+     * @param nanos the duration of the notification in nanoseconds.
+     */
+    public void recordListenerNotification(long nanos) {
+        if (ENABLED) {
+            listenerNotificationNanos.add(nanos);
+        }
+    }
+
+    /**
+     * Records the latency of a lifecycle action of a runtime.
+     *
+     * @param runtimeName the runtime name.
+     * @param action      the lifecycle action.
+     * @param nanos       the latency in nanoseconds.
+     */
+    public void recordRuntimeAction(String runtimeName, RuntimeLifecycleAction action, long nanos) {
+        if (ENABLED) {
+            runtimeLatencies.get(action).computeIfAbsent(runtimeName, name -> new LatencyRecorder()).record(nanos);
+        }
+    }
+
+    /**
+     * Returns the latency recorders of the given lifecycle action.
+     *
+     * @param action the lifecycle action.
+     * @return an unmodifiable view of the recorders, keyed by the runtime name.
+     */
+    public Map<String, LatencyRecorder> getRuntimeLatencyRecorders(RuntimeLifecycleAction action) {
+        return Collections.unmodifiableMap(runtimeLatencies.get(action));
+    }
+
+    /**
+     * Counts a created carbon context holder.
+     */
+    public void contextHolderCreated() {
+        if (ENABLED) {
+            createdContextHolders.increment();
+        }
+    }
+
+    /**
+     * Counts a carbon context holder bound to a thread which did not have one.
+     */
+    public void contextHolderBound() {
+        if (ENABLED) {
+            boundContextHolders.increment();
+        }
+    }
+
+    /**
+     * Counts a carbon context holder removed from a thread.
+     */
+    public void contextHolderUnbound() {
+        if (ENABLED) {
+            boundContextHolders.decrement();
+        }
+    }
+
+    /**
+     * Sets the sources of the startup resolver counts, while the startup resolver is running.
+     *
+     * @param pendingComponentCount    the source of the pending startup component count, or null once the startup
+     *                                 is completed.
+     * @param runningNotificationCount the source of the running listener notification count, or null once the
+     *                                 startup is completed.
+     */
+    public void setResolverCounts(IntSupplier pendingComponentCount, IntSupplier runningNotificationCount) {
+        this.pendingComponentCount = pendingComponentCount == null ? () -> 0 : pendingComponentCount;
+        this.runningNotificationCount = runningNotificationCount == null ? () -> 0 : runningNotificationCount;
+    }
+
+    @Override
+    public Map<String, Long> getBootPhaseDurations() {
+        Map<String, Long> bootPhaseDurations = new LinkedHashMap<>();
+        for (String phase : LAUNCHER_PHASES) {
+            String duration = System.getProperty(Constants.BOOT_PHASE_PROPERTY_PREFIX + phase);
+            if (duration != null) {
+                try {
+                    bootPhaseDurations.put(phase, Long.parseLong(duration));
+                } catch (NumberFormatException e) {
+                    // Not recorded by the launcher, hence not reported.
+                }
+            }
+        }
+        Long resolverMillis = bootPhaseMillis.get(RESOLVER_PHASE);
+        if (resolverMillis != null) {
+            bootPhaseDurations.put(RESOLVER_PHASE, resolverMillis);
+            bootPhaseDurations.put(LISTENERS_PHASE, TimeUnit.NANOSECONDS.toMillis(listenerNotificationNanos.sum()));
+        }
+        bootPhaseMillis.forEach(bootPhaseDurations::putIfAbsent);
+        return bootPhaseDurations;
+    }
+
+    @Override
+    public Map<String, LatencySummary> getRuntimeLatencies() {
+        Map<String, LatencySummary> latencies = new TreeMap<>();
+        runtimeLatencies.forEach((action, latencyRecorders) -> latencyRecorders.forEach((runtimeName, recorder) ->
+                latencies.put(action + " " + runtimeName, LatencySummary.of(recorder))));
+        return latencies;
+    }
+
+    @Override
+    public int getResolverPendingComponentCount() {
+        return pendingComponentCount.getAsInt();
+    }
+
+    @Override
+    public int getResolverRunningNotificationCount() {
+        return runningNotificationCount.getAsInt();
+    }
+
+    @Override
+    public long getCreatedContextHolderCount() {
+        return createdContextHolders.sum();
+    }
+
+    @Override
+    public long getBoundContextHolderCount() {
+        return boundContextHolders.sum();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.metrics;
+
+import java.util.Map;
+
+/**
+ * MXBean interface for exposing the kernel metrics.
+ *
+ * @since 5.3.1
+ */
+public interface KernelMetricsMXBean {
+
+    /**
+     * Returns the duration of each boot phase which has completed, i.e. launcher, framework, initialBundles, resolver
+     * and listeners.
+     *
+     * @return the durations in milliseconds, keyed by the phase name in the order of the phases
+     */
+    Map<String, Long> getBootPhaseDurations();
+
+    /**
+     * Returns the latency summary of the lifecycle actions of each runtime.
+     *
+     * @return the latency summaries, keyed by the action and the runtime name, e.g. "START my-runtime"
+     */
+    Map<String, LatencySummary> getRuntimeLatencies();
+
+    /**
+     * Returns the number of startup components, which are not yet satisfied.
+     *
+     * @return the pending component count, or 0 once the startup is completed
+     */
+    int getResolverPendingComponentCount();
+
+    /**
+     * Returns the number of RequiredCapabilityListener notifications which are running.
+     *
+     * @return the running notification count, or 0 once the startup is completed
+     */
+    int getResolverRunningNotificationCount();
+
+    /**
+     * Returns the number of carbon context holders created for the threads which did not have one. The copies bound
+     * for the context propagation are not counted.
+     *
+     * @return the created context holder count
+     */
+    long getCreatedContextHolderCount();
+
+    /**
+     * Returns the number of threads which have a carbon context holder bound. A thread which ends with a holder bound
+     * is still counted.
+     *
+     * @return the bound context holder count
+     */
+    long getBoundContextHolderCount();
+}
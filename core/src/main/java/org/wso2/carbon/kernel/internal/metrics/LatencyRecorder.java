@@ -0,0 +1,158 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with fixed buckets. Recording a latency is a bucket lookup and a few atomic
+ * increments, hence it can be used on the hot paths, and the recorded values can be read at any time without
+ * stopping the writers.
+ *
+ * @since 5.3.1
+ */
+public final class LatencyRecorder {
+
+    /**
+     * The upper bounds of the histogram buckets in milliseconds. The last bucket is unbounded.
+     */
+    static final long[] BUCKET_BOUNDS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000,
+            60000, 120000};
+
+    private static final long[] BUCKET_BOUNDS_NANOS = new long[BUCKET_BOUNDS_MILLIS.length];
+
+    static {
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            BUCKET_BOUNDS_NANOS[i] = TimeUnit.MILLISECONDS.toNanos(BUCKET_BOUNDS_MILLIS[i]);
+        }
+    }
+
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds.
+     */
+    public void record(long nanos) {
+        long latency = Math.max(nanos, 0);
+        bucketCounts.incrementAndGet(bucketIndex(latency));
+        totalNanos.add(latency);
+        long currentMax = maxNanos.get();
+        while (latency > currentMax && !maxNanos.compareAndSet(currentMax, latency)) {
+            currentMax = maxNanos.get();
+        }
+    }
+
+    /**
+     * Returns the upper bounds of the histogram buckets.
+     *
+     * @return the bounds in milliseconds, excluding the last unbounded bucket.
+     */
+    public static long[] getBucketBoundsMillis() {
+        return BUCKET_BOUNDS_MILLIS.clone();
+    }
+
+    /**
+     * Returns the number of latencies recorded in each bucket. A bucket holds the latencies up to and including its
+     * bound, which are greater than the bound of the previous bucket.
+     *
+     * @return the counts, which have one more element than the bucket bounds, for the unbounded bucket.
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[bucketCounts.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = bucketCounts.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the number of latencies recorded in the given bucket, without copying the counts.
+     *
+     * @param index the bucket index, where the index of the unbounded bucket is the number of bucket bounds.
+     * @return the count of the bucket.
+     */
+    long getBucketCount(int index) {
+        return bucketCounts.get(index);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < bucketCounts.length(); i++) {
+            count += bucketCounts.get(i);
+        }
+        return count;
+    }
+
+    long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public double getTotalMillis() {
+        return totalNanos.sum() / 1e6;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1e6;
+    }
+
+    /**
+     * Returns an upper bound of the given percentile of the recorded latencies, which is the bound of the bucket the
+     * percentile falls into.
+     *
+     * @param percentile the percentile, between 0 and 100.
+     * @return the upper bound in milliseconds, the maximum latency if the percentile falls into the unbounded bucket,
+     * or 0 if nothing was recorded.
+     */
+    public double getPercentileMillis(double percentile) {
+        long[] counts = getBucketCounts();
+        long count = 0;
+        for (long bucketCount : counts) {
+            count += bucketCount;
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(count * percentile / 100);
+        long cumulativeCount = 0;
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            cumulativeCount += counts[i];
+            if (cumulativeCount >= rank) {
+                return Math.min(BUCKET_BOUNDS_MILLIS[i], getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Returns the index of the first bucket whose bound is not less than the given latency.
+     */
+    private static int bucketIndex(long nanos) {
+        for (int i = 0; i < BUCKET_BOUNDS_NANOS.length; i++) {
+            if (nanos <= BUCKET_BOUNDS_NANOS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_NANOS.length;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * A summary of the latencies recorded by a {@link LatencyRecorder}, exposed as composite data by
+ * {@link KernelMetricsMXBean}.
+ *
+ * @since 5.3.1
+ */
+public class LatencySummary {
+
+    private final long count;
+    private final double meanMillis;
+    private final double p50Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+
+    @ConstructorProperties({"count", "meanMillis", "p50Millis", "p99Millis", "maxMillis"})
+    public LatencySummary(long count, double meanMillis, double p50Millis, double p99Millis, double maxMillis) {
+        this.count = count;
+        this.meanMillis = meanMillis;
+        this.p50Millis = p50Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+    }
+
+    static LatencySummary of(LatencyRecorder latencyRecorder) {
+        long count = latencyRecorder.getCount();
+        return new LatencySummary(count, count == 0 ? 0 : latencyRecorder.getTotalMillis() / count,
+                latencyRecorder.getPercentileMillis(50), latencyRecorder.getPercentileMillis(99),
+                latencyRecorder.getMaxMillis());
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMeanMillis() {
+        return meanMillis;
+    }
+
+    /**
+     * The upper bound of the histogram bucket of the median latency.
+     *
+     * @return the median latency bound in milliseconds.
+     */
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    /**
+     * The upper bound of the histogram bucket of the 99th percentile latency.
+     *
+     * @return the 99th percentile latency bound in milliseconds.
+     */
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * A mapping of MBean attributes to OpenMetrics metrics, which is compiled once, so that a scrape only reads the
+ * attributes and writes the pre-encoded lines. The attributes of each MBean are read with a single
+ * {@link MBeanServer#getAttributes(ObjectName, String[])} call per scrape.
+ * <p>
+ * Instances are not thread safe, hence the scrapes must be serialized.
+ *
+ * @since 5.3.1
+ */
+final class MBeanMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(MBeanMetrics.class);
+
+    static final String GAUGE = "gauge";
+    static final String COUNTER = "counter";
+
+    private final MBeanServer mBeanServer;
+
+    private final List<Family> families = new ArrayList<>();
+
+    private final Map<ObjectName, Source> sources = new LinkedHashMap<>();
+
+    // The attribute values of the current scrape, indexed by the slots of the samples.
+    private Object[] values = new Object[0];
+
+    MBeanMetrics(MBeanServer mBeanServer) {
+        this.mBeanServer = mBeanServer;
+    }
+
+    /**
+     * Creates the mapping of the memory, thread, class loading, garbage collection and operating system metrics of
+     * the platform MBeans.
+     *
+     * @param mBeanServer the MBean server of the platform MBeans.
+     * @return the mapping.
+     */
+    static MBeanMetrics platformMetrics(MBeanServer mBeanServer) {
+        MBeanMetrics metrics = new MBeanMetrics(mBeanServer);
+        ObjectName memory = objectName(ManagementFactory.MEMORY_MXBEAN_NAME);
+        for (String item : new String[]{"used", "committed", "max"}) {
+            metrics.family("jvm_memory_" + item + "_bytes", GAUGE, "The " + item + " memory of the JVM")
+                    .sample(memory, "HeapMemoryUsage", item, "area=\"heap\"", 0)
+                    .sample(memory, "NonHeapMemoryUsage", item, "area=\"nonheap\"", 0);
+        }
+
+        ObjectName threading = objectName(ManagementFactory.THREAD_MXBEAN_NAME);
+        metrics.family("jvm_threads_current", GAUGE, "The number of live threads")
+                .sample(threading, "ThreadCount", null, null, 0);
+        metrics.family("jvm_threads_daemon", GAUGE, "The number of live daemon threads")
+                .sample(threading, "DaemonThreadCount", null, null, 0);
+        metrics.family("jvm_threads_peak", GAUGE, "The peak number of live threads")
+                .sample(threading, "PeakThreadCount", null, null, 0);
+
+        metrics.family("jvm_classes_loaded", GAUGE, "The number of loaded classes")
+                .sample(objectName(ManagementFactory.CLASS_LOADING_MXBEAN_NAME), "LoadedClassCount", null, null, 0);
+        metrics.family("jvm_uptime_seconds", GAUGE, "The uptime of the JVM")
+                .sample(objectName(ManagementFactory.RUNTIME_MXBEAN_NAME), "Uptime", null, null, 3);
+
+        ObjectName operatingSystem = objectName(ManagementFactory.OPERATING_SYSTEM_MXBEAN_NAME);
+        metrics.family("jvm_available_processors", GAUGE, "The number of processors available to the JVM")
+                .sample(operatingSystem, "AvailableProcessors", null, null, 0);
+        metrics.family("system_load_average", GAUGE, "The system load average for the last minute")
+                .sample(operatingSystem, "SystemLoadAverage", null, null, 0);
+
+        // The garbage collectors do not change while the JVM runs, hence they are looked up once.
+        Set<ObjectName> garbageCollectors = new TreeSet<>(mBeanServer.queryNames(
+                objectName(ManagementFactory.GARBAGE_COLLECTOR_MXBEAN_DOMAIN_TYPE + ",*"), null));
+        Family collections = metrics.family("jvm_gc_collections", COUNTER, "The number of garbage collections");
+        Family collectionTime = metrics.family("jvm_gc_collection_seconds", COUNTER,
+                "The accumulated garbage collection time");
+        for (ObjectName garbageCollector : garbageCollectors) {
+            String labels = "gc=\"" + OpenMetricsWriter.escapeLabelValue(garbageCollector.getKeyProperty("name")) +
+                    "\"";
+            collections.sample(garbageCollector, "CollectionCount", null, labels, 0);
+            collectionTime.sample(garbageCollector, "CollectionTime", null, labels, 3);
+        }
+        return metrics;
+    }
+
+    /**
+     * Adds a metric family.
+     *
+     * @param name the metric name.
+     * @param type {@link #GAUGE} or {@link #COUNTER}.
+     * @param help the description of the metric.
+     * @return the family, to add the samples to.
+     */
+    Family family(String name, String type, String help) {
+        Family family = new Family(name, type, help);
+        families.add(family);
+        return family;
+    }
+
+    /**
+     * Reads the mapped attributes and writes their metrics. A sample whose attribute cannot be read is left out.
+     *
+     * @param writer the writer.
+     */
+    void writeTo(OpenMetricsWriter writer) {
+        for (Source source : sources.values()) {
+            source.read();
+        }
+        for (Family family : families) {
+            family.writeTo(writer);
+        }
+        Arrays.fill(values, null);
+    }
+
+    private int addSlot(ObjectName objectName, String attribute) {
+        Source source = sources.computeIfAbsent(objectName, Source::new);
+        int slot = source.slotOf(attribute);
+        if (slot < 0) {
+            slot = values.length;
+            values = Arrays.copyOf(values, slot + 1);
+            source.addAttribute(attribute, slot);
+        }
+        return slot;
+    }
+
+    private static ObjectName objectName(String name) {
+        try {
+            return new ObjectName(name);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalArgumentException("Invalid MBean name " + name, e);
+        }
+    }
+
+    /**
+     * A metric family and the pre-encoded lines of its samples.
+     */
+    final class Family {
+
+        private final byte[] header;
+
+        private final byte[] sampleName;
+
+        private final List<Sample> samples = new ArrayList<>();
+
+        private Family(String name, String type, String help) {
+            header = OpenMetricsWriter.encode("# TYPE " + name + " " + type + "\n# HELP " + name + " " + help + "\n");
+            sampleName = OpenMetricsWriter.encode(COUNTER.equals(type) ? name + "_total" : name);
+        }
+
+        /**
+         * Adds a sample read from an MBean attribute.
+         *
+         * @param objectName the MBean name.
+         * @param attribute  the attribute name.
+         * @param item       the item of a composite attribute, or null if the attribute is a number.
+         * @param labels     the labels of the sample, e.g. {@code area="heap"}, or null if the sample has no labels.
+         * @param decimals   the number of decimals the attribute value is divided by, e.g. 3 for milliseconds which
+         *                   are reported as seconds.
+         * @return this family.
+         */
+        Family sample(ObjectName objectName, String attribute, String item, String labels, int decimals) {
+            byte[] prefix = OpenMetricsWriter.encode(labels == null ? " " : "{" + labels + "} ");
+            samples.add(new Sample(addSlot(objectName, attribute), item, prefix, decimals));
+            return this;
+        }
+
+        private void writeTo(OpenMetricsWriter writer) {
+            boolean headerWritten = false;
+            for (Sample sample : samples) {
+                Object value = values[sample.slot];
+                if (value instanceof CompositeData) {
+                    CompositeData compositeData = (CompositeData) value;
+                    value = compositeData.containsKey(sample.item) ? compositeData.get(sample.item) : null;
+                }
+                if (!(value instanceof Number || value instanceof Boolean)) {
+                    continue;
+                }
+                if (!headerWritten) {
+                    writer.write(header);
+                    headerWritten = true;
+                }
+                writer.write(sampleName);
+                writer.write(sample.prefix);
+                writer.writeValue(value, sample.decimals);
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * A sample of a metric family.
+     */
+    private static final class Sample {
+
+        private final int slot;
+
+        private final String item;
+
+        private final byte[] prefix;
+
+        private final int decimals;
+
+        private Sample(int slot, String item, byte[] prefix, int decimals) {
+            this.slot = slot;
+            this.item = item;
+            this.prefix = prefix;
+            this.decimals = decimals;
+        }
+    }
+
+    /**
+     * An MBean and the slots of its mapped attributes.
+     */
+    private final class Source {
+
+        private final ObjectName objectName;
+
+        private String[] attributes = new String[0];
+
+        private int[] slots = new int[0];
+
+        private Source(ObjectName objectName) {
+            this.objectName = objectName;
+        }
+
+        private int slotOf(String attribute) {
+            for (int i = 0; i < attributes.length; i++) {
+                if (attributes[i].equals(attribute)) {
+                    return slots[i];
+                }
+            }
+            return -1;
+        }
+
+        private void addAttribute(String attribute, int slot) {
+            attributes = Arrays.copyOf(attributes, attributes.length + 1);
+            attributes[attributes.length - 1] = attribute;
+            slots = Arrays.copyOf(slots, slots.length + 1);
+            slots[slots.length - 1] = slot;
+        }
+
+        private void read() {
+            AttributeList attributeList;
+            try {
+                attributeList = mBeanServer.getAttributes(objectName, attributes);
+            } catch (InstanceNotFoundException | ReflectionException e) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Cannot read the attributes of MBean " + objectName, e);
+                }
+                return;
+            }
+            // The attributes which cannot be read are left out of the list, otherwise it is in the requested order.
+            int next = 0;
+            for (Object element : attributeList) {
+                Attribute attribute = (Attribute) element;
+                for (int i = next; i < attributes.length; i++) {
+                    if (attributes[i].equals(attribute.getName())) {
+                        values[slots[i]] = attribute.getValue();
+                        next = i + 1;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+}
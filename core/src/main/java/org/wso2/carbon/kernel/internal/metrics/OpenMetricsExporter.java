@@ -0,0 +1,378 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.runtime.RuntimeLifecycleAction;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import javax.management.MBeanServer;
+
+/**
+ * A lightweight HTTP endpoint which renders the kernel metrics and the selected platform MBean attributes in the
+ * OpenMetrics text format, to be scraped by Prometheus without a remote JMX connection.
+ * <p>
+ * The endpoint serves {@value #METRICS_PATH} on a single daemon thread, one connection at a time, which is enough for
+ * the periodic scrapes. The attribute to metric mapping is compiled once, and the request and response buffers are
+ * reused, hence a scrape does not allocate per metric.
+ *
+ * @since 5.3.1
+ */
+public final class OpenMetricsExporter {
+    private static final Logger logger = LoggerFactory.getLogger(OpenMetricsExporter.class);
+
+    static final String METRICS_PATH = "/metrics";
+
+    private static final int SOCKET_TIMEOUT_MILLIS = 10000;
+    private static final int MAX_REQUEST_HEAD_SIZE = 8192;
+
+    private static final byte[] METRICS_REQUEST = OpenMetricsWriter.encode("GET " + METRICS_PATH);
+    private static final byte[] OK_HEAD = OpenMetricsWriter.encode("HTTP/1.1 200 OK\r\n" +
+            "Content-Type: application/openmetrics-text; version=1.0.0; charset=utf-8\r\nContent-Length: ");
+    private static final byte[] NOT_FOUND = OpenMetricsWriter.encode("HTTP/1.1 404 Not Found\r\n" +
+            "Content-Length: 0\r\nConnection: close\r\n\r\n");
+    private static final byte[] BAD_REQUEST = OpenMetricsWriter.encode("HTTP/1.1 400 Bad Request\r\n" +
+            "Content-Length: 0\r\nConnection: close\r\n\r\n");
+    private static final byte[] SERVER_ERROR = OpenMetricsWriter.encode("HTTP/1.1 500 Internal Server Error\r\n" +
+            "Content-Length: 0\r\nConnection: close\r\n\r\n");
+    private static final byte[] HEAD_END = OpenMetricsWriter.encode("\r\nConnection: close\r\n\r\n");
+
+    private static final byte[] EOF = OpenMetricsWriter.encode("# EOF\n");
+    private static final byte[] LABEL_END = OpenMetricsWriter.encode("\"} ");
+
+    private static final byte[] BOOT_PHASE_HEADER = OpenMetricsWriter.encode(
+            "# TYPE carbon_boot_phase_seconds gauge\n# HELP carbon_boot_phase_seconds The duration of a boot phase\n");
+    private static final byte[] BOOT_PHASE_SAMPLE = OpenMetricsWriter.encode("carbon_boot_phase_seconds{phase=\"");
+    private static final byte[] PENDING_COMPONENTS = OpenMetricsWriter.encode(
+            "# TYPE carbon_resolver_pending_components gauge\n" +
+            "# HELP carbon_resolver_pending_components The number of startup components which are not satisfied\n" +
+            "carbon_resolver_pending_components ");
+    private static final byte[] RUNNING_NOTIFICATIONS = OpenMetricsWriter.encode(
+            "# TYPE carbon_resolver_running_notifications gauge\n" +
+            "# HELP carbon_resolver_running_notifications The number of running startup listener notifications\n" +
+            "carbon_resolver_running_notifications ");
+    private static final byte[] CREATED_CONTEXT_HOLDERS = OpenMetricsWriter.encode(
+            "# TYPE carbon_context_holders_created counter\n" +
+            "# HELP carbon_context_holders_created The number of created carbon context holders\n" +
+            "carbon_context_holders_created_total ");
+    private static final byte[] BOUND_CONTEXT_HOLDERS = OpenMetricsWriter.encode(
+            "# TYPE carbon_context_holders_bound gauge\n" +
+            "# HELP carbon_context_holders_bound The number of threads with a carbon context\n" +
+            "carbon_context_holders_bound ");
+    private static final byte[] RUNTIME_ACTION_HEADER = OpenMetricsWriter.encode(
+            "# TYPE carbon_runtime_action_seconds histogram\n" +
+            "# HELP carbon_runtime_action_seconds The latency of the lifecycle actions of the runtimes\n");
+
+    // The bucket label endings of the runtime action histogram, e.g. ",le="0.001"} .
+    private static final byte[][] BUCKET_LABELS;
+
+    static {
+        long[] bucketBoundsMillis = LatencyRecorder.getBucketBoundsMillis();
+        BUCKET_LABELS = new byte[bucketBoundsMillis.length + 1][];
+        OpenMetricsWriter boundWriter = new OpenMetricsWriter(16);
+        for (int i = 0; i < bucketBoundsMillis.length; i++) {
+            boundWriter.reset();
+            boundWriter.writeFixed(bucketBoundsMillis[i], 3);
+            BUCKET_LABELS[i] = OpenMetricsWriter.encode("\",le=\"" + boundWriter + "\"} ");
+        }
+        BUCKET_LABELS[bucketBoundsMillis.length] = OpenMetricsWriter.encode("\",le=\"+Inf\"} ");
+    }
+
+    private final MBeanMetrics mBeanMetrics;
+
+    private final KernelMetrics kernelMetrics;
+
+    private final RuntimeActionSamples[] runtimeActionSamples;
+
+    // The encoded label values, which are escaped once.
+    private final Map<String, byte[]> labelValues = new HashMap<>();
+
+    private final OpenMetricsWriter body = new OpenMetricsWriter(16384);
+
+    private final OpenMetricsWriter head = new OpenMetricsWriter(256);
+
+    private final byte[] requestHead = new byte[MAX_REQUEST_HEAD_SIZE];
+
+    private volatile ServerSocket serverSocket;
+
+    /**
+     * Creates an exporter.
+     *
+     * @param mBeanServer   the MBean server of the platform MBeans, or null to leave out the platform metrics.
+     * @param kernelMetrics the kernel metrics, or null to leave them out.
+     */
+    public OpenMetricsExporter(MBeanServer mBeanServer, KernelMetrics kernelMetrics) {
+        this.mBeanMetrics = mBeanServer == null ? null : MBeanMetrics.platformMetrics(mBeanServer);
+        this.kernelMetrics = kernelMetrics;
+        RuntimeLifecycleAction[] actions = RuntimeLifecycleAction.values();
+        runtimeActionSamples = new RuntimeActionSamples[actions.length];
+        for (int i = 0; i < actions.length; i++) {
+            runtimeActionSamples[i] = new RuntimeActionSamples(actions[i]);
+        }
+    }
+
+    /**
+     * Starts serving the metrics on the given address.
+     *
+     * @param hostName the host name to bind to.
+     * @param port     the port to bind to, or 0 to bind to any free port.
+     * @throws IOException if the port cannot be bound.
+     */
+    public synchronized void start(String hostName, int port) throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("OpenMetrics exporter is already started");
+        }
+        ServerSocket socket = new ServerSocket();
+        try {
+            socket.bind(new InetSocketAddress(InetAddress.getByName(hostName), port));
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        serverSocket = socket;
+
+        Thread thread = new Thread(() -> serve(socket), "CarbonMetricsExporter");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("OpenMetrics exporter URL : http://{}:{}{}", hostName, socket.getLocalPort(), METRICS_PATH);
+    }
+
+    /**
+     * Stops serving the metrics.
+     */
+    public synchronized void stop() {
+        ServerSocket socket = serverSocket;
+        serverSocket = null;
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                logger.warn("Error while closing the OpenMetrics exporter socket", e);
+            }
+        }
+    }
+
+    /**
+     * Returns the port the metrics are served on.
+     *
+     * @return the bound port, or -1 if the exporter is not started.
+     */
+    public int getPort() {
+        ServerSocket socket = serverSocket;
+        return socket == null ? -1 : socket.getLocalPort();
+    }
+
+    /**
+     * Renders the metrics.
+     *
+     * @return the metrics in the OpenMetrics text format.
+     */
+    String render() {
+        synchronized (body) {
+            writeMetrics();
+            return body.toString();
+        }
+    }
+
+    private void serve(ServerSocket socket) {
+        while (!socket.isClosed()) {
+            try (Socket connection = socket.accept()) {
+                connection.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+                handle(connection);
+            } catch (IOException e) {
+                if (!socket.isClosed() && logger.isDebugEnabled()) {
+                    logger.debug("Error while serving a metrics request", e);
+                }
+            }
+        }
+    }
+
+    private void handle(Socket connection) throws IOException {
+        OutputStream outputStream = connection.getOutputStream();
+        int length = readRequestHead(connection.getInputStream());
+        if (length < 0) {
+            outputStream.write(BAD_REQUEST);
+            return;
+        }
+        if (!isMetricsRequest(length)) {
+            outputStream.write(NOT_FOUND);
+            return;
+        }
+
+        // The buffers are shared with render(), hence the scrapes are serialized on the body.
+        synchronized (body) {
+            try {
+                writeMetrics();
+            } catch (RuntimeException e) {
+                logger.error("Error while rendering the metrics", e);
+                outputStream.write(SERVER_ERROR);
+                return;
+            }
+            head.reset();
+            head.write(OK_HEAD);
+            head.writeLong(body.size());
+            head.write(HEAD_END);
+            head.writeTo(outputStream);
+            body.writeTo(outputStream);
+        }
+        outputStream.flush();
+    }
+
+    /**
+     * Reads the request line and the headers, up to the empty line.
+     *
+     * @return the length of the request head, or -1 if it is incomplete or too large.
+     */
+    private int readRequestHead(InputStream inputStream) throws IOException {
+        int length = 0;
+        while (length < requestHead.length) {
+            int read = inputStream.read(requestHead, length, requestHead.length - length);
+            if (read < 0) {
+                return -1;
+            }
+            for (int i = Math.max(length - 3, 0); i + 3 < length + read; i++) {
+                if (requestHead[i] == '\r' && requestHead[i + 1] == '\n' && requestHead[i + 2] == '\r' &&
+                        requestHead[i + 3] == '\n') {
+                    return i;
+                }
+            }
+            length += read;
+        }
+        return -1;
+    }
+
+    private boolean isMetricsRequest(int length) {
+        if (length <= METRICS_REQUEST.length) {
+            return false;
+        }
+        for (int i = 0; i < METRICS_REQUEST.length; i++) {
+            if (requestHead[i] != METRICS_REQUEST[i]) {
+                return false;
+            }
+        }
+        byte next = requestHead[METRICS_REQUEST.length];
+        return next == ' ' || next == '?';
+    }
+
+    private void writeMetrics() {
+        body.reset();
+        if (mBeanMetrics != null) {
+            mBeanMetrics.writeTo(body);
+        }
+        if (kernelMetrics != null) {
+            writeKernelMetrics();
+        }
+        body.write(EOF);
+    }
+
+    private void writeKernelMetrics() {
+        Map<String, Long> bootPhaseDurations = kernelMetrics.getBootPhaseDurations();
+        if (!bootPhaseDurations.isEmpty()) {
+            body.write(BOOT_PHASE_HEADER);
+            bootPhaseDurations.forEach((phase, millis) -> {
+                body.write(BOOT_PHASE_SAMPLE);
+                body.write(labelValue(phase));
+                body.write(LABEL_END);
+                body.writeFixed(millis, 3);
+                body.write('\n');
+            });
+        }
+
+        writeSample(PENDING_COMPONENTS, kernelMetrics.getResolverPendingComponentCount());
+        writeSample(RUNNING_NOTIFICATIONS, kernelMetrics.getResolverRunningNotificationCount());
+        writeSample(CREATED_CONTEXT_HOLDERS, kernelMetrics.getCreatedContextHolderCount());
+        writeSample(BOUND_CONTEXT_HOLDERS, kernelMetrics.getBoundContextHolderCount());
+
+        boolean headerWritten = false;
+        for (RuntimeActionSamples samples : runtimeActionSamples) {
+            Map<String, LatencyRecorder> recorders = kernelMetrics.getRuntimeLatencyRecorders(samples.action);
+            if (recorders.isEmpty()) {
+                continue;
+            }
+            if (!headerWritten) {
+                body.write(RUNTIME_ACTION_HEADER);
+                headerWritten = true;
+            }
+            recorders.forEach((runtimeName, recorder) -> writeHistogram(samples, labelValue(runtimeName), recorder));
+        }
+    }
+
+    private void writeSample(byte[] prefix, long value) {
+        body.write(prefix);
+        body.writeLong(value);
+        body.write('\n');
+    }
+
+    private void writeHistogram(RuntimeActionSamples samples, byte[] runtimeName, LatencyRecorder recorder) {
+        long count = 0;
+        for (int i = 0; i < BUCKET_LABELS.length; i++) {
+            count += recorder.getBucketCount(i);
+            body.write(samples.bucket);
+            body.write(runtimeName);
+            body.write(BUCKET_LABELS[i]);
+            body.writeLong(count);
+            body.write('\n');
+        }
+        body.write(samples.count);
+        body.write(runtimeName);
+        body.write(LABEL_END);
+        body.writeLong(count);
+        body.write('\n');
+        body.write(samples.sum);
+        body.write(runtimeName);
+        body.write(LABEL_END);
+        body.writeFixed(recorder.getTotalNanos(), 9);
+        body.write('\n');
+    }
+
+    private byte[] labelValue(String value) {
+        return labelValues.computeIfAbsent(value, name -> OpenMetricsWriter.encode(
+                OpenMetricsWriter.escapeLabelValue(name)));
+    }
+
+    /**
+     * The pre-encoded sample names of the runtime action histogram of a lifecycle action, up to the runtime label
+     * value.
+     */
+    private static final class RuntimeActionSamples {
+
+        private final RuntimeLifecycleAction action;
+
+        private final byte[] bucket;
+
+        private final byte[] count;
+
+        private final byte[] sum;
+
+        private RuntimeActionSamples(RuntimeLifecycleAction action) {
+            this.action = action;
+            String labels = "{action=\"" + action.name().toLowerCase(Locale.ENGLISH) + "\",runtime=\"";
+            bucket = OpenMetricsWriter.encode("carbon_runtime_action_seconds_bucket" + labels);
+            count = OpenMetricsWriter.encode("carbon_runtime_action_seconds_count" + labels);
+            sum = OpenMetricsWriter.encode("carbon_runtime_action_seconds_sum" + labels);
+        }
+    }
+}
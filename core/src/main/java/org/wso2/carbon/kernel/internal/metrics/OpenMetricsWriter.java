@@ -0,0 +1,203 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A growable byte buffer which renders metrics in the OpenMetrics text format. The buffer is reused across scrapes
+ * and the numbers are written digit by digit, hence rendering a metric does not allocate. The fixed parts of the
+ * lines are encoded once with {@link #encode(String)} and written as bytes.
+ *
+ * @since 5.3.1
+ */
+final class OpenMetricsWriter {
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+            100000000L, 1000000000L};
+
+    // The decimals of the non-integral double values.
+    private static final int DOUBLE_DECIMALS = 6;
+
+    private final byte[] digits = new byte[20];
+
+    private byte[] buffer;
+
+    private int size;
+
+    OpenMetricsWriter(int initialCapacity) {
+        buffer = new byte[initialCapacity];
+    }
+
+    /**
+     * Encodes the given text, to be written with {@link #write(byte[])}.
+     *
+     * @param text the text.
+     * @return the UTF-8 bytes of the text.
+     */
+    static byte[] encode(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Escapes the given label value, as required by the OpenMetrics text format.
+     *
+     * @param value the label value.
+     * @return the escaped value.
+     */
+    static String escapeLabelValue(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                escaped.append('\\').append(c);
+            } else if (c == '\n') {
+                escaped.append("\\n");
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    void reset() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void write(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    void write(char c) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) c;
+    }
+
+    /**
+     * Writes the given text, which must only have ASCII characters.
+     *
+     * @param text the ASCII text.
+     */
+    void writeAscii(String text) {
+        ensureCapacity(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            buffer[size++] = (byte) text.charAt(i);
+        }
+    }
+
+    void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            write('-');
+            value = -value;
+        }
+        int count = 0;
+        do {
+            digits[count++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+
+        ensureCapacity(count);
+        while (count > 0) {
+            buffer[size++] = digits[--count];
+        }
+    }
+
+    /**
+     * Writes the given value divided by a power of ten, e.g. milliseconds as seconds with 3 decimals.
+     *
+     * @param value    the value.
+     * @param decimals the number of decimals, between 0 and 9.
+     */
+    void writeFixed(long value, int decimals) {
+        if (decimals == 0) {
+            writeLong(value);
+            return;
+        }
+        if (value < 0) {
+            write('-');
+            value = -value;
+        }
+        long scale = POWERS_OF_TEN[decimals];
+        writeLong(value / scale);
+        write('.');
+        long fraction = value % scale;
+        for (long digit = scale / 10; digit > 0; digit /= 10) {
+            write((char) ('0' + fraction / digit % 10));
+        }
+    }
+
+    void writeDouble(double value) {
+        if (Double.isNaN(value)) {
+            writeAscii("NaN");
+        } else if (Double.isInfinite(value)) {
+            writeAscii(value > 0 ? "+Inf" : "-Inf");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            writeLong((long) value);
+        } else if (Math.abs(value) < 1e12) {
+            writeFixed(Math.round(value * POWERS_OF_TEN[DOUBLE_DECIMALS]), DOUBLE_DECIMALS);
+        } else {
+            writeAscii(Double.toString(value));
+        }
+    }
+
+    /**
+     * Writes the value of an MBean attribute.
+     *
+     * @param value    a number or a boolean.
+     * @param decimals the number of decimals the value is divided by, as in {@link #writeFixed(long, int)}.
+     * @return false if the value is not numeric, in which case nothing is written.
+     */
+    boolean writeValue(Object value, int decimals) {
+        if (value instanceof Double || value instanceof Float) {
+            writeDouble(((Number) value).doubleValue() / POWERS_OF_TEN[decimals]);
+        } else if (value instanceof Number) {
+            writeFixed(((Number) value).longValue(), decimals);
+        } else if (value instanceof Boolean) {
+            write((Boolean) value ? '1' : '0');
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(buffer, 0, size);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, size, StandardCharsets.UTF_8);
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + length));
+        }
+    }
+}
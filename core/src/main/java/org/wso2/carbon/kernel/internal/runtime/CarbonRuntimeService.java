@@ -17,13 +17,19 @@ package org.wso2.carbon.kernel.internal.runtime;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.internal.metrics.KernelMetrics;
 import org.wso2.carbon.kernel.runtime.Runtime;
+import org.wso2.carbon.kernel.runtime.RuntimeLifecycleAction;
+import org.wso2.carbon.kernel.runtime.RuntimeLifecycleReport;
 import org.wso2.carbon.kernel.runtime.RuntimeService;
 import org.wso2.carbon.kernel.runtime.RuntimeState;
 import org.wso2.carbon.kernel.runtime.exception.RuntimeServiceException;
 import org.wso2.carbon.utils.Utils;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation class for the RuntimeService interface.
@@ -33,10 +39,35 @@ import java.util.List;
 
 public class CarbonRuntimeService implements RuntimeService, CarbonRuntimeServiceMBean {
     private static Logger logger = LoggerFactory.getLogger(CarbonRuntimeService.class);
+
+    /**
+     * The timeout of a single runtime action, for the runtimes which do not declare their own timeout.
+     *
+     * @since 5.3.1
+     */
+    public static final long DEFAULT_RUNTIME_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    private static final int MAX_ORCHESTRATION_THREAD_COUNT = 16;
+
     RuntimeManager runtimeManager;
+    private final RuntimeOrchestrator runtimeOrchestrator;
 
     public CarbonRuntimeService(RuntimeManager runtimeManager) {
+        this(runtimeManager, DEFAULT_RUNTIME_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Creates a runtime service with the given default timeout for the orchestrated runtime actions.
+     *
+     * @param runtimeManager       the manager of the registered runtimes.
+     * @param defaultTimeoutMillis the timeout of a single runtime action, for the runtimes which do not declare their
+     *                             own timeout.
+     * @since 5.3.1
+     */
+    public CarbonRuntimeService(RuntimeManager runtimeManager, long defaultTimeoutMillis) {
         this.runtimeManager = runtimeManager;
+        this.runtimeOrchestrator = new RuntimeOrchestrator(CarbonRuntimeService::applyAction, defaultTimeoutMillis,
+                MAX_ORCHESTRATION_THREAD_COUNT);
     }
 
     /**
@@ -46,20 +77,7 @@ public class CarbonRuntimeService implements RuntimeService, CarbonRuntimeServic
      */
     @Override
     public void startRuntimes() throws RuntimeServiceException {
-        Utils.checkSecurity();
-        List<Runtime> runtimeMap = runtimeManager.getRuntimeList();
-        for (Runtime runtime : runtimeMap) {
-            if (runtime.getState() == RuntimeState.INACTIVE) {
-                runtime.init();
-                runtime.start();
-            } else if (runtime.getState() == RuntimeState.PENDING) {
-                throw new RuntimeServiceException("Runtime not initialized." + runtime.getClass().getName());
-            } else if (runtime.getState() == RuntimeState.MAINTENANCE) {
-                throw new RuntimeServiceException("Runtime is in maintenance mode." + runtime.getClass().getName());
-            } else {
-                logger.error("Runtime already started : " + runtime.getClass().getName());
-            }
-        }
+        applySequentially(RuntimeLifecycleAction.START);
     }
 
     /**
@@ -69,15 +87,7 @@ public class CarbonRuntimeService implements RuntimeService, CarbonRuntimeServic
      */
     @Override
     public void stopRuntimes() throws RuntimeServiceException {
-        Utils.checkSecurity();
-        List<Runtime> runtimeMap = runtimeManager.getRuntimeList();
-        for (Runtime runtime : runtimeMap) {
-            if (runtime.getState() == RuntimeState.PENDING) {
-                throw new RuntimeServiceException("Runtime not initialized." + runtime.getClass().getName());
-            } else {
-                runtime.stop();
-            }
-        }
+        applySequentially(RuntimeLifecycleAction.STOP);
     }
 
     /**
@@ -87,15 +97,7 @@ public class CarbonRuntimeService implements RuntimeService, CarbonRuntimeServic
      */
     @Override
     public void beginMaintenance() throws RuntimeServiceException {
-        Utils.checkSecurity();
-        List<Runtime> runtimeMap = runtimeManager.getRuntimeList();
-        for (Runtime runtime : runtimeMap) {
-            if (runtime.getState() == RuntimeState.PENDING) {
-                throw new RuntimeServiceException("Runtime not initialized." + runtime.getClass().getName());
-            } else {
-                runtime.beginMaintenance();
-            }
-        }
+        applySequentially(RuntimeLifecycleAction.BEGIN_MAINTENANCE);
     }
 
     /**
@@ -105,14 +107,91 @@ public class CarbonRuntimeService implements RuntimeService, CarbonRuntimeServic
      */
     @Override
     public void endMaintenance() throws RuntimeServiceException {
+        applySequentially(RuntimeLifecycleAction.END_MAINTENANCE);
+    }
+
+    /**
+     * Applies the given action on the registered runtimes in parallel, as ordered by their priorities and
+     * dependencies.
+     *
+     * @param action the lifecycle action to be applied.
+     * @return the aggregated outcome of the action.
+     * @throws RuntimeServiceException - thrown if the orchestration is interrupted
+     */
+    @Override
+    public RuntimeLifecycleReport orchestrate(RuntimeLifecycleAction action) throws RuntimeServiceException {
+        Utils.checkSecurity();
+        return runtimeOrchestrator.orchestrate(runtimeManager.getRuntimeList(), action);
+    }
+
+    @Override
+    public String orchestrateRuntimes(String action) throws RuntimeServiceException {
+        RuntimeLifecycleAction lifecycleAction;
+        try {
+            lifecycleAction = RuntimeLifecycleAction.valueOf(action.trim().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeServiceException("Unknown runtime lifecycle action " + action + ", expected one of " +
+                    Arrays.toString(RuntimeLifecycleAction.values()), e);
+        }
+        return orchestrate(lifecycleAction).toString();
+    }
+
+    /**
+     * Applies the given action on the registered runtimes one after the other, stopping at the first failure.
+     */
+    private void applySequentially(RuntimeLifecycleAction action) throws RuntimeServiceException {
         Utils.checkSecurity();
         List<Runtime> runtimeMap = runtimeManager.getRuntimeList();
         for (Runtime runtime : runtimeMap) {
-            if (runtime.getState() == RuntimeState.PENDING) {
-                throw new RuntimeServiceException("Runtime not initialized." + runtime.getClass().getName());
-            } else {
+            applyAction(runtime, action);
+        }
+    }
+
+    /**
+     * Applies the given action on the given runtime, if the current state of the runtime allows it.
+     *
+     * @param runtime the runtime.
+     * @param action  the lifecycle action to be applied.
+     * @throws RuntimeServiceException - thrown if the runtime is not in a valid state, or the action fails
+     */
+    static void applyAction(Runtime runtime, RuntimeLifecycleAction action) throws RuntimeServiceException {
+        long startTime = System.nanoTime();
+        try {
+            applyActionOnState(runtime, action);
+        } finally {
+            KernelMetrics.getInstance().recordRuntimeAction(RuntimeManager.getRuntimeName(runtime), action,
+                    System.nanoTime() - startTime);
+        }
+    }
+
+    private static void applyActionOnState(Runtime runtime, RuntimeLifecycleAction action)
+            throws RuntimeServiceException {
+        if (runtime.getState() == RuntimeState.PENDING) {
+            throw new RuntimeServiceException("Runtime not initialized." + runtime.getClass().getName());
+        }
+        switch (action) {
+            case START:
+                if (runtime.getState() == RuntimeState.INACTIVE) {
+                    runtime.init();
+                    runtime.start();
+                } else if (runtime.getState() == RuntimeState.MAINTENANCE) {
+                    throw new RuntimeServiceException("Runtime is in maintenance mode." +
+                            runtime.getClass().getName());
+                } else {
+                    logger.error("Runtime already started : " + runtime.getClass().getName());
+                }
+                break;
+            case STOP:
+                runtime.stop();
+                break;
+            case BEGIN_MAINTENANCE:
+                runtime.beginMaintenance();
+                break;
+            case END_MAINTENANCE:
                 runtime.endMaintenance();
-            }
+                break;
+            default:
+                throw new RuntimeServiceException("Unknown runtime lifecycle action " + action);
         }
     }
 
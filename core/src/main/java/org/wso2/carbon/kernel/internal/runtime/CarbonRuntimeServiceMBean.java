@@ -54,4 +54,15 @@ public interface CarbonRuntimeServiceMBean {
      */
     void endMaintenance() throws RuntimeServiceException;
 
+    /**
+     * Applies the given lifecycle action on all registered runtimes in parallel, as ordered by their priorities and
+     * dependencies, and returns the aggregated outcome.
+     *
+     * @param action one of START, STOP, BEGIN_MAINTENANCE and END_MAINTENANCE
+     * @return the report of the outcome of each runtime
+     * @throws RuntimeServiceException - on an unknown action, or if the orchestration is interrupted
+     * @since 5.3.1
+     */
+    String orchestrateRuntimes(String action) throws RuntimeServiceException;
+
 }
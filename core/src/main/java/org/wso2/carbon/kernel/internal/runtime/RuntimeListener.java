@@ -0,0 +1,43 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.runtime;
+
+import org.wso2.carbon.kernel.runtime.Runtime;
+
+/**
+ * Listener notified of the changes of the runtimes registered with a {@link RuntimeManager}.
+ * <p>
+ * The listeners are notified in the order of the changes, while the registry is locked, hence a listener should not
+ * block. A listener may read the registry, which already reflects the change.
+ *
+ * @since 5.3.1
+ */
+public interface RuntimeListener {
+
+    /**
+     * Called after a runtime is registered.
+     *
+     * @param runtime the registered runtime.
+     */
+    void runtimeRegistered(Runtime runtime);
+
+    /**
+     * Called after a runtime is un-registered.
+     *
+     * @param runtime the un-registered runtime.
+     */
+    void runtimeUnregistered(Runtime runtime);
+}
@@ -17,20 +17,30 @@ package org.wso2.carbon.kernel.internal.runtime;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.runtime.OrchestratedRuntime;
 import org.wso2.carbon.kernel.runtime.Runtime;
 import org.wso2.carbon.utils.Utils;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Runtime Manager class.
+ * <p>
+ * The registered runtimes are kept as an immutable snapshot, which is replaced on each change. Hence the runtimes can
+ * be registered and un-registered from the OSGi callbacks while the lifecycle of the runtimes is being handled, as
+ * the lifecycle loops iterate a snapshot which does not change under them.
  *
  * @since 5.0.0
  */
 public class RuntimeManager {
     private static Logger logger = LoggerFactory.getLogger(RuntimeManager.class);
-    private List<Runtime> runtimeList = new ArrayList<Runtime>();
+    private volatile RuntimeRegistry runtimeRegistry = new RuntimeRegistry(Collections.emptyList());
+    private final List<RuntimeListener> runtimeListeners = new CopyOnWriteArrayList<>();
 
 
     /**
@@ -40,7 +50,18 @@ public class RuntimeManager {
      */
     public void registerRuntime(Runtime runtime) {
         Utils.checkSecurity();
-        runtimeList.add(runtime);
+        synchronized (this) {
+            List<Runtime> runtimeList = new ArrayList<>(runtimeRegistry.runtimeList);
+            runtimeList.add(runtime);
+            runtimeRegistry = new RuntimeRegistry(runtimeList);
+            for (RuntimeListener runtimeListener : runtimeListeners) {
+                try {
+                    runtimeListener.runtimeRegistered(runtime);
+                } catch (Exception e) {
+                    logger.error("Error while notifying the registration of runtime " + getRuntimeName(runtime), e);
+                }
+            }
+        }
     }
 
     /**
@@ -50,16 +71,106 @@ public class RuntimeManager {
      */
     public void unRegisterRuntime(Runtime runtime) {
         Utils.checkSecurity();
-        runtimeList.remove(runtime);
+        synchronized (this) {
+            List<Runtime> runtimeList = new ArrayList<>(runtimeRegistry.runtimeList);
+            if (!runtimeList.remove(runtime)) {
+                return;
+            }
+            runtimeRegistry = new RuntimeRegistry(runtimeList);
+            for (RuntimeListener runtimeListener : runtimeListeners) {
+                try {
+                    runtimeListener.runtimeUnregistered(runtime);
+                } catch (Exception e) {
+                    logger.error("Error while notifying the un-registration of runtime " + getRuntimeName(runtime), e);
+                }
+            }
+        }
     }
 
     /**
      * Return registered runtime list.
      *
-     * @return List of rumtimes
+     * @return an unmodifiable snapshot of the registered runtimes, which does not change with later registrations
      */
     public List<Runtime> getRuntimeList() {
         Utils.checkSecurity();
-        return runtimeList;
+        return runtimeRegistry.runtimeList;
+    }
+
+    /**
+     * Returns the registered runtime with the given name. The name of a runtime is given by
+     * {@link OrchestratedRuntime#getName()}, or else is its class name.
+     *
+     * @param name - name of the runtime
+     * @return the first registered runtime with the given name, or null if there is none
+     * @since 5.3.1
+     */
+    public Runtime getRuntime(String name) {
+        Utils.checkSecurity();
+        return runtimeRegistry.runtimesByName.get(name);
+    }
+
+    /**
+     * Returns the registered runtime of the given class.
+     *
+     * @param runtimeClass - the class of the runtime, which is matched exactly, not by its super types
+     * @param <T>          the type of the runtime
+     * @return the first registered runtime of the given class, or null if there is none
+     * @since 5.3.1
+     */
+    public <T extends Runtime> T getRuntime(Class<T> runtimeClass) {
+        Utils.checkSecurity();
+        return runtimeClass.cast(runtimeRegistry.runtimesByClass.get(runtimeClass));
+    }
+
+    /**
+     * Adds a listener, which is notified of the later registrations and un-registrations.
+     *
+     * @param runtimeListener - listener to be added
+     * @since 5.3.1
+     */
+    public void addRuntimeListener(RuntimeListener runtimeListener) {
+        Utils.checkSecurity();
+        runtimeListeners.add(runtimeListener);
+    }
+
+    /**
+     * Removes a listener added with {@link #addRuntimeListener(RuntimeListener)}.
+     *
+     * @param runtimeListener - listener to be removed
+     * @since 5.3.1
+     */
+    public void removeRuntimeListener(RuntimeListener runtimeListener) {
+        Utils.checkSecurity();
+        runtimeListeners.remove(runtimeListener);
+    }
+
+    /**
+     * Returns the name of the given runtime.
+     *
+     * @param runtime - the runtime
+     * @return the name declared by an {@link OrchestratedRuntime}, or else the class name of the runtime
+     * @since 5.3.1
+     */
+    public static String getRuntimeName(Runtime runtime) {
+        return runtime instanceof OrchestratedRuntime ?
+                ((OrchestratedRuntime) runtime).getName() : runtime.getClass().getName();
+    }
+
+    /**
+     * An immutable snapshot of the registered runtimes, with its lookup indexes.
+     */
+    private static final class RuntimeRegistry {
+        private final List<Runtime> runtimeList;
+        private final Map<String, Runtime> runtimesByName = new HashMap<>();
+        private final Map<Class<?>, Runtime> runtimesByClass = new HashMap<>();
+
+        private RuntimeRegistry(List<Runtime> runtimeList) {
+            this.runtimeList = Collections.unmodifiableList(runtimeList);
+            for (Runtime runtime : runtimeList) {
+                runtimesByName.putIfAbsent(getRuntimeName(runtime), runtime);
+                runtimesByClass.putIfAbsent(runtime.getClass(), runtime);
+            }
+        }
     }
 }
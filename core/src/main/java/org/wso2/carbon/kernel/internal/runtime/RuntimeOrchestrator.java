@@ -0,0 +1,353 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.runtime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.context.CarbonContextExecutors;
+import org.wso2.carbon.kernel.runtime.OrchestratedRuntime;
+import org.wso2.carbon.kernel.runtime.Runtime;
+import org.wso2.carbon.kernel.runtime.RuntimeLifecycleAction;
+import org.wso2.carbon.kernel.runtime.RuntimeLifecycleReport;
+import org.wso2.carbon.kernel.runtime.RuntimeLifecycleReport.Outcome;
+import org.wso2.carbon.kernel.runtime.RuntimeLifecycleReport.Status;
+import org.wso2.carbon.kernel.runtime.exception.RuntimeServiceException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies a lifecycle action on a set of runtimes, in parallel where the runtimes are not ordered against each other.
+ * <p>
+ * The priorities and the dependencies of the runtimes form a graph, where a runtime waits for its prerequisites, i.e.
+ * its dependencies and the runtimes of the previous priority group, or the reverse of those for the actions which
+ * follow the reverse dependency order. Each runtime is submitted to a worker thread once all its prerequisites are
+ * completed, while the calling thread only tracks the completions and the timeouts. Hence, the whole action takes
+ * about as long as the slowest chain of runtimes, rather than the sum of all of them.
+ * <p>
+ * The timeout of a runtime counts from when a worker thread starts its action, hence waiting for a free worker thread
+ * does not time it out. A timed out action may ignore the interruption and keep its worker thread, hence a worker
+ * thread is added for each timed out runtime, so that the waiting runtimes still get a worker thread.
+ *
+ * @since 5.3.1
+ */
+class RuntimeOrchestrator {
+    private static final Logger logger = LoggerFactory.getLogger(RuntimeOrchestrator.class);
+
+    /**
+     * Applies the lifecycle action on a single runtime.
+     */
+    interface RuntimeTask {
+        void apply(Runtime runtime, RuntimeLifecycleAction action) throws Exception;
+    }
+
+    private final RuntimeTask runtimeTask;
+    private final long defaultTimeoutMillis;
+    private final int maxThreadCount;
+
+    RuntimeOrchestrator(RuntimeTask runtimeTask, long defaultTimeoutMillis, int maxThreadCount) {
+        this.runtimeTask = runtimeTask;
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+        this.maxThreadCount = maxThreadCount;
+    }
+
+    /**
+     * Applies the given action on the given runtimes and waits until each runtime is completed, failed, timed out or
+     * skipped.
+     *
+     * @param runtimes the runtimes to be orchestrated.
+     * @param action   the lifecycle action to be applied.
+     * @return the outcome of each runtime, in the order of the given runtimes.
+     * @throws RuntimeServiceException if the calling thread is interrupted, in which case the running actions are
+     *                                 interrupted too.
+     */
+    RuntimeLifecycleReport orchestrate(List<Runtime> runtimes, RuntimeLifecycleAction action)
+            throws RuntimeServiceException {
+        long startTime = System.nanoTime();
+        List<RuntimeNode> nodes = createNodes(runtimes, action);
+        if (nodes.isEmpty()) {
+            return new RuntimeLifecycleReport(action, Collections.emptyList(), 0);
+        }
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        int threadCount = Math.min(nodes.size(), maxThreadCount);
+        ThreadPoolExecutor executorService = new ThreadPoolExecutor(threadCount, threadCount, 0L,
+                TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "CarbonRuntimeLifecycle-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
+            new Execution(executorService, action).run(nodes);
+        } finally {
+            // Interrupts the actions which did not respond to the cancellation after their timeout.
+            executorService.shutdownNow();
+        }
+
+        List<Outcome> outcomes = new ArrayList<>(nodes.size());
+        for (RuntimeNode node : nodes) {
+            if (node.outcome == null) {
+                node.outcome = new Outcome(node.name, Status.SKIPPED, 0,
+                        "Runtime is part of, or ordered after, a cycle of runtime dependencies", null);
+            }
+            outcomes.add(node.outcome);
+        }
+        RuntimeLifecycleReport report = new RuntimeLifecycleReport(action, outcomes,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        if (report.isSuccessful()) {
+            if (logger.isDebugEnabled()) {
+                logger.debug(report.toString());
+            }
+        } else {
+            logger.error(report.toString());
+        }
+        return report;
+    }
+
+    /**
+     * Creates a node for each runtime and links each node to the nodes waiting for it.
+     */
+    private List<RuntimeNode> createNodes(List<Runtime> runtimes, RuntimeLifecycleAction action) {
+        List<RuntimeNode> nodes = new ArrayList<>(runtimes.size());
+        Map<String, List<RuntimeNode>> nodesByName = new HashMap<>();
+        TreeMap<Integer, List<RuntimeNode>> nodesByPriority = new TreeMap<>();
+        for (Runtime runtime : runtimes) {
+            RuntimeNode node = new RuntimeNode(runtime, defaultTimeoutMillis);
+            nodes.add(node);
+            nodesByName.computeIfAbsent(node.name, name -> new ArrayList<>()).add(node);
+            nodesByPriority.computeIfAbsent(node.priority, priority -> new ArrayList<>()).add(node);
+        }
+
+        for (RuntimeNode node : nodes) {
+            for (String dependencyName : node.dependencies) {
+                List<RuntimeNode> dependencies = nodesByName.get(dependencyName);
+                if (dependencies == null) {
+                    node.outcome = new Outcome(node.name, Status.SKIPPED, 0,
+                            "Runtime depends on " + dependencyName + ", which is not registered", null);
+                    continue;
+                }
+                for (RuntimeNode dependency : dependencies) {
+                    link(dependency, node, action);
+                }
+            }
+        }
+
+        // Linking each group to the next is enough, since the groups are linked as a chain.
+        List<RuntimeNode> previousGroup = null;
+        for (List<RuntimeNode> group : nodesByPriority.values()) {
+            if (previousGroup != null) {
+                for (RuntimeNode lowerPriorityNode : previousGroup) {
+                    for (RuntimeNode node : group) {
+                        link(lowerPriorityNode, node, action);
+                    }
+                }
+            }
+            previousGroup = group;
+        }
+        return nodes;
+    }
+
+    /**
+     * Links the given runtimes, so that the action of the dependent follows the dependency in the order of the action.
+     */
+    private static void link(RuntimeNode dependency, RuntimeNode dependent, RuntimeLifecycleAction action) {
+        RuntimeNode prerequisite = action.isDependencyOrder() ? dependency : dependent;
+        RuntimeNode successor = action.isDependencyOrder() ? dependent : dependency;
+        prerequisite.successors.add(successor);
+        successor.pendingPrerequisites++;
+    }
+
+    /**
+     * A single run of the orchestration. Only the calling thread updates the nodes, while the worker threads hand
+     * each node back through a queue twice, once when its action starts and once when its action is completed.
+     */
+    private final class Execution {
+
+        private final ThreadPoolExecutor threadPoolExecutor;
+        private final ExecutorService executorService;
+        private final RuntimeLifecycleAction action;
+        private final BlockingQueue<RuntimeNode> updatedNodes = new LinkedBlockingQueue<>();
+        private final List<RuntimeNode> runningNodes = new ArrayList<>();
+
+        private Execution(ThreadPoolExecutor threadPoolExecutor, RuntimeLifecycleAction action) {
+            this.threadPoolExecutor = threadPoolExecutor;
+            this.executorService = CarbonContextExecutors.wrap(threadPoolExecutor);
+            this.action = action;
+        }
+
+        private void run(List<RuntimeNode> nodes) throws RuntimeServiceException {
+            // Skips the nodes ordered after the nodes which were already skipped while resolving the dependencies.
+            for (RuntimeNode node : nodes) {
+                if (node.outcome != null) {
+                    skipSuccessors(node);
+                }
+            }
+            for (RuntimeNode node : nodes) {
+                if (node.outcome == null && node.pendingPrerequisites == 0) {
+                    submit(node);
+                }
+            }
+
+            try {
+                while (!runningNodes.isEmpty()) {
+                    long now = System.nanoTime();
+                    long nextDeadline = Long.MAX_VALUE;
+                    for (RuntimeNode node : new ArrayList<>(runningNodes)) {
+                        // A node which is still waiting for a worker thread cannot time out yet.
+                        if (!node.started) {
+                            continue;
+                        }
+                        if (node.deadline - now <= 0) {
+                            timeOut(node, now);
+                        } else {
+                            nextDeadline = Math.min(nextDeadline, node.deadline - now);
+                        }
+                    }
+                    if (runningNodes.isEmpty()) {
+                        break;
+                    }
+
+                    RuntimeNode updatedNode = updatedNodes.poll(nextDeadline, TimeUnit.NANOSECONDS);
+                    // A node which was timed out is no longer running, hence its late completion is ignored.
+                    if (updatedNode == null || !runningNodes.contains(updatedNode)) {
+                        continue;
+                    }
+                    if (updatedNode.started) {
+                        runningNodes.remove(updatedNode);
+                        complete(updatedNode);
+                    } else {
+                        updatedNode.started = true;
+                        updatedNode.deadline = updatedNode.startTime +
+                                TimeUnit.MILLISECONDS.toNanos(updatedNode.timeoutMillis);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                runningNodes.forEach(node -> node.future.cancel(true));
+                throw new RuntimeServiceException("Interrupted while applying " + action + " on the runtimes", e);
+            }
+        }
+
+        private void submit(RuntimeNode node) {
+            runningNodes.add(node);
+            node.future = executorService.submit(() -> {
+                node.startTime = System.nanoTime();
+                updatedNodes.add(node);
+                try {
+                    runtimeTask.apply(node.runtime, action);
+                } catch (Throwable e) {
+                    node.error = e;
+                }
+                node.endTime = System.nanoTime();
+                updatedNodes.add(node);
+            });
+        }
+
+        private void complete(RuntimeNode node) {
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(node.endTime - node.startTime);
+            if (node.error == null) {
+                node.outcome = new Outcome(node.name, Status.COMPLETED, durationMillis, null, null);
+                for (RuntimeNode successor : node.successors) {
+                    if (--successor.pendingPrerequisites == 0 && successor.outcome == null) {
+                        submit(successor);
+                    }
+                }
+            } else {
+                node.outcome = new Outcome(node.name, Status.FAILED, durationMillis, node.error.getMessage(),
+                        node.error);
+                skipSuccessors(node);
+            }
+        }
+
+        private void timeOut(RuntimeNode node, long now) {
+            runningNodes.remove(node);
+            node.future.cancel(true);
+            // The interrupted action may still hold its worker thread, hence another one takes its place.
+            int threadCount = threadPoolExecutor.getMaximumPoolSize() + 1;
+            threadPoolExecutor.setMaximumPoolSize(threadCount);
+            threadPoolExecutor.setCorePoolSize(threadCount);
+            node.outcome = new Outcome(node.name, Status.TIMED_OUT,
+                    TimeUnit.NANOSECONDS.toMillis(now - node.startTime),
+                    "Runtime did not complete " + action + " within " + node.timeoutMillis + " ms", null);
+            skipSuccessors(node);
+        }
+
+        private void skipSuccessors(RuntimeNode node) {
+            List<RuntimeNode> skippedNodes = new ArrayList<>();
+            skippedNodes.add(node);
+            while (!skippedNodes.isEmpty()) {
+                RuntimeNode skippedNode = skippedNodes.remove(skippedNodes.size() - 1);
+                for (RuntimeNode successor : skippedNode.successors) {
+                    if (successor.outcome == null) {
+                        successor.outcome = new Outcome(successor.name, Status.SKIPPED, 0,
+                                "Runtime " + skippedNode.name + " did not complete " + action, null);
+                        skippedNodes.add(successor);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The orchestration state of a runtime.
+     */
+    private static final class RuntimeNode {
+        private final Runtime runtime;
+        private final String name;
+        private final int priority;
+        private final Iterable<String> dependencies;
+        private final long timeoutMillis;
+        private final List<RuntimeNode> successors = new ArrayList<>();
+        private int pendingPrerequisites;
+        private Outcome outcome;
+        private Future<?> future;
+        // Set by the calling thread once it has seen the node queued as started.
+        private boolean started;
+        private long deadline;
+        // Written by the worker thread before the node is queued as started.
+        private long startTime;
+        // Written by the worker thread before the node is queued as completed.
+        private long endTime;
+        private Throwable error;
+
+        private RuntimeNode(Runtime runtime, long defaultTimeoutMillis) {
+            this.runtime = runtime;
+            this.name = RuntimeManager.getRuntimeName(runtime);
+            if (runtime instanceof OrchestratedRuntime) {
+                OrchestratedRuntime orchestratedRuntime = (OrchestratedRuntime) runtime;
+                this.priority = orchestratedRuntime.getPriority();
+                this.dependencies = orchestratedRuntime.getDependencies();
+                long runtimeTimeoutMillis = orchestratedRuntime.getTimeoutMillis();
+                this.timeoutMillis = runtimeTimeoutMillis > 0 ? runtimeTimeoutMillis : defaultTimeoutMillis;
+            } else {
+                this.priority = 0;
+                this.dependencies = Collections.emptyList();
+                this.timeoutMillis = defaultTimeoutMillis;
+            }
+        }
+    }
+}
@@ -20,13 +20,15 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 /**
  * Counter implementation which maintains multiple key occurrences. This implementation is thread-safe.
+ * <p>
+ * Counts are updated without locking. The counter of a key is created at most once with
+ * {@link ConcurrentHashMap#computeIfAbsent(Object, java.util.function.Function)} and is then updated atomically, so
+ * threads updating different keys never contend with each other.
  *
  * @param <K> the type of keys maintained by this map
  * @since 5.0.0
@@ -34,7 +36,7 @@ import java.util.stream.Collectors;
 public class MultiCounter<K> {
     private static final Logger logger = LoggerFactory.getLogger(MultiCounter.class);
 
-    private Map<K, AtomicInteger> counterMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, AtomicInteger> counterMap = new ConcurrentHashMap<>();
 
     /**
      * Increment the count of the specified key by one and returns new value.
@@ -42,15 +44,11 @@ public class MultiCounter<K> {
      * @param key with which the associated value is incremented by one
      * @return count after incrementing by one.
      */
-    public synchronized int incrementAndGet(K key) {
-        if (!counterMap.containsKey(key)) {
-            counterMap.put(key, new AtomicInteger(1));
-            logger.debug("IncrementAndGet key: {}, count: {}", key, 1);
-            return 1;
+    public int incrementAndGet(K key) {
+        int tally = getCounter(key).incrementAndGet();
+        if (logger.isDebugEnabled()) {
+            logger.debug("IncrementAndGet key: {}, count: {}", key, tally);
         }
-
-        int tally = counterMap.get(key).incrementAndGet();
-        logger.debug("IncrementAndGet key: {}, count: {}", key, tally);
         return tally;
     }
 
@@ -60,16 +58,12 @@ public class MultiCounter<K> {
      * @param key with which the associated value is decremented by one.
      * @return count after decrementing by one.
      */
-    public synchronized int decrementAndGet(K key) {
-        if (counterMap.containsKey(key)) {
-            int tally = counterMap.get(key).decrementAndGet();
+    public int decrementAndGet(K key) {
+        int tally = getCounter(key).decrementAndGet();
+        if (logger.isDebugEnabled()) {
             logger.debug("DecrementAndGet key: {}, count: {}", key, tally);
-            return tally;
-        } else {
-            counterMap.put(key, new AtomicInteger(-1));
-            logger.debug("DecrementAndGet key: {}, count: {}", key, -1);
-            return -1;
         }
+        return tally;
     }
 
     /**
@@ -79,10 +73,8 @@ public class MultiCounter<K> {
      * @return count of the specified key.
      */
     public int get(K key) {
-        if (counterMap.get(key) == null) {
-            return 0;
-        }
-        return counterMap.get(key).get();
+        AtomicInteger counter = counterMap.get(key);
+        return counter == null ? 0 : counter.get();
     }
 
     /**
@@ -96,14 +88,25 @@ public class MultiCounter<K> {
 
     /**
      * Returns all the keys with a non-zero count.
+     * <p>
+     * This is a weakly consistent snapshot taken in a single pass over the counters, without blocking the threads
+     * updating them.
      *
      * @return a list of key with a non-zero count
      */
     public List<K> getKeysWithNonZeroCount() {
-        return counterMap.keySet()
-                .stream()
-                .filter(key -> counterMap.get(key).get() != 0)
-                .collect(Collectors.toList());
+        List<K> keys = new ArrayList<>();
+        counterMap.forEach((key, counter) -> {
+            if (counter.get() != 0) {
+                keys.add(key);
+            }
+        });
+        return keys;
+    }
 
+    private AtomicInteger getCounter(K key) {
+        // Look up first, so that the common case of an existing key does not lock the bin in computeIfAbsent.
+        AtomicInteger counter = counterMap.get(key);
+        return counter != null ? counter : counterMap.computeIfAbsent(key, k -> new AtomicInteger());
     }
 }
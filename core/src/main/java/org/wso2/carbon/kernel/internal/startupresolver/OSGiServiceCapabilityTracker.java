@@ -19,8 +19,7 @@ package org.wso2.carbon.kernel.internal.startupresolver;
 
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
-import org.osgi.framework.Filter;
-import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.Constants;
 import org.osgi.framework.ServiceReference;
 import org.osgi.util.tracker.ServiceTracker;
 import org.osgi.util.tracker.ServiceTrackerCustomizer;
@@ -34,49 +33,87 @@ import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
 import org.wso2.carbon.kernel.startupresolver.CapabilityProvider;
 import org.wso2.carbon.kernel.startupresolver.RequiredCapabilityListener;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.CAPABILITY_NAME;
 import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.COMPONENT_NAME;
-import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.OBJECT_CLASS;
 import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.SKIP_CARBON_STARTUP_RESOLVER;
 import static org.wso2.carbon.utils.StringUtils.getNonEmptyStringAfterTrim;
 
 /**
- * Tracks OSGi Services by creating a ServiceTracker which tracks only services required by startup components.
+ * Tracks OSGi Services by creating ServiceTrackers which track only services required by startup components.
+ * <p>
+ * A separate ServiceTracker is opened for each required OSGi service, so that the framework only dispatches the
+ * events of that service interface to it. The tracker of a service is closed as soon as all the startup components
+ * requiring that service are satisfied. {@code RequiredCapabilityListener} and {@code CapabilityProvider} services
+ * are tracked until the tracker is closed, and these are the only service objects retrieved from the framework.
  *
  * @since 5.1.0
  */
 class OSGiServiceCapabilityTracker {
     private static final Logger logger = LoggerFactory.getLogger(OSGiServiceCapabilityTracker.class);
 
-    private StartupComponentManager startupComponentManager;
-    private ServiceTracker<Object, Object> capabilityServiceTracker;
+    private volatile StartupComponentManager startupComponentManager;
+
+    // Trackers of the RequiredCapabilityListener and CapabilityProvider services.
+    private final List<ServiceTracker<Object, Object>> startupServiceTrackers = new ArrayList<>();
+
+    // Key of this map is the name of the required OSGi service interface.
+    private final Map<String, ServiceTracker<Object, Object>> requiredServiceTrackers = new ConcurrentHashMap<>();
 
     OSGiServiceCapabilityTracker(StartupComponentManager startupComponentManager) {
         this.startupComponentManager = startupComponentManager;
     }
 
     /**
-     * Starts the ServiceTracker.
+     * Starts the ServiceTrackers.
+     * <p>
+     * CapabilityProvider services are tracked first and RequiredCapabilityListener services are tracked last, so
+     * that the counts of the already registered services are known before any component becomes satisfiable.
      */
     void startTracker() {
-        Filter orFilter = getORFilter(getRequiredServiceList(startupComponentManager));
-        capabilityServiceTracker = new ServiceTracker<>(DataHolder.getInstance().getBundleContext(), orFilter,
-                new CapabilityServiceTrackerCustomizer());
+        BundleContext bundleContext = DataHolder.getInstance().getBundleContext();
+        List<String> requiredServiceList = getRequiredServiceList(startupComponentManager);
 
-        capabilityServiceTracker.open();
+        keepOpen(openTracker(bundleContext, CapabilityProvider.class.getName()), startupServiceTrackers::add);
+        for (String requiredService : requiredServiceList) {
+            keepOpen(openTracker(bundleContext, requiredService),
+                    serviceTracker -> requiredServiceTrackers.put(requiredService, serviceTracker));
+            // Components may have been satisfied while the tracker was being opened.
+            closeTrackerIfNotRequired(requiredService);
+        }
+        keepOpen(openTracker(bundleContext, RequiredCapabilityListener.class.getName()), startupServiceTrackers::add);
     }
 
     /**
-     * Closes the ServiceTracker.
+     * Closes the ServiceTrackers.
      */
     void closeTracker() {
-        capabilityServiceTracker.close();
-        capabilityServiceTracker = null;
-        startupComponentManager = null;
+        List<ServiceTracker<Object, Object>> serviceTrackers;
+        synchronized (this) {
+            startupComponentManager = null;
+            serviceTrackers = new ArrayList<>(startupServiceTrackers);
+            serviceTrackers.addAll(requiredServiceTrackers.values());
+            startupServiceTrackers.clear();
+            requiredServiceTrackers.clear();
+        }
+        serviceTrackers.forEach(ServiceTracker::close);
+    }
+
+    /**
+     * Closes the trackers of the OSGi services required by the given component, which are not required by any
+     * other pending component.
+     *
+     * @param startupComponent the satisfied component.
+     */
+    void componentSatisfied(StartupComponent startupComponent) {
+        startupComponent.getRequiredServices().forEach(this::closeTrackerIfNotRequired);
     }
 
     /**
@@ -87,39 +124,48 @@ class OSGiServiceCapabilityTracker {
      */
     private List<String> getRequiredServiceList(StartupComponentManager startupComponentManager) {
         List<StartupComponent> pendingComponents = startupComponentManager.getComponents(StartupComponent::isPending);
-        List<String> requiredServiceList = pendingComponents
+        return pendingComponents
                 .stream()
                 .flatMap(startupComponent -> startupComponent.getRequiredServices().stream())
                 .distinct()
                 .collect(Collectors.toList());
+    }
 
-        // We need to track RequiredCapabilityListener services as well as CapabilityProvider service.
-        requiredServiceList.add(RequiredCapabilityListener.class.getName());
-        requiredServiceList.add(CapabilityProvider.class.getName());
-        return requiredServiceList;
+    private ServiceTracker<Object, Object> openTracker(BundleContext bundleContext, String serviceInterfaceName) {
+        ServiceTracker<Object, Object> serviceTracker = new ServiceTracker<>(bundleContext, serviceInterfaceName,
+                new CapabilityServiceTrackerCustomizer(serviceInterfaceName));
+        serviceTracker.open();
+        return serviceTracker;
     }
 
     /**
-     * Returns and instance of {@link Filter}.
-     *
-     * @param capabilityNameList all the required capability services.
-     * @return LDAP like filter
+     * Keeps the given open tracker in the given registry, or closes it if this tracker is already closed.
      */
-    private Filter getORFilter(List<String> capabilityNameList) {
-        StringBuilder orFilterBuilder = new StringBuilder();
-        orFilterBuilder.append("(|");
-
-        for (String service : capabilityNameList) {
-            orFilterBuilder.append("(").append(OBJECT_CLASS).append("=").append(service).append(")");
+    private void keepOpen(ServiceTracker<Object, Object> serviceTracker,
+                          Consumer<ServiceTracker<Object, Object>> trackerRegistry) {
+        synchronized (this) {
+            if (startupComponentManager != null) {
+                trackerRegistry.accept(serviceTracker);
+                return;
+            }
         }
+        // The startup was completed while the tracker was being opened.
+        serviceTracker.close();
+    }
 
-        orFilterBuilder.append(")");
+    private void closeTrackerIfNotRequired(String requiredService) {
+        StartupComponentManager componentManager = startupComponentManager;
+        if (componentManager == null || componentManager.getComponentsRequiring(requiredService)
+                .stream()
+                .anyMatch(StartupComponent::isPending)) {
+            return;
+        }
 
-        BundleContext bundleContext = DataHolder.getInstance().getBundleContext();
-        try {
-            return bundleContext.createFilter(orFilterBuilder.toString());
-        } catch (InvalidSyntaxException e) {
-            throw new StartOrderResolverException("Error occurred while creating the service filter", e);
+        ServiceTracker<Object, Object> serviceTracker = requiredServiceTrackers.remove(requiredService);
+        if (serviceTracker != null) {
+            logger.debug("All the components requiring the service {} are satisfied, therefore closing its tracker",
+                    requiredService);
+            serviceTracker.close();
         }
     }
 
@@ -130,27 +176,37 @@ class OSGiServiceCapabilityTracker {
      */
     private class CapabilityServiceTrackerCustomizer implements ServiceTrackerCustomizer<Object, Object> {
 
+        private final String serviceInterfaceClassName;
+
+        CapabilityServiceTrackerCustomizer(String serviceInterfaceClassName) {
+            this.serviceInterfaceClassName = serviceInterfaceClassName;
+        }
+
         @Override
         public Object addingService(ServiceReference<Object> reference) {
-            Object serviceObject = DataHolder.getInstance().getBundleContext().getService(reference);
-            String serviceInterfaceClassName = ((String[]) reference.getProperty(OBJECT_CLASS))[0];
-            String serviceImplClassName = serviceObject.getClass().getName();
+            StartupComponentManager componentManager = startupComponentManager;
+            if (componentManager == null) {
+                return null;
+            }
             Bundle bundle = reference.getBundle();
 
             if (RequiredCapabilityListener.class.getName().equals(serviceInterfaceClassName)) {
+                Object serviceObject = DataHolder.getInstance().getBundleContext().getService(reference);
                 String componentKey = getNonEmptyStringAfterTrim((String) reference.getProperty(COMPONENT_NAME))
                         .orElseThrow(() -> new StartOrderResolverException(COMPONENT_NAME + " value is missing in " +
                                 "the services registered with the key " + serviceInterfaceClassName + ", " +
-                                "implementation class name is " + serviceImplClassName));
+                                "implementation class name is " + serviceObject.getClass().getName()));
 
-                startupComponentManager.addRequiredCapabilityListener(
-                        (RequiredCapabilityListener) serviceObject, componentKey, reference.getBundle());
+                componentManager.addRequiredCapabilityListener(
+                        (RequiredCapabilityListener) serviceObject, componentKey, bundle);
+                return serviceObject;
 
             } else if (CapabilityProvider.class.getName().equals(serviceInterfaceClassName)) {
+                Object serviceObject = DataHolder.getInstance().getBundleContext().getService(reference);
                 String capabilityName = getNonEmptyStringAfterTrim((String) reference.getProperty(CAPABILITY_NAME))
                         .orElseThrow(() -> new StartOrderResolverException(CAPABILITY_NAME + " value is missing in " +
                                 "the services registered with the key " + serviceInterfaceClassName + ", " +
-                                "implementation class name is " + serviceImplClassName));
+                                "implementation class name is " + serviceObject.getClass().getName()));
 
                 CapabilityProviderCapability capabilityProvider = new CapabilityProviderCapability(
                         CapabilityProvider.class.getName(),
@@ -159,35 +215,40 @@ class OSGiServiceCapabilityTracker {
                         capabilityName.trim(),
                         bundle);
 
-                startupComponentManager.addExpectedOrAvailableCapabilityProvider(capabilityProvider);
+                componentManager.addExpectedOrAvailableCapabilityProvider(capabilityProvider);
 
                 CapabilityProvider provider = (CapabilityProvider) serviceObject;
                 IntStream.range(0, provider.getCount())
-                        .forEach(count -> startupComponentManager.addExpectedCapability(
+                        .forEach(count -> componentManager.addExpectedCapability(
                                 new OSGiServiceCapability(
                                         capabilityName.trim(),
                                         Capability.CapabilityType.OSGi_SERVICE,
                                         Capability.CapabilityState.EXPECTED,
                                         bundle,
                                         true)));
+                return serviceObject;
+
             } else {
+                // Only the registration of a required service matters, hence the service object is not retrieved.
                 if (Boolean.TRUE.equals(reference.getProperty(SKIP_CARBON_STARTUP_RESOLVER))) {
-                    logger.debug("Skipping tracking of service {} which implements {}.", serviceImplClassName,
-                                 serviceInterfaceClassName);
+                    logger.debug("Skipping tracking of service {} which implements {}.",
+                            reference.getProperty(Constants.SERVICE_ID), serviceInterfaceClassName);
                     return null;
                 }
 
-                logger.debug("Updating indirect dependencies in components for interface={} via the implementation={}",
-                        serviceInterfaceClassName, serviceImplClassName);
-                startupComponentManager.updateCapability(new OSGiServiceCapability(
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Updating indirect dependencies in components for interface={} via the service={} " +
+                                    "from bundle {}", serviceInterfaceClassName,
+                            reference.getProperty(Constants.SERVICE_ID), bundle.getSymbolicName());
+                }
+                componentManager.updateCapability(new OSGiServiceCapability(
                         serviceInterfaceClassName,
                         Capability.CapabilityType.OSGi_SERVICE,
                         Capability.CapabilityState.AVAILABLE,
                         bundle,
                         false));
+                return reference;
             }
-
-            return serviceObject;
         }
 
         @Override
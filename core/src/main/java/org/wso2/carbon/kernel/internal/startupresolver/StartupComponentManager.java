@@ -20,14 +20,21 @@ package org.wso2.carbon.kernel.internal.startupresolver;
 import org.osgi.framework.Bundle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.internal.metrics.KernelMetrics;
 import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
 import org.wso2.carbon.kernel.internal.startupresolver.beans.CapabilityProviderCapability;
 import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
 import org.wso2.carbon.kernel.startupresolver.RequiredCapabilityListener;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -44,6 +51,29 @@ class StartupComponentManager {
     // Key of this map is the component name
     private Map<String, StartupComponent> startupComponentMap = new HashMap<>();
 
+    // Key of this map is the capability name. Value is the list of components which require that capability.
+    private Map<String, List<StartupComponent>> requiredCapabilityIndex = new HashMap<>();
+
+    // Invoked whenever a capability, a CapabilityProvider or the listener of a component changes.
+    private volatile Consumer<StartupComponent> componentUpdateListener = startupComponent -> {
+    };
+
+    // Invoked whenever a component is satisfied, before its RequiredCapabilityListener is notified.
+    private volatile Consumer<StartupComponent> componentSatisfiedListener = startupComponent -> {
+    };
+
+    // Runs the RequiredCapabilityListener notifications. By default listeners are notified in the calling thread.
+    private Executor notificationExecutor = Runnable::run;
+
+    // Number of RequiredCapabilityListener notifications which are dispatched but not yet completed.
+    private final AtomicInteger runningNotificationCount = new AtomicInteger();
+
+    // Number of components which are not yet satisfied, kept separately so that it can be read from any thread.
+    private final AtomicInteger pendingComponentCount = new AtomicInteger();
+
+    // Records the startup timeline of components, if enabled.
+    private StartupTimeline startupTimeline;
+
     /**
      * Adds the given {@code StartupComponent}.
      * <p>
@@ -75,6 +105,12 @@ class StartupComponentManager {
         }
 
         startupComponentMap.put(componentName, startupComponent);
+        pendingComponentCount.incrementAndGet();
+        if (startupTimeline != null) {
+            startupTimeline.componentDeclared(startupComponent);
+        }
+        startupComponent.getRequiredServices()
+                .forEach(capabilityName -> indexRequiredCapability(capabilityName, startupComponent));
     }
 
     /**
@@ -95,6 +131,7 @@ class StartupComponentManager {
                 componentName, capabilityName);
 
         startupComponent.addRequiredService(capabilityName);
+        indexRequiredCapability(capabilityName, startupComponent);
     }
 
     /**
@@ -128,6 +165,10 @@ class StartupComponentManager {
                     componentName, bundle.getSymbolicName(), bundle.getVersion());
         }
         startupComponent.setListener(listener);
+        if (startupTimeline != null) {
+            startupTimeline.listenerArrived(startupComponent);
+        }
+        componentUpdateListener.accept(startupComponent);
     }
 
     /**
@@ -145,11 +186,11 @@ class StartupComponentManager {
                     capabilityProvider.getBundle().getVersion());
         }
 
-        startupComponentMap.values().stream()
-                .filter(startupComponent ->
-                        startupComponent.isServiceRequired(capabilityProvider.getProvidedCapabilityName()))
-                .forEach(startupComponent ->
-                        startupComponent.addExpectedOrAvailableCapabilityProvider(capabilityProvider));
+        getComponentsRequiring(capabilityProvider.getProvidedCapabilityName())
+                .forEach(startupComponent -> {
+                    startupComponent.addExpectedOrAvailableCapabilityProvider(capabilityProvider);
+                    componentUpdateListener.accept(startupComponent);
+                });
     }
 
     /**
@@ -161,9 +202,7 @@ class StartupComponentManager {
      * @param capability {@code Capability} instance
      */
     void addExpectedCapability(Capability capability) {
-        startupComponentMap.values()
-                .stream()
-                .filter(startupComponent -> startupComponent.isServiceRequired(capability.getName()))
+        getComponentsRequiring(capability.getName())
                 .forEach(startupComponent -> {
 
                     if (startupComponent.isSatisfied()) {
@@ -189,6 +228,7 @@ class StartupComponentManager {
                                 startupComponent.getName());
                     }
                     startupComponent.addExpectedCapability(new Capability(capability));
+                    componentUpdateListener.accept(startupComponent);
                 });
 
     }
@@ -199,9 +239,7 @@ class StartupComponentManager {
      * @param capability the capability to be updated.
      */
     void updateCapability(Capability capability) {
-        startupComponentMap.values()
-                .stream()
-                .filter(startupComponent -> startupComponent.isServiceRequired(capability.getName()))
+        getComponentsRequiring(capability.getName())
                 .forEach(startupComponent -> {
                     if (startupComponent.isSatisfied()) {
                         logger.warn("You are trying to add an {} capability {} from bundle({}:{}) to an already " +
@@ -218,9 +256,150 @@ class StartupComponentManager {
                                     startupComponent.getBundle().getVersion());
                     }
                     startupComponent.updateCapability(capability);
+                    if (startupTimeline != null && capability.getState() == Capability.CapabilityState.AVAILABLE) {
+                        startupTimeline.capabilityAvailable(startupComponent, capability.getName(),
+                                capability.getBundle());
+                    }
+                    componentUpdateListener.accept(startupComponent);
                 });
     }
 
+    /**
+     * Updates the available count of the given OSGi service in the specified component, with the count reported to
+     * the {@code StartupServiceCache}.
+     *
+     * @param componentName name of the component which reported the service.
+     * @param interfaceName name of the OSGi service interface.
+     */
+    void updateAvailableService(String componentName, String interfaceName) {
+        StartupComponent startupComponent = startupComponentMap.get(componentName);
+        if (startupComponent == null) {
+            return;
+        }
+
+        boolean available = startupComponent.updateAvailableCount(interfaceName,
+                StartupServiceCache.getInstance().getAvailableServiceCount(componentName, interfaceName));
+        // The reports do not tell the provider bundle, hence only the report which completes the expected count is
+        // recorded, unless a provider of the capability is already recorded.
+        if (available && startupTimeline != null) {
+            startupTimeline.capabilityAvailable(startupComponent, interfaceName, null);
+        }
+        componentUpdateListener.accept(startupComponent);
+    }
+
+    /**
+     * Loads the available counts of all the components from the {@code StartupServiceCache}. This covers the
+     * services reported before the components were added to this manager.
+     */
+    void loadAvailableServices() {
+        StartupServiceCache serviceCache = StartupServiceCache.getInstance();
+        startupComponentMap.values().forEach(startupComponent ->
+                serviceCache.getAvailableService(startupComponent.getName())
+                        .forEach(startupComponent::updateAvailableCount));
+    }
+
+    /**
+     * Returns the {@code StartupComponent}s which require the given capability.
+     *
+     * @param capabilityName name of the capability.
+     * @return an unmodifiable list of components which require the capability.
+     */
+    List<StartupComponent> getComponentsRequiring(String capabilityName) {
+        List<StartupComponent> startupComponents = requiredCapabilityIndex.get(capabilityName);
+        if (startupComponents == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(startupComponents);
+    }
+
+    /**
+     * Sets the listener which is invoked whenever a capability, a {@code CapabilityProvider} or the
+     * {@code RequiredCapabilityListener} of a {@code StartupComponent} changes.
+     *
+     * @param componentUpdateListener the listener to be invoked with the changed {@code StartupComponent}.
+     */
+    void setComponentUpdateListener(Consumer<StartupComponent> componentUpdateListener) {
+        this.componentUpdateListener = componentUpdateListener;
+    }
+
+    /**
+     * Sets the listener which is invoked whenever a {@code StartupComponent} is satisfied, i.e. when none of its
+     * required capabilities are awaited anymore.
+     *
+     * @param componentSatisfiedListener the listener to be invoked with the satisfied {@code StartupComponent}.
+     */
+    void setComponentSatisfiedListener(Consumer<StartupComponent> componentSatisfiedListener) {
+        this.componentSatisfiedListener = componentSatisfiedListener;
+    }
+
+    /**
+     * Sets the executor which runs the {@code RequiredCapabilityListener} notifications. Each satisfied component
+     * is marked as satisfied before its notification is dispatched, hence its listener is notified only once.
+     *
+     * @param notificationExecutor the executor which invokes the listeners.
+     */
+    void setNotificationExecutor(Executor notificationExecutor) {
+        this.notificationExecutor = notificationExecutor;
+    }
+
+    /**
+     * Sets the {@code StartupTimeline} which records the events of the startup components. This should be set before
+     * adding any startup component.
+     *
+     * @param startupTimeline the timeline to be recorded.
+     */
+    void setStartupTimeline(StartupTimeline startupTimeline) {
+        this.startupTimeline = startupTimeline;
+    }
+
+    /**
+     * Returns 'true' if there are {@code RequiredCapabilityListener} notifications which are not yet completed.
+     *
+     * @return 'true' if some listeners are still being notified.
+     */
+    boolean hasRunningNotifications() {
+        return runningNotificationCount.get() > 0;
+    }
+
+    /**
+     * Returns the {@code StartupComponent} with the given name.
+     *
+     * @param componentName name of the startup component.
+     * @return the {@code StartupComponent}, or {@code null} if there is no such component.
+     */
+    StartupComponent getComponent(String componentName) {
+        return startupComponentMap.get(componentName);
+    }
+
+    /**
+     * Returns 'true' if there is at least one {@code StartupComponent} in the pending state. This reads the pending
+     * component count, hence it does not visit the components.
+     *
+     * @return 'true' if there are pending components.
+     */
+    boolean hasPendingComponents() {
+        return pendingComponentCount.get() > 0;
+    }
+
+    /**
+     * Returns the number of {@code StartupComponent}s which are not yet satisfied. Unlike the other methods, this can
+     * be called from any thread.
+     *
+     * @return the pending component count.
+     */
+    int getPendingComponentCount() {
+        return pendingComponentCount.get();
+    }
+
+    /**
+     * Returns the number of RequiredCapabilityListener notifications which are dispatched but not yet completed.
+     *
+     * @return the running notification count.
+     */
+    int getRunningNotificationCount() {
+        return runningNotificationCount.get();
+    }
+
     /**
      * Returns a list of {@code StartupComponent}s based on the given {@code Predicate}.
      * <p>
@@ -248,26 +427,86 @@ class StartupComponentManager {
     }
 
     void notifySatisfiableComponents() {
-        getComponents(StartupComponent::isSatisfiable)
-                .forEach(startupComponent -> {
+        getComponents(StartupComponent::isSatisfiable).forEach(this::notifyComponent);
+    }
 
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("Notifying RequiredCapabilityListener of component {} from bundle({}:{}) " +
-                                        "since all the required capabilities are available",
-                                startupComponent.getName(),
-                                startupComponent.getBundle().getSymbolicName(),
-                                startupComponent.getBundle().getVersion());
-                    }
+    /**
+     * Notifies the {@code RequiredCapabilityListener} of the given component, if the component can be satisfied.
+     *
+     * @param startupComponent the component to be checked.
+     */
+    void notifyIfSatisfiable(StartupComponent startupComponent) {
+        if (startupComponent.isSatisfiable()) {
+            notifyComponent(startupComponent);
+        }
+    }
 
-                    startupComponent.setSatisfied(true);
-                    RequiredCapabilityListener capabilityListener = startupComponent.getListener();
+    /**
+     * Adds the given component to the list of components which require the given capability, so that capability
+     * updates only visit the interested components.
+     *
+     * @param capabilityName   name of the required capability.
+     * @param startupComponent the component which requires the capability.
+     */
+    private void indexRequiredCapability(String capabilityName, StartupComponent startupComponent) {
+        List<StartupComponent> startupComponents =
+                requiredCapabilityIndex.computeIfAbsent(capabilityName, key -> new ArrayList<>());
+        if (!startupComponents.contains(startupComponent)) {
+            startupComponents.add(startupComponent);
+        }
+    }
 
-                    try {
-                        capabilityListener.onAllRequiredCapabilitiesAvailable();
-                    } catch (RuntimeException e) {
-                        logger.error("Runtime Exception occurred while calling onAllRequiredCapabilitiesAvailable of "
-                                + "component " + startupComponent.getName(), e);
-                    }
-                });
+    private void notifyComponent(StartupComponent startupComponent) {
+        startupComponent.setSatisfied(true);
+        pendingComponentCount.decrementAndGet();
+        runningNotificationCount.incrementAndGet();
+        componentSatisfiedListener.accept(startupComponent);
+
+        try {
+            notificationExecutor.execute(() -> {
+                try {
+                    invokeListener(startupComponent);
+                } finally {
+                    runningNotificationCount.decrementAndGet();
+                    componentUpdateListener.accept(startupComponent);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Notification executor rejected the RequiredCapabilityListener of component {}, " +
+                    "therefore notifying it in the current thread", startupComponent.getName());
+            try {
+                invokeListener(startupComponent);
+            } finally {
+                runningNotificationCount.decrementAndGet();
+            }
+        }
+    }
+
+    private void invokeListener(StartupComponent startupComponent) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Notifying RequiredCapabilityListener of component {} from bundle({}:{}) " +
+                            "since all the required capabilities are available",
+                    startupComponent.getName(),
+                    startupComponent.getBundle().getSymbolicName(),
+                    startupComponent.getBundle().getVersion());
+        }
+
+        RequiredCapabilityListener capabilityListener = startupComponent.getListener();
+        if (startupTimeline != null) {
+            startupTimeline.notificationStarted(startupComponent);
+        }
+
+        long startTime = System.nanoTime();
+        try {
+            capabilityListener.onAllRequiredCapabilitiesAvailable();
+        } catch (RuntimeException e) {
+            logger.error("Runtime Exception occurred while calling onAllRequiredCapabilitiesAvailable of "
+                    + "component " + startupComponent.getName(), e);
+        } finally {
+            KernelMetrics.getInstance().recordListenerNotification(System.nanoTime() - startTime);
+            if (startupTimeline != null) {
+                startupTimeline.notificationCompleted(startupComponent);
+            }
+        }
     }
 }
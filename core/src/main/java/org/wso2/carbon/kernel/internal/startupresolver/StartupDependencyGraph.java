@@ -0,0 +1,405 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.CapabilityProviderCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.getBundleName;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.toJsonString;
+
+/**
+ * Dependency graph of the pending {@code StartupComponent}s, which explains why the startup does not complete.
+ * <p>
+ * A component depends on another pending component if it waits for a capability, or for the
+ * {@code CapabilityProvider} of a capability, which is expected from the bundle of that component. Such a capability
+ * is usually registered by the {@code RequiredCapabilityListener} of that component, hence an edge means that the
+ * component may be waiting for the other one. Waits which no pending component can end, e.g. a missing
+ * {@code RequiredCapabilityListener} or a capability expected from a bundle without pending components, are recorded
+ * as blockers of the waiting component.
+ * <p>
+ * Cycles are detected by computing the strongly connected components of the graph with Tarjan's algorithm. The
+ * components in cycles and the components with blockers form the minimal blocking set. All the other pending
+ * components wait for them, directly or transitively, and become satisfied once the blocking set is resolved.
+ *
+ * @since 5.3.1
+ */
+class StartupDependencyGraph {
+
+    static final String DOT_FILE_NAME = "startup-dependency-graph.dot";
+    static final String JSON_FILE_NAME = "startup-dependency-graph.json";
+
+    // Key of this map is the component name. Nodes are sorted by name, so that the output is stable.
+    private final Map<String, Node> nodeMap = new TreeMap<>();
+
+    private final List<List<Node>> cycles = new ArrayList<>();
+
+    private StartupDependencyGraph() {
+    }
+
+    /**
+     * Builds the dependency graph of the given pending components and detects the cycles in it.
+     *
+     * @param pendingComponents the components which are not yet satisfied.
+     * @return the dependency graph.
+     */
+    static StartupDependencyGraph build(List<StartupComponent> pendingComponents) {
+        StartupDependencyGraph dependencyGraph = new StartupDependencyGraph();
+        Map<Bundle, List<Node>> bundleNodeMap = new HashMap<>();
+        for (StartupComponent startupComponent : pendingComponents) {
+            Node node = new Node(startupComponent.getName(), getBundleName(startupComponent.getBundle()));
+            dependencyGraph.nodeMap.put(node.name, node);
+            bundleNodeMap.computeIfAbsent(startupComponent.getBundle(), bundle -> new ArrayList<>()).add(node);
+        }
+
+        for (StartupComponent startupComponent : pendingComponents) {
+            Node node = dependencyGraph.nodeMap.get(startupComponent.getName());
+            if (startupComponent.getListener() == null) {
+                node.blockers.add("RequiredCapabilityListener OSGi service with componentName " + node.name);
+            }
+
+            for (Capability capability : startupComponent.getPendingCapabilities()) {
+                String description = "capability " + capability.getName() + " from bundle(" +
+                        getBundleName(capability.getBundle()) + ")";
+                node.addDependency(capability.getState() == Capability.CapabilityState.EXPECTED ?
+                        bundleNodeMap.get(capability.getBundle()) : null, capability.getName(), description);
+            }
+
+            for (CapabilityProviderCapability capabilityProvider : startupComponent.getPendingCapabilityProviders()) {
+                String label = "CapabilityProvider(" + capabilityProvider.getProvidedCapabilityName() + ")";
+                String description = label + " from bundle(" + getBundleName(capabilityProvider.getBundle()) + ")";
+                if (capabilityProvider.getState() != Capability.CapabilityState.EXPECTED) {
+                    description = "declaration of the registered " + description;
+                }
+                node.addDependency(capabilityProvider.getState() == Capability.CapabilityState.EXPECTED ?
+                        bundleNodeMap.get(capabilityProvider.getBundle()) : null, label, description);
+            }
+        }
+
+        dependencyGraph.findCycles();
+        return dependencyGraph;
+    }
+
+    /**
+     * Returns the cycles of the graph. Each cycle is a path which starts and ends with the same component.
+     *
+     * @return the component names of each cycle.
+     */
+    List<List<String>> getCycles() {
+        return cycles.stream()
+                .map(cycle -> cycle.stream().map(node -> node.name).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the components which do not become satisfied until something outside the graph changes, i.e. the
+     * components in cycles and the components with blockers.
+     *
+     * @return the names of the blocking components, sorted by name.
+     */
+    List<String> getMinimalBlockingSet() {
+        return nodeMap.values().stream()
+                .filter(Node::isBlocking)
+                .map(node -> node.name)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns a description of the blocking components, and of what each of them waits for.
+     *
+     * @return a multi-line description, or an empty string if no component is blocking.
+     */
+    String getBlockingSummary() {
+        List<String> minimalBlockingSet = getMinimalBlockingSet();
+        if (minimalBlockingSet.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder summary = new StringBuilder();
+        summary.append("Startup is blocked by ").append(minimalBlockingSet.size()).append(" of ")
+                .append(nodeMap.size()).append(" pending startup components.");
+        for (List<Node> cycle : cycles) {
+            summary.append("\n  Dependency cycle: ").append(cycle.stream()
+                    .map(node -> node.name + "(" + node.bundleName + ")")
+                    .collect(Collectors.joining(" -> ")));
+        }
+        for (Node node : nodeMap.values()) {
+            if (!node.blockers.isEmpty()) {
+                summary.append("\n  ").append(node.name).append("(").append(node.bundleName)
+                        .append(") is waiting for ").append(String.join(", ", node.blockers));
+            }
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Returns the graph in the Graphviz DOT format. Blocking components are shown in red and their blockers are
+     * shown as boxes.
+     *
+     * @return the DOT document.
+     */
+    String toDot() {
+        StringBuilder dot = new StringBuilder(1024);
+        dot.append("digraph \"startup-dependencies\" {\n  rankdir=LR;\n  node [shape=ellipse];\n");
+        for (Node node : nodeMap.values()) {
+            dot.append("  ").append(toJsonString(node.name))
+                    .append(" [label=").append(toJsonString(node.name + "\n" + node.bundleName))
+                    .append(node.isBlocking() ? ", color=red" : "").append("];\n");
+            for (Map.Entry<Node, Set<String>> dependency : node.dependencies.entrySet()) {
+                dot.append("  ").append(toJsonString(node.name)).append(" -> ")
+                        .append(toJsonString(dependency.getKey().name))
+                        .append(" [label=").append(toJsonString(String.join("\n", dependency.getValue())))
+                        .append("];\n");
+            }
+            for (int i = 0; i < node.blockers.size(); i++) {
+                String blockerId = toJsonString(node.name + "#blocker" + i);
+                dot.append("  ").append(blockerId).append(" [shape=box, style=dashed, label=")
+                        .append(toJsonString(node.blockers.get(i))).append("];\n");
+                dot.append("  ").append(toJsonString(node.name)).append(" -> ").append(blockerId)
+                        .append(" [style=dashed];\n");
+            }
+        }
+        dot.append("}\n");
+        return dot.toString();
+    }
+
+    /**
+     * Returns the graph, its cycles and the minimal blocking set as a JSON document.
+     *
+     * @return the JSON document.
+     */
+    String toJson() {
+        StringBuilder json = new StringBuilder(1024);
+        json.append("{\n  \"components\": [");
+        String separator = "";
+        for (Node node : nodeMap.values()) {
+            json.append(separator).append("\n    {\"name\": ").append(toJsonString(node.name))
+                    .append(", \"bundle\": ").append(toJsonString(node.bundleName))
+                    .append(", \"blocking\": ").append(node.isBlocking())
+                    .append(", \"waitingFor\": [");
+            String dependencySeparator = "";
+            for (Map.Entry<Node, Set<String>> dependency : node.dependencies.entrySet()) {
+                json.append(dependencySeparator).append("{\"component\": ")
+                        .append(toJsonString(dependency.getKey().name)).append(", \"capabilities\": ");
+                appendJsonArray(json, dependency.getValue());
+                json.append("}");
+                dependencySeparator = ", ";
+            }
+            json.append("], \"blockers\": ");
+            appendJsonArray(json, node.blockers);
+            json.append("}");
+            separator = ",";
+        }
+        json.append("\n  ],\n  \"cycles\": [");
+        separator = "";
+        for (List<String> cycle : getCycles()) {
+            json.append(separator).append("\n    ");
+            appendJsonArray(json, cycle);
+            separator = ",";
+        }
+        json.append("\n  ],\n  \"minimalBlockingSet\": ");
+        appendJsonArray(json, getMinimalBlockingSet());
+        json.append("\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * Writes the DOT and the JSON representations of the graph to the given directory.
+     *
+     * @param directory the directory to which the files are written.
+     * @throws IOException if the files cannot be written.
+     */
+    void export(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Files.write(directory.resolve(DOT_FILE_NAME), toDot().getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve(JSON_FILE_NAME), toJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Computes the strongly connected components with an iterative version of Tarjan's algorithm, so that long
+     * dependency chains do not overflow the stack, and records a path through each cyclic one.
+     */
+    private void findCycles() {
+        int index = 0;
+        Deque<Node> nodeStack = new ArrayDeque<>();
+        Deque<Iterator<Node>> callStack = new ArrayDeque<>();
+        Deque<Node> callNodes = new ArrayDeque<>();
+
+        for (Node root : nodeMap.values()) {
+            if (root.index >= 0) {
+                continue;
+            }
+            root.index = root.lowLink = index++;
+            nodeStack.push(root);
+            root.onStack = true;
+            callNodes.push(root);
+            callStack.push(root.dependencies.keySet().iterator());
+
+            while (!callStack.isEmpty()) {
+                Node node = callNodes.peek();
+                Iterator<Node> dependencies = callStack.peek();
+                if (dependencies.hasNext()) {
+                    Node dependency = dependencies.next();
+                    if (dependency.index < 0) {
+                        dependency.index = dependency.lowLink = index++;
+                        nodeStack.push(dependency);
+                        dependency.onStack = true;
+                        callNodes.push(dependency);
+                        callStack.push(dependency.dependencies.keySet().iterator());
+                    } else if (dependency.onStack) {
+                        node.lowLink = Math.min(node.lowLink, dependency.index);
+                    }
+                    continue;
+                }
+
+                callNodes.pop();
+                callStack.pop();
+                if (!callNodes.isEmpty()) {
+                    Node parent = callNodes.peek();
+                    parent.lowLink = Math.min(parent.lowLink, node.lowLink);
+                }
+                if (node.lowLink == node.index) {
+                    List<Node> stronglyConnectedComponent = new ArrayList<>();
+                    Node member;
+                    do {
+                        member = nodeStack.pop();
+                        member.onStack = false;
+                        stronglyConnectedComponent.add(member);
+                    } while (member != node);
+
+                    if (stronglyConnectedComponent.size() > 1 || node.dependencies.containsKey(node)) {
+                        stronglyConnectedComponent.forEach(cycleMember -> cycleMember.inCycle = true);
+                        cycles.add(getCyclePath(node, stronglyConnectedComponent));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the shortest path from the given node back to itself, through the given strongly connected component.
+     */
+    private static List<Node> getCyclePath(Node start, List<Node> stronglyConnectedComponent) {
+        Set<Node> cycleMembers = new HashSet<>(stronglyConnectedComponent);
+        Map<Node, Node> previousNodes = new HashMap<>();
+        Deque<Node> queue = new ArrayDeque<>();
+        queue.add(start);
+        while (!queue.isEmpty() && !previousNodes.containsKey(start)) {
+            Node node = queue.poll();
+            for (Node dependency : node.dependencies.keySet()) {
+                if (cycleMembers.contains(dependency) && !previousNodes.containsKey(dependency)) {
+                    previousNodes.put(dependency, node);
+                    queue.add(dependency);
+                }
+            }
+        }
+
+        List<Node> path = new ArrayList<>();
+        Node node = start;
+        do {
+            path.add(node);
+            node = previousNodes.get(node);
+        } while (node != start);
+        path.add(start);
+        Collections.reverse(path);
+        return path;
+    }
+
+    private static void appendJsonArray(StringBuilder json, Iterable<String> values) {
+        json.append('[');
+        String separator = "";
+        for (String value : values) {
+            json.append(separator).append(toJsonString(value));
+            separator = ", ";
+        }
+        json.append(']');
+    }
+
+    /**
+     * A pending startup component in the dependency graph.
+     */
+    private static class Node implements Comparable<Node> {
+        private final String name;
+        private final String bundleName;
+
+        // Key of this map is the component waited for. Value is the set of capabilities waited for.
+        private final Map<Node, Set<String>> dependencies = new TreeMap<>();
+        private final List<String> blockers = new ArrayList<>();
+
+        private boolean inCycle;
+        private int index = -1;
+        private int lowLink;
+        private boolean onStack;
+
+        Node(String name, String bundleName) {
+            this.name = name;
+            this.bundleName = bundleName;
+        }
+
+        /**
+         * Adds a dependency on each of the given nodes, or a blocker if there are none.
+         */
+        private void addDependency(List<Node> providerNodes, String label, String description) {
+            if (providerNodes == null) {
+                if (!blockers.contains(description)) {
+                    blockers.add(description);
+                }
+                return;
+            }
+            providerNodes.forEach(providerNode ->
+                    dependencies.computeIfAbsent(providerNode, node -> new TreeSet<>()).add(label));
+        }
+
+        private boolean isBlocking() {
+            return inCycle || !blockers.isEmpty();
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            return name.compareTo(other.name);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Node && name.equals(((Node) obj).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+}
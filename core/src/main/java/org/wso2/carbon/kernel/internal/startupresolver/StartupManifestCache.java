@@ -0,0 +1,280 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.startupresolver.manifest.ManifestElement;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.CARBON_COMPONENT_HEADER;
+
+/**
+ * Persists the parsed Carbon-Component manifest headers of all the bundles between server startups.
+ * <p>
+ * Entries are keyed by the bundle id and the last modified time of the bundle. On a warm startup, the manifest
+ * elements of an unchanged bundle are restored from the cache file, without reading or parsing its manifest headers.
+ * Only the bundles which are installed or updated since the previous startup are parsed again. Bundles without the
+ * Carbon-Component header are cached as well, so that their headers are not read either.
+ *
+ * @since 5.3.1
+ */
+class StartupManifestCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupManifestCache.class);
+
+    static final String CACHE_FILE_NAME = "startup-manifest.cache";
+
+    private static final int MAGIC_NUMBER = 0x57534d43;
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path cacheFile;
+
+    /**
+     * Entries restored from the cache file, keyed by the bundle id.
+     */
+    private final Map<Long, CachedBundle> previousBundleMap;
+
+    /**
+     * Entries of the bundles processed during this startup, keyed by the bundle id.
+     */
+    private final Map<Long, CachedBundle> currentBundleMap = new ConcurrentHashMap<>();
+
+    private volatile boolean modified;
+
+    private StartupManifestCache(Path cacheFile, Map<Long, CachedBundle> previousBundleMap) {
+        this.cacheFile = cacheFile;
+        this.previousBundleMap = previousBundleMap;
+    }
+
+    /**
+     * Loads the cache from the given file. An empty cache is returned if the file does not exist or if it cannot be
+     * read, in which case all the bundles are parsed again.
+     *
+     * @param cacheFile the file to which the cache is persisted
+     * @return the loaded {@code StartupManifestCache}
+     */
+    static StartupManifestCache load(Path cacheFile) {
+        Map<Long, CachedBundle> bundleMap = new ConcurrentHashMap<>();
+        if (Files.exists(cacheFile)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+                readBundles(in, bundleMap);
+            } catch (IOException e) {
+                logger.warn("Ignoring the startup manifest cache file " + cacheFile + ". " + e.getMessage());
+                bundleMap.clear();
+            }
+        }
+        return new StartupManifestCache(cacheFile, bundleMap);
+    }
+
+    /**
+     * Returns the manifest elements in the Carbon-Component header of the given bundle. The cached manifest elements
+     * are returned if the bundle is not modified since they were cached, otherwise the header is parsed again.
+     *
+     * @param bundle the bundle from which the header value should be retrieved
+     * @return the list of {@code ManifestElement} instances, which is empty if the header is not present
+     */
+    List<ManifestElement> getManifestElements(Bundle bundle) {
+        long bundleId = bundle.getBundleId();
+        long lastModified = bundle.getLastModified();
+
+        CachedBundle cachedBundle = previousBundleMap.get(bundleId);
+        if (cachedBundle == null || cachedBundle.lastModified != lastModified) {
+            List<ManifestElement> manifestElements = StartupOrderResolverUtils.isCarbonComponentHeaderPresent(bundle) ?
+                    StartupOrderResolverUtils.getManifestElements(bundle) : Collections.emptyList();
+            cachedBundle = CachedBundle.fromManifestElements(lastModified, manifestElements);
+            modified = true;
+
+            if (logger.isDebugEnabled()) {
+                logger.debug("Parsed the {} header of bundle({}:{})", CARBON_COMPONENT_HEADER,
+                        bundle.getSymbolicName(), bundle.getVersion());
+            }
+        }
+        currentBundleMap.put(bundleId, cachedBundle);
+        return cachedBundle.toManifestElements(bundle);
+    }
+
+    /**
+     * Writes the entries of the bundles processed during this startup to the cache file, if any of them is changed.
+     * Entries of the bundles which are uninstalled since the previous startup are dropped.
+     */
+    void save() {
+        if (!modified && currentBundleMap.keySet().equals(previousBundleMap.keySet())) {
+            return;
+        }
+
+        Path tempFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(tempFile)))) {
+                writeBundles(out, currentBundleMap);
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            logger.debug("Saved the startup manifest cache to {}", cacheFile);
+        } catch (IOException e) {
+            logger.warn("Failed to save the startup manifest cache to " + cacheFile, e);
+            try {
+                Files.deleteIfExists(tempFile);
+                Files.deleteIfExists(cacheFile);
+            } catch (IOException ignored) {
+                // The cache file is read again only if it is complete.
+            }
+        }
+    }
+
+    private static void readBundles(DataInputStream in, Map<Long, CachedBundle> bundleMap) throws IOException {
+        if (in.readInt() != MAGIC_NUMBER || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported file format.");
+        }
+
+        int bundleCount = in.readInt();
+        for (int i = 0; i < bundleCount; i++) {
+            long bundleId = in.readLong();
+            long lastModified = in.readLong();
+            int elementCount = in.readInt();
+            List<CachedElement> elements = new ArrayList<>(elementCount);
+            for (int j = 0; j < elementCount; j++) {
+                String value = in.readUTF();
+                elements.add(new CachedElement(value, readValues(in), readValues(in)));
+            }
+            bundleMap.put(bundleId, new CachedBundle(lastModified, elements));
+        }
+    }
+
+    private static Map<String, List<String>> readValues(DataInputStream in) throws IOException {
+        int keyCount = in.readInt();
+        Map<String, List<String>> valueMap = new LinkedHashMap<>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            String key = in.readUTF();
+            int valueCount = in.readInt();
+            List<String> values = new ArrayList<>(valueCount);
+            for (int j = 0; j < valueCount; j++) {
+                values.add(in.readUTF());
+            }
+            valueMap.put(key, values);
+        }
+        return valueMap;
+    }
+
+    private static void writeBundles(DataOutputStream out, Map<Long, CachedBundle> bundleMap) throws IOException {
+        out.writeInt(MAGIC_NUMBER);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(bundleMap.size());
+        for (Map.Entry<Long, CachedBundle> entry : bundleMap.entrySet()) {
+            CachedBundle cachedBundle = entry.getValue();
+            out.writeLong(entry.getKey());
+            out.writeLong(cachedBundle.lastModified);
+            out.writeInt(cachedBundle.elements.size());
+            for (CachedElement element : cachedBundle.elements) {
+                out.writeUTF(element.value);
+                writeValues(out, element.attributes);
+                writeValues(out, element.directives);
+            }
+        }
+    }
+
+    private static void writeValues(DataOutputStream out, Map<String, List<String>> valueMap) throws IOException {
+        out.writeInt(valueMap.size());
+        for (Map.Entry<String, List<String>> entry : valueMap.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (String value : entry.getValue()) {
+                out.writeUTF(value);
+            }
+        }
+    }
+
+    /**
+     * Cached manifest elements of a single bundle.
+     */
+    private static class CachedBundle {
+        private final long lastModified;
+        private final List<CachedElement> elements;
+
+        private CachedBundle(long lastModified, List<CachedElement> elements) {
+            this.lastModified = lastModified;
+            this.elements = elements;
+        }
+
+        private static CachedBundle fromManifestElements(long lastModified, List<ManifestElement> manifestElements) {
+            List<CachedElement> elements = new ArrayList<>(manifestElements.size());
+            for (ManifestElement manifestElement : manifestElements) {
+                elements.add(new CachedElement(manifestElement.getValue(),
+                        getValues(manifestElement.getKeys(), manifestElement::getAttributes),
+                        getValues(manifestElement.getDirectiveKeys(), manifestElement::getDirectives)));
+            }
+            return new CachedBundle(lastModified, elements);
+        }
+
+        private List<ManifestElement> toManifestElements(Bundle bundle) {
+            List<ManifestElement> manifestElements = new ArrayList<>(elements.size());
+            for (CachedElement element : elements) {
+                manifestElements.add(ManifestElement.create(CARBON_COMPONENT_HEADER, element.value,
+                        element.attributes, element.directives, bundle));
+            }
+            return manifestElements;
+        }
+
+        private static Map<String, List<String>> getValues(Enumeration<String> keys,
+                                                           Function<String, String[]> values) {
+            if (keys == null) {
+                return Collections.emptyMap();
+            }
+            Map<String, List<String>> valueMap = new LinkedHashMap<>();
+            while (keys.hasMoreElements()) {
+                String key = keys.nextElement();
+                List<String> valueList = new ArrayList<>();
+                Collections.addAll(valueList, values.apply(key));
+                valueMap.put(key, valueList);
+            }
+            return valueMap;
+        }
+    }
+
+    /**
+     * Value, attributes and directives of a single cached manifest element.
+     */
+    private static class CachedElement {
+        private final String value;
+        private final Map<String, List<String>> attributes;
+        private final Map<String, List<String>> directives;
+
+        private CachedElement(String value, Map<String, List<String>> attributes,
+                              Map<String, List<String>> directives) {
+            this.value = value;
+            this.attributes = attributes;
+            this.directives = directives;
+        }
+    }
+}
@@ -26,17 +26,30 @@ import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.kernel.CarbonRuntime;
+import org.wso2.carbon.kernel.Constants;
 import org.wso2.carbon.kernel.config.model.CarbonConfiguration;
 import org.wso2.carbon.kernel.internal.CarbonStartupHandler;
+import org.wso2.carbon.kernel.internal.metrics.KernelMetrics;
 import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
 import org.wso2.carbon.kernel.startupresolver.manifest.ManifestElement;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.capabilityProviderElementPredicate;
@@ -74,9 +87,21 @@ public class StartupOrderResolver {
 
     private OSGiServiceCapabilityTracker osgiServiceTracker;
 
-    private Timer capabilityListenerTimer = new Timer();
+    // Runs the timer tasks and the component updates of the resolver. This is created only if there are startup
+    // components, and shut down as soon as the startup is completed.
+    private volatile ScheduledExecutorService resolverExecutor;
 
-    private Timer pendingCapabilityTimer = new Timer();
+    private ExecutorService listenerNotificationExecutor;
+
+    private String serverName;
+
+    private StartupTimeline startupTimeline;
+
+    // The last reported dependency graph of the pending components, so that an unchanged graph is reported only once.
+    private String reportedDependencyGraph;
+
+    // Time at which the resolver is activated, to record the duration of the resolver boot phase.
+    private long resolverStartTime;
 
     private CarbonRuntime carbonRuntime;
 
@@ -84,7 +109,7 @@ public class StartupOrderResolver {
      * Process Provide-Capability headers and populate a counter which keep all the expected service counts. Register
      * timers to track the service availability as well as pending service registrations.
      * <p>
-     * If there are no RequireCapabilityListener instances then this method returns.
+     * If there are no startup components then the startup is completed immediately, without starting any thread.
      *
      * @param bundleContext OSGi bundle context of the Carbon.core bundle
      * @throws Exception if the service component activation fails
@@ -93,19 +118,74 @@ public class StartupOrderResolver {
     public void start(BundleContext bundleContext) throws Exception {
         try {
             logger.debug("Initialize - Startup Order Resolver.");
+            resolverStartTime = System.nanoTime();
+            serverName = carbonRuntime.getConfiguration().getName();
+
+            if (carbonRuntime.getConfiguration().getStartupResolverConfig().isStartupTimelineEnabled()) {
+                startupTimeline = new StartupTimeline();
+                startupComponentManager.setStartupTimeline(startupTimeline);
+            }
 
             // 1) Process OSGi manifest headers to calculate the expected list required capabilities.
-            processManifestHeaders(Arrays.asList(bundleContext.getBundles()));
+            StartupManifestCache manifestCache = null;
+            if (carbonRuntime.getConfiguration().getStartupResolverConfig().isStartupManifestCacheEnabled()) {
+                // The cache file is kept in the persistent storage area of this bundle, which is located in the OSGi
+                // configuration area. Hence it is discarded along with the configuration area.
+                File cacheFile = bundleContext.getDataFile(StartupManifestCache.CACHE_FILE_NAME);
+                if (cacheFile != null) {
+                    manifestCache = StartupManifestCache.load(cacheFile.toPath());
+                }
+            }
+            processManifestHeaders(Arrays.asList(bundleContext.getBundles()), manifestCache);
+            StartupComponentManager componentManager = startupComponentManager;
+            KernelMetrics.getInstance().setResolverCounts(componentManager::getPendingComponentCount,
+                    componentManager::getRunningNotificationCount);
+            if (manifestCache != null) {
+                manifestCache.save();
+            }
+
+            if (!startupComponentManager.hasPendingComponents()) {
+                logger.debug("No startup components are declared, therefore completing the startup");
+                completeStartup(serverName);
+                return;
+            }
+            resolverExecutor = createResolverExecutor();
+
+            int listenerNotificationThreads = carbonRuntime.getConfiguration().getStartupResolverConfig()
+                    .getListenerNotificationThreads();
+            if (listenerNotificationThreads > 1) {
+                // Notify independent RequiredCapabilityListeners in parallel.
+                startListenerNotificationExecutor(listenerNotificationThreads);
+            }
+
+            boolean eventDrivenNotification = carbonRuntime.getConfiguration().getStartupResolverConfig()
+                    .isEventDrivenNotification();
+            if (eventDrivenNotification) {
+                // Listen to capability changes before the trackers are opened, so that no update is missed.
+                startCapabilityListenerDispatcher();
+            }
+
+            // Keep the available service counts of the components in sync with the StartupServiceCache. The
+            // listener is installed after the dispatcher, so that the bundle threads reporting the services
+            // dispatch their updates.
+            StartupServiceCache.getInstance().setUpdateListener(startupComponentManager::updateAvailableService);
+            startupComponentManager.loadAvailableServices();
 
             // 2) Register capability trackers to get notified when required capabilities are available.
             startCapabilityTrackers();
 
-            // 3) Schedule a time task to check for startup components with zero pending required capabilities.
-            scheduleCapabilityListenerTimer();
+            // 3) Schedule a time task to check for startup components with zero pending required capabilities,
+            // or evaluate all the components once in the event driven mode, since a component may not be
+            // affected by any further capability change.
+            if (eventDrivenNotification) {
+                dispatchComponentUpdate(null);
+            } else {
+                scheduleCapabilityListenerTask();
+            }
 
             // 4) Start a timer task to track pending capabilities, pending CapabilityProvider services,
             // pending RequiredCapabilityLister services.
-            schedulePendingCapabilityTimerTask();
+            schedulePendingCapabilityTask();
         } catch (Throwable e) {
             logger.error("Error occurred in Startup Order Resolver.", e);
         }
@@ -115,6 +195,13 @@ public class StartupOrderResolver {
     public void stop(BundleContext bundleContext) throws Exception {
         logger.debug("Deactivating startup resolver component available in bundle {}",
                 bundleContext.getBundle().getSymbolicName());
+
+        synchronized (StartupComponentManager.class) {
+            if (startupComponentManager != null) {
+                logger.debug("Startup Order Resolver is deactivated before completing the startup");
+                releaseResources();
+            }
+        }
     }
 
     @Reference(
@@ -142,14 +229,34 @@ public class StartupOrderResolver {
      * Process Provide-Capability headers to get a list of CapabilityProviders and RequiredCapabilityListeners.
      *
      * @param bundleList list of bundles to be scanned for Provide-Capability headers.
+     * @param manifestCache cache of the parsed manifest headers, or {@code null} to parse the headers of all bundles.
      */
-    private void processManifestHeaders(List<Bundle> bundleList) {
+    private void processManifestHeaders(List<Bundle> bundleList, StartupManifestCache manifestCache) {
+        Function<Bundle, List<ManifestElement>> manifestElementReader;
+        if (manifestCache != null) {
+            // Get the ManifestElements of the unchanged bundles from the cache and parse the rest.
+            manifestElementReader = manifestCache::getManifestElements;
+        } else {
+            // Process the Carbon-Component manifest header, if present, and get a list of ManifestElements.
+            manifestElementReader = bundle -> StartupOrderResolverUtils.isCarbonComponentHeaderPresent(bundle) ?
+                    StartupOrderResolverUtils.getManifestElements(bundle) : Collections.emptyList();
+        }
+
+        int manifestScanningThreads = carbonRuntime.getConfiguration().getStartupResolverConfig()
+                .getManifestScanningThreads();
+        List<List<ManifestElement>> manifestElementLists;
+        if (manifestScanningThreads > 1) {
+            // Read the headers concurrently. The lists are still in the bundle order.
+            manifestElementLists = StartupOrderResolverUtils.readManifestElements(bundleList,
+                    manifestElementReader, manifestScanningThreads);
+        } else {
+            manifestElementLists = bundleList.stream()
+                    .map(manifestElementReader)
+                    .collect(Collectors.toList());
+        }
+
         Map<String, List<ManifestElement>> groupedManifestElements =
-                bundleList.stream()
-                        // Filter out all the bundles with the Carbon-Component manifest header.
-                        .filter(StartupOrderResolverUtils::isCarbonComponentHeaderPresent)
-                        // Process filtered manifest headers and get a list of ManifestElements.
-                        .map(StartupOrderResolverUtils::getManifestElements)
+                manifestElementLists.stream()
                         // Merge all the manifest elements lists into a single list.
                         .flatMap(Collection::stream)
                         // Partition all the ManifestElements with the manifest header name.
@@ -171,87 +278,201 @@ public class StartupOrderResolver {
     /**
      * Schedule a timer task to monitor satisfiable CapabilityListeners.
      */
-    private void scheduleCapabilityListenerTimer() {
+    private void scheduleCapabilityListenerTask() {
         CarbonConfiguration carbonConfiguration = carbonRuntime.getConfiguration();
         long capabilityListenerTimerDelay = carbonConfiguration.getStartupResolverConfig().
                 getCapabilityListenerTimer().getDelay();
         long capabilityListenerTimerPeriod = carbonConfiguration.getStartupResolverConfig().
                 getCapabilityListenerTimer().getPeriod();
 
-        capabilityListenerTimer.scheduleAtFixedRate(new TimerTask() {
+        resolverExecutor.scheduleAtFixedRate(() -> {
+            synchronized (StartupComponentManager.class) {
+                if (startupComponentManager == null) {
+                    return;
+                }
 
-            @Override
-            public void run() {
-                synchronized (StartupComponentManager.class) {
-                    if (startupComponentManager.getComponents(StartupComponent::isPending).size() == 0) {
-                        startupComponentManager.notifySatisfiableComponents();
+                if (!startupComponentManager.hasPendingComponents() &&
+                        !startupComponentManager.hasRunningNotifications()) {
+                    logger.debug("All the StartupComponents are satisfied. Completing the startup");
+                    completeStartup(serverName);
+                    return;
+                }
+
+                startupComponentManager.notifySatisfiableComponents();
+            }
+        }, capabilityListenerTimerDelay, capabilityListenerTimerPeriod, TimeUnit.MILLISECONDS);
+    }
 
-                        logger.debug("All the StartupComponents are satisfied. Cancelling the capabilityListenerTimer");
+    /**
+     * Creates the executor which runs the timer tasks of the resolver, and evaluates the component updates in the
+     * event driven mode.
+     *
+     * @return a single threaded executor, which drops the queued tasks when it is shut down.
+     */
+    private ScheduledExecutorService createResolverExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "CarbonStartupOrderResolver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
 
-                        CarbonStartupHandler.logServerStartupTime(carbonConfiguration.getName());
-                        CarbonStartupHandler.registerCarbonServerInfoService();
+    /**
+     * Registers to receive updates of startup components and of the startup service cache, and to evaluate them in
+     * the resolverExecutor.
+     * <p>
+     * This replaces the capabilityListenerTimer in the event driven mode. A component is evaluated only when one of
+     * its capabilities changes, and its RequiredCapabilityListener is notified as soon as it becomes satisfiable.
+     */
+    private void startCapabilityListenerDispatcher() {
+        // A single thread evaluates the updates in the order they arrive, hence each listener is notified only once.
+        startupComponentManager.setComponentUpdateListener(startupComponent ->
+                dispatchComponentUpdate(startupComponent.getName()));
+    }
 
-                        capabilityListenerTimer.cancel();
-                        capabilityListenerTimer = null;
-                        startupComponentManager = null;
-                        stopCapabilityTrackers();
+    /**
+     * Creates a bounded thread pool to notify satisfied RequiredCapabilityListeners, so that a slow listener does
+     * not hold up the other satisfied components. The startup is completed only after all the notifications
+     * are completed.
+     *
+     * @param threadCount maximum number of threads used for notifications.
+     */
+    private void startListenerNotificationExecutor(int threadCount) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        listenerNotificationExecutor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "CarbonStartupListenerNotifier-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        startupComponentManager.setNotificationExecutor(listenerNotificationExecutor);
+    }
 
-                        logger.debug("Complete - Startup Order Resolver.");
-                        return;
-                    }
-                }
+    /**
+     * Schedules the evaluation of the given startup component in the resolverExecutor.
+     *
+     * @param componentName name of the updated component, or {@code null} to evaluate all the components.
+     */
+    private void dispatchComponentUpdate(String componentName) {
+        ExecutorService executor = resolverExecutor;
+        if (executor == null) {
+            return;
+        }
 
+        try {
+            executor.execute(() -> notifyIfSatisfiable(componentName));
+        } catch (RejectedExecutionException e) {
+            logger.debug("Startup Order Resolver is already completed. Ignoring the update of component {}",
+                    componentName);
+        }
+    }
+
+    private void notifyIfSatisfiable(String componentName) {
+        synchronized (StartupComponentManager.class) {
+            if (startupComponentManager == null) {
+                return;
+            }
+
+            if (componentName == null) {
                 startupComponentManager.notifySatisfiableComponents();
+            } else {
+                StartupComponent startupComponent = startupComponentManager.getComponent(componentName);
+                if (startupComponent != null) {
+                    startupComponentManager.notifyIfSatisfiable(startupComponent);
+                }
             }
-        }, capabilityListenerTimerDelay, capabilityListenerTimerPeriod);
+
+            if (!startupComponentManager.hasPendingComponents() &&
+                    !startupComponentManager.hasRunningNotifications()) {
+                logger.debug("All the StartupComponents are satisfied. Completing the startup");
+                completeStartup(serverName);
+            }
+        }
+    }
+
+    /**
+     * Logs the server startup time and releases the resources of the resolver once all the
+     * StartupComponents are satisfied.
+     *
+     * @param serverName name of the server to be logged.
+     */
+    private void completeStartup(String serverName) {
+        KernelMetrics.getInstance().recordBootPhase(KernelMetrics.RESOLVER_PHASE,
+                System.nanoTime() - resolverStartTime);
+        CarbonStartupHandler.logServerStartupTime(serverName);
+        CarbonStartupHandler.registerCarbonServerInfoService();
+
+        if (startupTimeline != null) {
+            exportStartupTimeline(startupTimeline);
+        }
+        releaseResources();
+
+        logger.debug("Complete - Startup Order Resolver.");
+    }
+
+    /**
+     * Stops the threads and the trackers of the resolver, and drops the startup components along with the bundles,
+     * capabilities and listeners they refer to, so that they can be garbage collected.
+     */
+    private void releaseResources() {
+        StartupServiceCache.getInstance().setUpdateListener(null);
+        KernelMetrics.getInstance().setResolverCounts(null, null);
+        startupTimeline = null;
+        reportedDependencyGraph = null;
+        if (listenerNotificationExecutor != null) {
+            listenerNotificationExecutor.shutdown();
+            listenerNotificationExecutor = null;
+        }
+        startupComponentManager = null;
+        stopCapabilityTrackers();
+
+        if (resolverExecutor != null) {
+            // The queued tasks are dropped. A running task stops at its next check of the startupComponentManager.
+            resolverExecutor.shutdown();
+            resolverExecutor = null;
+        }
     }
 
-    private void schedulePendingCapabilityTimerTask() {
+    private void schedulePendingCapabilityTask() {
         CarbonConfiguration carbonConfiguration = carbonRuntime.getConfiguration();
         long pendingCapabilityTimerDelay = carbonConfiguration.getStartupResolverConfig().
                 getPendingCapabilityTimer().getDelay();
         long pendingCapabilityTimerPeriod = carbonConfiguration.getStartupResolverConfig().
                 getPendingCapabilityTimer().getPeriod();
 
-        pendingCapabilityTimer.scheduleAtFixedRate(new TimerTask() {
-
-            @Override
-            public void run() {
-                synchronized (StartupComponentManager.class) {
-                    if (startupComponentManager == null) {
-                        logger.debug("StartupComponentManager is already disabled, therefore cancelling " +
-                                "the pendingCapabilityTimer");
-                        pendingCapabilityTimer.cancel();
-                        pendingCapabilityTimer = null;
-                        return;
-                    }
+        resolverExecutor.scheduleAtFixedRate(() -> {
+            synchronized (StartupComponentManager.class) {
+                if (startupComponentManager == null) {
+                    return;
+                }
 
-                    List<StartupComponent> pendingComponents =
-                            startupComponentManager.getComponents(StartupComponent::isPending);
+                List<StartupComponent> pendingComponents =
+                        startupComponentManager.getComponents(StartupComponent::isPending);
 
-                    if (pendingComponents.size() == 0) {
-                        logger.debug("All the RequiredCapabilityListeners are notified, " +
-                                "therefore cancelling the pendingCapabilityTimer");
-                        pendingCapabilityTimer.cancel();
-                        pendingCapabilityTimer = null;
-                        return;
-                    }
+                if (pendingComponents.size() == 0) {
+                    // The startup is completed once the running notifications are completed.
+                    return;
+                }
 
-                    // Report pending startup component details.
-                    logPendingComponentDetails(logger, pendingComponents);
+                // Report pending startup component details.
+                logPendingComponentDetails(logger, pendingComponents);
 
 
-                    // Report pending RequiredCapabilityListener details.
-                    logPendingRequiredCapabilityListenerServiceDetails(logger,
-                            startupComponentManager.getComponents(
-                                    startupComponent -> startupComponent.getListener() == null));
+                // Report pending RequiredCapabilityListener details.
+                logPendingRequiredCapabilityListenerServiceDetails(logger,
+                        startupComponentManager.getComponents(
+                                startupComponent -> startupComponent.getListener() == null));
 
-                    // Report pending CapabilityProvider details.
-                    logPendingCapabilityProviderServiceDetails(logger,
-                            startupComponentManager.getPendingCapabilityProviders());
-                }
+                // Report pending CapabilityProvider details.
+                logPendingCapabilityProviderServiceDetails(logger,
+                        startupComponentManager.getPendingCapabilityProviders());
+
+                // Report the components which block the rest, and the cycles between them.
+                reportDependencyGraph(StartupDependencyGraph.build(pendingComponents));
             }
-        }, pendingCapabilityTimerDelay, pendingCapabilityTimerPeriod);
+        }, pendingCapabilityTimerDelay, pendingCapabilityTimerPeriod, TimeUnit.MILLISECONDS);
     }
 
     private void processServiceComponents(Map<String, List<ManifestElement>> groupedManifestElements) {
@@ -299,12 +520,65 @@ public class StartupOrderResolver {
                 .forEach(startupComponentManager::addExpectedOrAvailableCapabilityProvider);
     }
 
+    /**
+     * Logs the critical path of the startup and writes the startup timeline files to the logs directory of the
+     * runtime.
+     *
+     * @param startupTimeline the recorded timeline.
+     */
+    private void exportStartupTimeline(StartupTimeline startupTimeline) {
+        String criticalPath = startupTimeline.getCriticalPath().stream()
+                .map(componentTimeline -> componentTimeline.getName() + "(" + componentTimeline.getBundleName() + ")")
+                .collect(Collectors.joining(" -> "));
+        logger.info("Startup critical path: {}", criticalPath);
+
+        Path timelineDirectory = Paths.get(System.getProperty(Constants.RUNTIME_PATH, "."), "logs");
+        try {
+            startupTimeline.export(timelineDirectory);
+            logger.info("Startup timeline is written to {}", timelineDirectory.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Error occurred while writing the startup timeline to " + timelineDirectory, e);
+        }
+    }
+
+    /**
+     * Logs the components which block the startup, and writes the dependency graph of the pending components to the
+     * logs directory of the runtime. The graph is reported only if it changed since the last report, since the
+     * pending capability task runs periodically for as long as the startup is blocked.
+     *
+     * @param dependencyGraph the dependency graph of the pending components.
+     */
+    private void reportDependencyGraph(StartupDependencyGraph dependencyGraph) {
+        String graph = dependencyGraph.toJson();
+        if (graph.equals(reportedDependencyGraph)) {
+            logger.debug("Dependency graph of the pending startup components is unchanged since the last report");
+            return;
+        }
+        reportedDependencyGraph = graph;
+
+        String blockingSummary = dependencyGraph.getBlockingSummary();
+        if (!blockingSummary.isEmpty()) {
+            logger.warn(blockingSummary);
+        }
+
+        Path graphDirectory = Paths.get(System.getProperty(Constants.RUNTIME_PATH, "."), "logs");
+        try {
+            dependencyGraph.export(graphDirectory);
+            logger.warn("Dependency graph of the pending startup components is written to {}",
+                    graphDirectory.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Error occurred while writing the startup dependency graph to " + graphDirectory, e);
+        }
+    }
+
     /**
      * Starts all the capability trackers.
      */
     private void startCapabilityTrackers() {
         // Start the OSGi service capability tracker.
         osgiServiceTracker = new OSGiServiceCapabilityTracker(startupComponentManager);
+        // Stop tracking the services which are not required by any pending component.
+        startupComponentManager.setComponentSatisfiedListener(osgiServiceTracker::componentSatisfied);
         osgiServiceTracker.startTracker();
 
         // Likewise you can register trackers for other types of capabilities.
@@ -33,6 +33,12 @@ import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -92,6 +98,58 @@ class StartupOrderResolverUtils {
         }
     }
 
+    /**
+     * Reads the manifest elements of the given bundles concurrently, using a pool with the given number of threads.
+     * <p>
+     * The returned lists are in the order of the given bundles. If reading more than one bundle fails, the failure of
+     * the first bundle in that order is thrown. Hence the result is the same as reading the bundles one after the
+     * other.
+     *
+     * @param bundleList            bundles to be read
+     * @param manifestElementReader function which reads the manifest elements of a single bundle
+     * @param threadCount           number of threads used to read the bundles
+     * @return the list of {@code ManifestElement} lists, one for each of the given bundles
+     */
+    static List<List<ManifestElement>> readManifestElements(
+            List<Bundle> bundleList,
+            Function<Bundle, List<ManifestElement>> manifestElementReader,
+            int threadCount) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "CarbonStartupManifestScanner-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Future<List<ManifestElement>>> futureList = bundleList
+                    .stream()
+                    .map(bundle -> executor.submit(() -> manifestElementReader.apply(bundle)))
+                    .collect(Collectors.toList());
+
+            List<List<ManifestElement>> manifestElementLists = new ArrayList<>(futureList.size());
+            for (Future<List<ManifestElement>> future : futureList) {
+                manifestElementLists.add(future.get());
+            }
+            return manifestElementLists;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new StartOrderResolverException("Error occurred while reading the " + CARBON_COMPONENT_HEADER +
+                    " headers.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StartOrderResolverException("Interrupted while reading the " + CARBON_COMPONENT_HEADER +
+                    " headers.", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Create a {@code StartupComponent} from he manifest element.
      *
@@ -270,6 +328,46 @@ class StartupOrderResolverUtils {
         }
     }
 
+    /**
+     * Returns the symbolic name and the version of the given bundle, to be shown in diagnostics.
+     *
+     * @param bundle the bundle, or {@code null}.
+     * @return the bundle name, or an empty string if the bundle is {@code null}.
+     */
+    static String getBundleName(Bundle bundle) {
+        if (bundle == null) {
+            return "";
+        }
+        return bundle.getSymbolicName() + ":" + bundle.getVersion();
+    }
+
+    /**
+     * Returns the given value as a quoted JSON string. The same quoting is valid for DOT identifiers.
+     *
+     * @param value the value to be quoted, or {@code null}.
+     * @return the quoted value, or {@code null} as a JSON literal.
+     */
+    static String toJsonString(String value) {
+        if (value == null) {
+            return "null";
+        }
+
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c == '\n') {
+                quoted.append("\\n");
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
     /**
      * Extracts the "objectClass" manifest element attribute from the give {@code ManifestElement}.
      *
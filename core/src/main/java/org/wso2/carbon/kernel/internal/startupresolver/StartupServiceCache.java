@@ -21,12 +21,18 @@ import org.slf4j.LoggerFactory;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 
 /**
  * StartupServiceCache caches all the startup services against the component name.
  * Component name is taken from ${@link org.wso2.carbon.kernel.startupresolver.RequiredCapabilityListener}
  * and interface name of the services.
+ * <p>
+ * The cache does not use a global lock. Components reporting services in parallel only update their own
+ * {@link LongAdder}, which is created once per component and interface.
  *
  * @since 5.2.0
  */
@@ -36,10 +42,16 @@ public class StartupServiceCache {
     private static StartupServiceCache serviceCacheInstance = new StartupServiceCache();
 
     /*
-    The internal map contains interface name (OSGi service class) against a list of implementation objects. The outer
-    map has the mapping between the component name and the internal map.
+    The internal map contains interface name (OSGi service class) against the number of reported implementations. The
+    outer map has the mapping between the component name and the internal map.
      */
-    private Map<String, Map<String, Long>> componentMap = new HashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> componentMap = new ConcurrentHashMap<>();
+
+    /*
+    Invoked with the component name and the interface name after each update. The StartupOrderResolver sets this to
+    keep the available service counts of startup components up to date.
+     */
+    private volatile BiConsumer<String, String> updateListener;
 
     public static StartupServiceCache getInstance() {
         return serviceCacheInstance;
@@ -55,45 +67,77 @@ public class StartupServiceCache {
      * @param interfaceName name of the OSGi service interface
      */
     public void update(String componentName, Class interfaceName) {
-        logger.debug("Updating StartupServiceCache, componentName={}, interfaceName={}.",
-                componentName, interfaceName.getName());
+        String serviceInterfaceName = interfaceName.getName();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Updating StartupServiceCache, componentName={}, interfaceName={}.",
+                    componentName, serviceInterfaceName);
+        }
+
+        ConcurrentMap<String, LongAdder> componentServicesMap = componentMap.get(componentName);
+        if (componentServicesMap == null) {
+            componentServicesMap = componentMap.computeIfAbsent(componentName, name -> {
+                logger.debug("Creating a Component Services Map for component {}", name);
+                return new ConcurrentHashMap<>();
+            });
+        }
+
+        LongAdder serviceCount = componentServicesMap.get(serviceInterfaceName);
+        if (serviceCount == null) {
+            serviceCount = componentServicesMap.computeIfAbsent(serviceInterfaceName, name -> {
+                logger.debug("Creating a Service Count for interface {} in component {}", name, componentName);
+                return new LongAdder();
+            });
+        }
+        serviceCount.increment();
 
-        synchronized (componentMap) {
-            Map<String, Long> componentServicesMap = componentMap.get(componentName);
-            if (componentServicesMap == null) {
-                logger.debug("Creating a Component Services Map for component {}", componentName);
-                componentServicesMap = new HashMap<>();
-                componentMap.put(componentName, componentServicesMap);
-            }
+        BiConsumer<String, String> listener = updateListener;
+        if (listener != null) {
+            listener.accept(componentName, serviceInterfaceName);
+        }
+    }
 
-            Long serviceCount = componentServicesMap.get(interfaceName.getName());
-            if (serviceCount == null) {
-                logger.debug("Creating a Service Instance List for interface {} in component {}",
-                        interfaceName, componentName);
-                serviceCount = 1L;
-            } else {
-                serviceCount++;
-            }
-            componentServicesMap.put(interfaceName.getName(), serviceCount);
+    /**
+     * This method provides the number of OSGi services of the given interface reported by the given component.
+     *
+     * @param componentName name of the reporter component
+     * @param interfaceName name of the OSGi service interface
+     * @return the number of reported services
+     */
+    public long getAvailableServiceCount(String componentName, String interfaceName) {
+        Map<String, LongAdder> availableServices = componentMap.get(componentName);
+        if (availableServices == null) {
+            return 0;
         }
+        LongAdder serviceCount = availableServices.get(interfaceName);
+        return serviceCount == null ? 0 : serviceCount.sum();
+    }
+
+    /**
+     * Sets the listener which is notified with the component name and the interface name whenever a component
+     * updates this cache.
+     *
+     * @param updateListener the listener to be set, or {@code null} to remove the current listener
+     */
+    void setUpdateListener(BiConsumer<String, String> updateListener) {
+        this.updateListener = updateListener;
     }
 
     /**
      * This method provides a map of OSGi services and service count for the given {@code componentName}.
+     * <p>
+     * The returned map is a snapshot, which may not reflect the updates done concurrently with this method.
      *
      * @param componentName name of the reporter component
      * @return a list of reported OSGi service names
      */
     public Map<String, Long> getAvailableService(String componentName) {
-        synchronized (componentMap) {
-            Map<String, Long> availableServices = componentMap.get(componentName);
-            if (availableServices == null) {
-                return Collections.emptyMap();
-            }
-            return availableServices.entrySet()
-                    .stream()
-                    .collect(Collectors.toMap(Map.Entry::getKey,
-                            stringLongEntry -> (stringLongEntry.getValue())));
+        Map<String, LongAdder> availableServices = componentMap.get(componentName);
+        if (availableServices == null) {
+            return Collections.emptyMap();
         }
+        Map<String, Long> serviceCounts = new HashMap<>();
+        availableServices.forEach((serviceInterfaceName, serviceCount) ->
+                serviceCounts.put(serviceInterfaceName, serviceCount.sum()));
+        return serviceCounts;
     }
 }
@@ -0,0 +1,382 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.getBundleName;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.toJsonString;
+
+/**
+ * Records when each {@code StartupComponent} is declared, when its required capabilities become available, when its
+ * {@code RequiredCapabilityListener} arrives and how long the listener takes. From these events it computes the
+ * critical path of the startup, and exports the timeline as JSON and as a Chrome trace event file.
+ * <p>
+ * All the times are in milliseconds, relative to the creation of the timeline.
+ *
+ * @since 5.3.1
+ */
+class StartupTimeline {
+
+    static final String TIMELINE_FILE_NAME = "startup-timeline.json";
+    static final String TRACE_FILE_NAME = "startup-trace.json";
+
+    private final long startNanos = System.nanoTime();
+
+    // Key of this map is the component name
+    private final Map<String, ComponentTimeline> componentTimelineMap = new ConcurrentHashMap<>();
+
+    void componentDeclared(StartupComponent startupComponent) {
+        componentTimelineMap.computeIfAbsent(startupComponent.getName(),
+                name -> new ComponentTimeline(name, getBundleName(startupComponent.getBundle()), now()));
+    }
+
+    void listenerArrived(StartupComponent startupComponent) {
+        ComponentTimeline componentTimeline = componentTimelineMap.get(startupComponent.getName());
+        if (componentTimeline != null) {
+            componentTimeline.listenerArrivedAt = now();
+        }
+    }
+
+    /**
+     * Records that a capability required by the given component became available. If the provider bundle is not
+     * known, the event is only recorded if the capability is not recorded for the component yet, so that it neither
+     * duplicates nor hides the event of a known provider.
+     *
+     * @param startupComponent the component which requires the capability.
+     * @param capabilityName   name of the capability.
+     * @param providerBundle   the bundle which provided the capability, or {@code null} if it is not known.
+     */
+    void capabilityAvailable(StartupComponent startupComponent, String capabilityName, Bundle providerBundle) {
+        ComponentTimeline componentTimeline = componentTimelineMap.get(startupComponent.getName());
+        if (componentTimeline != null) {
+            CapabilityEvent capabilityEvent = new CapabilityEvent(capabilityName, getBundleName(providerBundle), now());
+            if (providerBundle == null) {
+                componentTimeline.addCapabilityEventIfAbsent(capabilityEvent);
+            } else {
+                componentTimeline.addCapabilityEvent(capabilityEvent);
+            }
+        }
+    }
+
+    void notificationStarted(StartupComponent startupComponent) {
+        ComponentTimeline componentTimeline = componentTimelineMap.get(startupComponent.getName());
+        if (componentTimeline != null) {
+            componentTimeline.notificationStartedAt = now();
+            componentTimeline.notificationThread = Thread.currentThread().getName();
+        }
+    }
+
+    void notificationCompleted(StartupComponent startupComponent) {
+        ComponentTimeline componentTimeline = componentTimelineMap.get(startupComponent.getName());
+        if (componentTimeline != null) {
+            componentTimeline.notificationCompletedAt = now();
+        }
+    }
+
+    /**
+     * Returns the chain of components which determined the startup time, starting from the first component.
+     * <p>
+     * The chain ends with the component whose listener completed last. Each component is preceded by the component
+     * of the bundle that provided its last blocking event, i.e. the last available capability or its listener,
+     * if a listener of that bundle was notified before the event.
+     *
+     * @return the components in the critical path.
+     */
+    List<ComponentTimeline> getCriticalPath() {
+        List<ComponentTimeline> notifiedComponents = componentTimelineMap.values().stream()
+                .filter(componentTimeline -> componentTimeline.notificationCompletedAt >= 0)
+                .collect(Collectors.toList());
+
+        ComponentTimeline current = notifiedComponents.stream()
+                .max(Comparator.comparingDouble(componentTimeline -> componentTimeline.notificationCompletedAt))
+                .orElse(null);
+
+        List<ComponentTimeline> criticalPath = new ArrayList<>();
+        Set<String> visitedComponents = new HashSet<>();
+        while (current != null && visitedComponents.add(current.name)) {
+            criticalPath.add(current);
+
+            double blockedUntil = current.getReadyAt();
+            String blockingBundle = current.getBlockingBundleName();
+            current = notifiedComponents.stream()
+                    .filter(componentTimeline -> componentTimeline.bundleName.equals(blockingBundle))
+                    .filter(componentTimeline -> componentTimeline.notificationStartedAt <= blockedUntil)
+                    .filter(componentTimeline -> !visitedComponents.contains(componentTimeline.name))
+                    .max(Comparator.comparingDouble(componentTimeline -> componentTimeline.notificationStartedAt))
+                    .orElse(null);
+        }
+
+        Collections.reverse(criticalPath);
+        return criticalPath;
+    }
+
+    /**
+     * Returns the timeline of all the components and the critical path as a JSON document.
+     *
+     * @return the JSON document.
+     */
+    String toJson() {
+        StringBuilder json = new StringBuilder(1024);
+        json.append("{\n  \"components\": [");
+        appendJoined(json, getComponentTimelines(), (builder, componentTimeline) -> {
+            builder.append("\n    {\"name\": ").append(toJsonString(componentTimeline.name))
+                    .append(", \"bundle\": ").append(toJsonString(componentTimeline.bundleName))
+                    .append(", \"declaredAt\": ").append(format(componentTimeline.declaredAt))
+                    .append(", \"listenerArrivedAt\": ").append(format(componentTimeline.listenerArrivedAt))
+                    .append(", \"notificationStartedAt\": ").append(format(componentTimeline.notificationStartedAt))
+                    .append(", \"notificationCompletedAt\": ")
+                    .append(format(componentTimeline.notificationCompletedAt))
+                    .append(", \"capabilities\": [");
+            appendJoined(builder, componentTimeline.getCapabilityEvents(), (capabilityBuilder, event) ->
+                    capabilityBuilder.append("{\"name\": ").append(toJsonString(event.capabilityName))
+                            .append(", \"bundle\": ").append(toJsonString(event.bundleName))
+                            .append(", \"availableAt\": ").append(format(event.time)).append("}"));
+            builder.append("]}");
+        });
+        json.append("\n  ],\n  \"criticalPath\": [");
+        appendJoined(json, getCriticalPath(), (builder, componentTimeline) ->
+                builder.append("\n    {\"name\": ").append(toJsonString(componentTimeline.name))
+                        .append(", \"bundle\": ").append(toJsonString(componentTimeline.bundleName))
+                        .append(", \"readyAt\": ").append(format(componentTimeline.getReadyAt()))
+                        .append(", \"blockedBy\": ").append(toJsonString(componentTimeline.getBlockingDescription()))
+                        .append(", \"listenerDuration\": ").append(format(componentTimeline.getListenerDuration()))
+                        .append("}"));
+        json.append("\n  ]\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * Returns the timeline in the Chrome trace event format, which can be loaded in chrome://tracing or Perfetto.
+     * Each component is shown in its own row, with the time spent waiting for capabilities and the time spent in
+     * its listener.
+     *
+     * @return the trace events as a JSON document.
+     */
+    String toChromeTrace() {
+        StringBuilder trace = new StringBuilder(1024);
+        trace.append("{\"displayTimeUnit\": \"ms\", \"traceEvents\": [");
+        List<ComponentTimeline> componentTimelines = getComponentTimelines();
+        for (int i = 0; i < componentTimelines.size(); i++) {
+            ComponentTimeline componentTimeline = componentTimelines.get(i);
+            int row = i + 1;
+            if (i > 0) {
+                trace.append(',');
+            }
+            trace.append("\n{\"name\": \"thread_name\", \"ph\": \"M\", \"pid\": 1, \"tid\": ").append(row)
+                    .append(", \"args\": {\"name\": ").append(toJsonString(componentTimeline.name)).append("}}");
+
+            double readyAt = componentTimeline.getReadyAt();
+            appendTraceSpan(trace, "waiting", componentTimeline.declaredAt, readyAt, row,
+                    componentTimeline.getBlockingDescription());
+            appendTraceSpan(trace, "onAllRequiredCapabilitiesAvailable", componentTimeline.notificationStartedAt,
+                    componentTimeline.notificationCompletedAt, row, componentTimeline.notificationThread);
+
+            for (CapabilityEvent event : componentTimeline.getCapabilityEvents()) {
+                trace.append(",\n{\"name\": ").append(toJsonString(event.capabilityName))
+                        .append(", \"cat\": \"capability\", \"ph\": \"i\", \"s\": \"t\", \"pid\": 1, \"tid\": ")
+                        .append(row).append(", \"ts\": ").append(toMicros(event.time))
+                        .append(", \"args\": {\"bundle\": ").append(toJsonString(event.bundleName)).append("}}");
+            }
+        }
+        trace.append("\n]}\n");
+        return trace.toString();
+    }
+
+    /**
+     * Writes the JSON timeline and the Chrome trace event file to the given directory.
+     *
+     * @param directory the directory to which the files are written.
+     * @throws IOException if the files cannot be written.
+     */
+    void export(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Files.write(directory.resolve(TIMELINE_FILE_NAME), toJson().getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve(TRACE_FILE_NAME), toChromeTrace().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<ComponentTimeline> getComponentTimelines() {
+        return componentTimelineMap.values().stream()
+                .sorted(Comparator.comparingDouble(componentTimeline -> componentTimeline.declaredAt))
+                .collect(Collectors.toList());
+    }
+
+    private void appendTraceSpan(StringBuilder trace, String name, double start, double end, int row,
+                                 String detail) {
+        if (start < 0 || end < start) {
+            return;
+        }
+        trace.append(",\n{\"name\": ").append(toJsonString(name))
+                .append(", \"cat\": \"startup\", \"ph\": \"X\", \"pid\": 1, \"tid\": ").append(row)
+                .append(", \"ts\": ").append(toMicros(start))
+                .append(", \"dur\": ").append(toMicros(end - start))
+                .append(", \"args\": {\"detail\": ").append(toJsonString(detail)).append("}}");
+    }
+
+    private double now() {
+        return (System.nanoTime() - startNanos) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static long toMicros(double millis) {
+        return Math.round(millis * 1000);
+    }
+
+    private static String format(double millis) {
+        if (millis < 0) {
+            return "null";
+        }
+        return String.format(Locale.ENGLISH, "%.3f", millis);
+    }
+
+    private static <T> void appendJoined(StringBuilder builder, List<T> items, ItemWriter<T> itemWriter) {
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            itemWriter.write(builder, items.get(i));
+        }
+    }
+
+    /**
+     * Appends a JSON representation of an item.
+     *
+     * @param <T> type of the item
+     */
+    private interface ItemWriter<T> {
+        void write(StringBuilder builder, T item);
+    }
+
+    /**
+     * Records the availability of a required capability.
+     */
+    static class CapabilityEvent {
+        private final String capabilityName;
+        private final String bundleName;
+        private final double time;
+
+        CapabilityEvent(String capabilityName, String bundleName, double time) {
+            this.capabilityName = capabilityName;
+            this.bundleName = bundleName;
+            this.time = time;
+        }
+    }
+
+    /**
+     * Timeline of a single {@code StartupComponent}. A negative time means that the event has not occurred.
+     */
+    static class ComponentTimeline {
+        private final String name;
+        private final String bundleName;
+        private final double declaredAt;
+        private final List<CapabilityEvent> capabilityEvents = new ArrayList<>();
+        private volatile double listenerArrivedAt = -1;
+        private volatile double notificationStartedAt = -1;
+        private volatile double notificationCompletedAt = -1;
+        private volatile String notificationThread;
+
+        ComponentTimeline(String name, String bundleName, double declaredAt) {
+            this.name = name;
+            this.bundleName = bundleName;
+            this.declaredAt = declaredAt;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        String getBundleName() {
+            return bundleName;
+        }
+
+        private synchronized void addCapabilityEvent(CapabilityEvent capabilityEvent) {
+            capabilityEvents.add(capabilityEvent);
+        }
+
+        private synchronized void addCapabilityEventIfAbsent(CapabilityEvent capabilityEvent) {
+            if (capabilityEvents.stream().noneMatch(event ->
+                    event.capabilityName.equals(capabilityEvent.capabilityName))) {
+                capabilityEvents.add(capabilityEvent);
+            }
+        }
+
+        private synchronized List<CapabilityEvent> getCapabilityEvents() {
+            return new ArrayList<>(capabilityEvents);
+        }
+
+        private synchronized CapabilityEvent getLastCapabilityEvent() {
+            return capabilityEvents.isEmpty() ? null : capabilityEvents.get(capabilityEvents.size() - 1);
+        }
+
+        /**
+         * Returns the time at which the last of the component's requirements became available.
+         *
+         * @return the time in milliseconds.
+         */
+        double getReadyAt() {
+            CapabilityEvent lastCapabilityEvent = getLastCapabilityEvent();
+            double readyAt = Math.max(declaredAt, listenerArrivedAt);
+            if (lastCapabilityEvent != null) {
+                readyAt = Math.max(readyAt, lastCapabilityEvent.time);
+            }
+            return readyAt;
+        }
+
+        double getListenerDuration() {
+            if (notificationStartedAt < 0 || notificationCompletedAt < 0) {
+                return -1;
+            }
+            return notificationCompletedAt - notificationStartedAt;
+        }
+
+        private String getBlockingBundleName() {
+            CapabilityEvent lastCapabilityEvent = getLastCapabilityEvent();
+            if (lastCapabilityEvent != null && lastCapabilityEvent.time > listenerArrivedAt &&
+                    !lastCapabilityEvent.bundleName.isEmpty()) {
+                return lastCapabilityEvent.bundleName;
+            }
+            return bundleName;
+        }
+
+        private String getBlockingDescription() {
+            CapabilityEvent lastCapabilityEvent = getLastCapabilityEvent();
+            if (lastCapabilityEvent != null && lastCapabilityEvent.time > listenerArrivedAt) {
+                return "capability " + lastCapabilityEvent.capabilityName +
+                        (lastCapabilityEvent.bundleName.isEmpty() ? "" : " from " + lastCapabilityEvent.bundleName);
+            }
+            if (listenerArrivedAt >= 0) {
+                return "RequiredCapabilityListener from " + bundleName;
+            }
+            return "";
+        }
+    }
+}
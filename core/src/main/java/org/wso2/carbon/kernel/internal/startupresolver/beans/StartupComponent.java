@@ -18,15 +18,14 @@
 package org.wso2.carbon.kernel.internal.startupresolver.beans;
 
 import org.osgi.framework.Bundle;
-import org.wso2.carbon.kernel.internal.startupresolver.StartupServiceCache;
 import org.wso2.carbon.kernel.startupresolver.RequiredCapabilityListener;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -59,6 +58,17 @@ public class StartupComponent {
      */
     private final List<Capability> expectedCapabilityList = Collections.synchronizedList(new ArrayList<>());
 
+    /**
+     * Expected and available counts of capabilities, keyed by the capability name. This is guarded by the
+     * expectedCapabilityList lock.
+     */
+    private final Map<String, CapabilityCount> capabilityCountMap = new HashMap<>();
+
+    /**
+     * Number of capability names of which the available count is less than the expected count.
+     */
+    private volatile int pendingCapabilityCount = 0;
+
     /**
      * RequiredCapabilityListener service instance.
      */
@@ -136,10 +146,12 @@ public class StartupComponent {
                     .findFirst().orElse(null);
 
             if (expectedCapability != null) {
+                boolean counted = isCounted(expectedCapability);
                 expectedCapability.setSecondCheck(true);
                 expectedCapability.setDirectDependency(capability.isDirectDependency());
+                recount(expectedCapability, counted);
             } else {
-                expectedCapabilityList.add(capability);
+                addCapability(capability);
             }
         }
     }
@@ -164,7 +176,7 @@ public class StartupComponent {
                 if (optCapability.isPresent()) {
                     optCapability.get().setSecondCheck(true);
                 } else {
-                    expectedCapabilityList.add(capability);
+                    addCapability(capability);
                 }
             } else {
                 // if Capability.CapabilityState.AVAILABLE
@@ -174,15 +186,42 @@ public class StartupComponent {
                         .findFirst();
 
                 if (optCapability.isPresent()) {
-                    optCapability.get().setState(Capability.CapabilityState.AVAILABLE);
-                    optCapability.get().setSecondCheck(true);
+                    Capability expectedCapability = optCapability.get();
+                    boolean counted = isCounted(expectedCapability);
+                    expectedCapability.setState(Capability.CapabilityState.AVAILABLE);
+                    expectedCapability.setSecondCheck(true);
+                    recount(expectedCapability, counted);
                 } else {
-                    expectedCapabilityList.add(capability);
+                    addCapability(capability);
                 }
             }
         }
     }
 
+    /**
+     * Updates the number of services of the given capability which are available to this startup listener
+     * component, as reported to the {@code StartupServiceCache}.
+     * <p>
+     * Available counts only grow, hence a count which is lower than the current count is ignored.
+     *
+     * @param capabilityName name of the capability.
+     * @param availableCount number of available services of the capability.
+     * @return 'true' if the capability was pending, and the given count made it available.
+     */
+    public boolean updateAvailableCount(String capabilityName, long availableCount) {
+        synchronized (expectedCapabilityList) {
+            CapabilityCount capabilityCount = getCapabilityCount(capabilityName);
+            if (availableCount <= capabilityCount.available) {
+                return false;
+            }
+
+            boolean pending = capabilityCount.isPending();
+            capabilityCount.available = availableCount;
+            updatePendingCapabilityCount(pending, capabilityCount.isPending());
+            return pending && !capabilityCount.isPending();
+        }
+    }
+
     /**
      * Returns all the pending capabilities of this startup listener component. There could capabilities
      * in both AVAILABLE and EXPECTED state.
@@ -196,34 +235,25 @@ public class StartupComponent {
      * When Generating the pending capability list it considers;
      * 1. all the direct dependencies
      * 2. all the indirect dependencies at EXPECTED state.
+     * <p>
+     * The list is derived from the maintained capability counts, hence this is meant for diagnostics. Use
+     * {@link #isSatisfiable()} to check whether there are pending capabilities.
      *
      * @return the list of pending capabilities.
      */
     public List<Capability> getPendingCapabilities() {
-        Map<String, Long> availableServiceCounts = StartupServiceCache.getInstance().getAvailableService(name);
-
         synchronized (expectedCapabilityList) {
-            Map<String, Long> expectedServiceCounts = expectedCapabilityList.stream()
-                    .filter(expCapability -> expCapability.isDirectDependency()
-                            || (!expCapability.isDirectDependency()
-                            && expCapability.getState() == Capability.CapabilityState.EXPECTED))
-                    .map(expCapability -> expCapability.getName())
-                    .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
-
-            availableServiceCounts.forEach((s, aLong) -> {
-                Long eCount = expectedServiceCounts.get(s);
-                if (eCount != null && aLong >= eCount) {
-                    expectedServiceCounts.remove(s);
-                }
-            });
-
-            if (expectedServiceCounts.isEmpty()) {
+            if (pendingCapabilityCount == 0) {
                 return Collections.emptyList();
-            } else {
-                return expectedCapabilityList.stream()
-                        .filter(expCapability -> expectedServiceCounts.keySet().contains(expCapability.getName()))
-                        .collect(Collectors.toList());
             }
+
+            return expectedCapabilityList.stream()
+                    .filter(expCapability -> {
+                        // Indirect AVAILABLE capabilities are not counted until their EXPECTED counterpart is seen.
+                        CapabilityCount capabilityCount = capabilityCountMap.get(expCapability.getName());
+                        return capabilityCount != null && capabilityCount.isPending();
+                    })
+                    .collect(Collectors.toList());
         }
     }
 
@@ -271,7 +301,7 @@ public class StartupComponent {
      */
     public boolean isSatisfiable() {
         return !satisfied &&
-                getPendingCapabilities().size() == 0 &&
+                pendingCapabilityCount == 0 &&
                 listener != null &&
                 pendingCapabilityProviderList.size() == 0;
     }
@@ -290,6 +320,60 @@ public class StartupComponent {
         return !satisfied;
     }
 
+    /**
+     * Adds the given capability to the expectedCapabilityList and updates the expected count. Callers should hold
+     * the expectedCapabilityList lock.
+     *
+     * @param capability the capability to be added.
+     */
+    private void addCapability(Capability capability) {
+        expectedCapabilityList.add(capability);
+        if (isCounted(capability)) {
+            updateExpectedCount(capability.getName(), 1);
+        }
+    }
+
+    /**
+     * Updates the expected count after the state or the dependency type of the given capability is changed. Callers
+     * should hold the expectedCapabilityList lock.
+     *
+     * @param capability the changed capability.
+     * @param counted    whether the capability was counted as expected before the change.
+     */
+    private void recount(Capability capability, boolean counted) {
+        if (counted != isCounted(capability)) {
+            updateExpectedCount(capability.getName(), counted ? -1 : 1);
+        }
+    }
+
+    private void updateExpectedCount(String capabilityName, int delta) {
+        CapabilityCount capabilityCount = getCapabilityCount(capabilityName);
+        boolean pending = capabilityCount.isPending();
+        capabilityCount.expected += delta;
+        updatePendingCapabilityCount(pending, capabilityCount.isPending());
+    }
+
+    private void updatePendingCapabilityCount(boolean previouslyPending, boolean pending) {
+        if (previouslyPending != pending) {
+            pendingCapabilityCount += pending ? 1 : -1;
+        }
+    }
+
+    private CapabilityCount getCapabilityCount(String capabilityName) {
+        return capabilityCountMap.computeIfAbsent(capabilityName, name -> new CapabilityCount());
+    }
+
+    /**
+     * A capability is expected if it is a direct dependency or if it is an indirect dependency in the
+     * EXPECTED state.
+     *
+     * @param capability the capability to be checked.
+     * @return 'true' if the capability should be counted as expected.
+     */
+    private static boolean isCounted(Capability capability) {
+        return capability.isDirectDependency() || capability.getState() == Capability.CapabilityState.EXPECTED;
+    }
+
     /**
      * Checks whether the given components is equal to this component.
      * <p>
@@ -311,4 +395,16 @@ public class StartupComponent {
         assert false;
         return 10;
     }
+
+    /**
+     * Expected and available counts of a capability.
+     */
+    private static class CapabilityCount {
+        private int expected;
+        private long available;
+
+        private boolean isPending() {
+            return available < expected;
+        }
+    }
 }
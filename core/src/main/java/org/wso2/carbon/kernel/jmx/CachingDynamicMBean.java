@@ -0,0 +1,339 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.jmx;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InvalidAttributeValueException;
+import javax.management.JMX;
+import javax.management.MBeanException;
+import javax.management.MBeanInfo;
+import javax.management.MBeanRegistration;
+import javax.management.MBeanServer;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import javax.management.StandardMBean;
+
+/**
+ * A {@link DynamicMBean} which serves the attributes of another MBean from a cache, so that monitoring agents polling
+ * the attributes of the MBean do not recompute them on each poll.
+ * <p>
+ * Each attribute value is served from the cache for the TTL of the attribute, which is the default TTL unless it is
+ * overridden for the attribute name. A TTL of 0 disables the caching of the attribute. The values of a
+ * {@link #getAttributes(String[])} call which are not fresh in the cache are fetched from the MBean with a single
+ * call, hence they form one consistent snapshot. With the asynchronous refresh, an expired value is served while a
+ * fresh value is fetched in the background.
+ * <p>
+ * Setting an attribute evicts it from the cache, and invoking an operation evicts all attributes, since the operation
+ * may change any of them. Exceptions are not cached.
+ *
+ * @since 5.3.1
+ */
+public class CachingDynamicMBean implements DynamicMBean, MBeanRegistration {
+    private static final Logger logger = LoggerFactory.getLogger(CachingDynamicMBean.class);
+
+    private final Object mBeanInstance;
+
+    private final DynamicMBean delegate;
+
+    private final long defaultTtlNanos;
+
+    private final Map<String, Long> attributeTtlNanos;
+
+    private final boolean asyncRefresh;
+
+    private final ConcurrentMap<String, CachedValue> cache = new ConcurrentHashMap<>();
+
+    // Incremented before each eviction, so that a value read from the MBean before an eviction is not cached after it.
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Creates a caching MBean for the given MBean.
+     *
+     * @param mBeanInstance      the MBean whose attributes are cached. A standard MBean or an MXBean is adapted to a
+     *                           {@link DynamicMBean} with {@link StandardMBean}.
+     * @param defaultTtlMillis   the time in milliseconds for which an attribute value is served from the cache.
+     * @param attributeTtlMillis the TTLs in milliseconds overriding the default, keyed by the attribute names.
+     * @param asyncRefresh       whether an expired value is served while it is refreshed in the background.
+     * @throws NotCompliantMBeanException if the given object is not a compliant MBean.
+     */
+    public CachingDynamicMBean(Object mBeanInstance, long defaultTtlMillis, Map<String, Long> attributeTtlMillis,
+                               boolean asyncRefresh) throws NotCompliantMBeanException {
+        this.mBeanInstance = Objects.requireNonNull(mBeanInstance, "mBeanInstance");
+        this.delegate = toDynamicMBean(mBeanInstance);
+        this.defaultTtlNanos = TimeUnit.MILLISECONDS.toNanos(defaultTtlMillis);
+        Map<String, Long> ttls = new HashMap<>();
+        if (attributeTtlMillis != null) {
+            attributeTtlMillis.forEach((name, ttl) -> ttls.put(name, TimeUnit.MILLISECONDS.toNanos(ttl)));
+        }
+        this.attributeTtlNanos = ttls;
+        this.asyncRefresh = asyncRefresh;
+    }
+
+    @Override
+    public Object getAttribute(String attribute)
+            throws AttributeNotFoundException, MBeanException, ReflectionException {
+        long ttl = getTtlNanos(attribute);
+        if (ttl <= 0) {
+            return delegate.getAttribute(attribute);
+        }
+
+        long now = System.nanoTime();
+        CachedValue cachedValue = cache.get(attribute);
+        if (cachedValue != null) {
+            if (cachedValue.isFresh(now)) {
+                return cachedValue.value;
+            }
+            if (asyncRefresh) {
+                refreshAsync(attribute, cachedValue);
+                return cachedValue.value;
+            }
+        }
+
+        long fetchEvictionCount = evictionCount.get();
+        Object value = delegate.getAttribute(attribute);
+        store(attribute, new CachedValue(value, System.nanoTime() + ttl), fetchEvictionCount);
+        return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        long now = System.nanoTime();
+        Map<String, Object> values = new HashMap<>();
+        List<String> staleAttributes = new ArrayList<>();
+        for (String attribute : attributes) {
+            CachedValue cachedValue = getTtlNanos(attribute) > 0 ? cache.get(attribute) : null;
+            if (cachedValue == null) {
+                staleAttributes.add(attribute);
+            } else if (cachedValue.isFresh(now)) {
+                values.put(attribute, cachedValue.value);
+            } else if (asyncRefresh) {
+                refreshAsync(attribute, cachedValue);
+                values.put(attribute, cachedValue.value);
+            } else {
+                staleAttributes.add(attribute);
+            }
+        }
+
+        if (!staleAttributes.isEmpty()) {
+            long fetchEvictionCount = evictionCount.get();
+            AttributeList fetchedAttributes = delegate.getAttributes(staleAttributes.toArray(new String[0]));
+            long fetchTime = System.nanoTime();
+            for (Attribute attribute : fetchedAttributes.asList()) {
+                values.put(attribute.getName(), attribute.getValue());
+                long ttl = getTtlNanos(attribute.getName());
+                if (ttl > 0) {
+                    store(attribute.getName(), new CachedValue(attribute.getValue(), fetchTime + ttl),
+                            fetchEvictionCount);
+                }
+            }
+        }
+
+        // Attributes which could not be read are left out, as a DynamicMBean does.
+        AttributeList attributeList = new AttributeList(attributes.length);
+        for (String attribute : attributes) {
+            if (values.containsKey(attribute)) {
+                attributeList.add(new Attribute(attribute, values.get(attribute)));
+            }
+        }
+        return attributeList;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException, InvalidAttributeValueException,
+            MBeanException, ReflectionException {
+        try {
+            delegate.setAttribute(attribute);
+        } finally {
+            evict(attribute.getName());
+        }
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        try {
+            return delegate.setAttributes(attributes);
+        } finally {
+            attributes.asList().forEach(attribute -> evict(attribute.getName()));
+        }
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature)
+            throws MBeanException, ReflectionException {
+        try {
+            return delegate.invoke(actionName, params, signature);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        return delegate.getMBeanInfo();
+    }
+
+    /**
+     * Evicts all attributes from the cache, so that they are fetched from the MBean on the next read.
+     */
+    public void invalidate() {
+        evictionCount.incrementAndGet();
+        cache.clear();
+    }
+
+    // The registration callbacks are forwarded, since the MBean server only sees this wrapper.
+
+    @Override
+    public ObjectName preRegister(MBeanServer server, ObjectName name) throws Exception {
+        return mBeanInstance instanceof MBeanRegistration ?
+                ((MBeanRegistration) mBeanInstance).preRegister(server, name) : name;
+    }
+
+    @Override
+    public void postRegister(Boolean registrationDone) {
+        if (mBeanInstance instanceof MBeanRegistration) {
+            ((MBeanRegistration) mBeanInstance).postRegister(registrationDone);
+        }
+    }
+
+    @Override
+    public void preDeregister() throws Exception {
+        if (mBeanInstance instanceof MBeanRegistration) {
+            ((MBeanRegistration) mBeanInstance).preDeregister();
+        }
+    }
+
+    @Override
+    public void postDeregister() {
+        invalidate();
+        if (mBeanInstance instanceof MBeanRegistration) {
+            ((MBeanRegistration) mBeanInstance).postDeregister();
+        }
+    }
+
+    /**
+     * Caches the given value, fetched from the MBean, unless an eviction started since the fetch started. The value is
+     * stored before the eviction count is checked, so that an eviction which starts after the check removes it.
+     */
+    private void store(String attribute, CachedValue cachedValue, long fetchEvictionCount) {
+        cache.put(attribute, cachedValue);
+        if (evictionCount.get() != fetchEvictionCount) {
+            cache.remove(attribute, cachedValue);
+        }
+    }
+
+    private void evict(String attribute) {
+        evictionCount.incrementAndGet();
+        cache.remove(attribute);
+    }
+
+    private long getTtlNanos(String attribute) {
+        return attributeTtlNanos.getOrDefault(attribute, defaultTtlNanos);
+    }
+
+    private void refreshAsync(String attribute, CachedValue staleValue) {
+        if (!staleValue.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        RefreshExecutorHolder.executor.execute(() -> {
+            try {
+                Object value = delegate.getAttribute(attribute);
+                cache.replace(attribute, staleValue,
+                        new CachedValue(value, System.nanoTime() + getTtlNanos(attribute)));
+            } catch (Exception e) {
+                // The stale value is kept, and the next read retries the refresh.
+                staleValue.refreshing.set(false);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Error while refreshing the MBean attribute " + attribute, e);
+                }
+            }
+        });
+    }
+
+    private static DynamicMBean toDynamicMBean(Object mBeanInstance) throws NotCompliantMBeanException {
+        if (mBeanInstance instanceof DynamicMBean) {
+            return (DynamicMBean) mBeanInstance;
+        }
+        for (Class<?> type = mBeanInstance.getClass(); type != null; type = type.getSuperclass()) {
+            for (Class<?> mBeanInterface : type.getInterfaces()) {
+                if (JMX.isMXBeanInterface(mBeanInterface)) {
+                    return newStandardMBean(mBeanInstance, mBeanInterface, true);
+                }
+            }
+        }
+        return newStandardMBean(mBeanInstance, null, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> StandardMBean newStandardMBean(Object mBeanInstance, Class<T> mBeanInterface, boolean isMXBean)
+            throws NotCompliantMBeanException {
+        return new StandardMBean((T) mBeanInstance, mBeanInterface, isMXBean);
+    }
+
+    /**
+     * A cached attribute value.
+     */
+    private static final class CachedValue {
+
+        private final Object value;
+
+        private final long expiryTime;
+
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private CachedValue(Object value, long expiryTime) {
+            this.value = value;
+            this.expiryTime = expiryTime;
+        }
+
+        private boolean isFresh(long now) {
+            return now - expiryTime < 0;
+        }
+    }
+
+    /**
+     * Holds the executor of the asynchronous refreshes, which is only created if an attribute is refreshed.
+     */
+    private static final class RefreshExecutorHolder {
+
+        private static final AtomicInteger threadCount = new AtomicInteger();
+
+        private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CarbonMBeanAttributeRefresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
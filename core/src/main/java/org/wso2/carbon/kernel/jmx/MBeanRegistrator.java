@@ -15,35 +15,106 @@
  */
 package org.wso2.carbon.kernel.jmx;
 
+import org.osgi.framework.Bundle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.kernel.Constants;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import javax.management.DynamicMBean;
 import javax.management.InstanceAlreadyExistsException;
 import javax.management.InstanceNotFoundException;
 import javax.management.MBeanRegistrationException;
 import javax.management.MBeanServer;
 import javax.management.MalformedObjectNameException;
 import javax.management.NotCompliantMBeanException;
+import javax.management.NotificationBroadcaster;
 import javax.management.ObjectName;
 
 /**
  * The class which is responsible for registering MBeans.
+ * <p>
+ * The registered MBeans are owned by the bundle they are registered for, if any, so that they can be unregistered
+ * along with the bundle using {@link #unregisterMBeans(Bundle)}. The Carbon core bundle does so for each bundle which
+ * stops.
+ * <p>
+ * If the attribute cache is set with {@link #setAttributeCache(long, Map, boolean)}, the registered MBeans are wrapped
+ * in a {@link CachingDynamicMBean}, regardless of whether they were registered before or after the cache was set.
  *
  * @since 5.1.0
  */
 public class MBeanRegistrator {
     private static final Logger logger = LoggerFactory.getLogger(MBeanRegistrator.class);
-    private static List<ObjectName> mBeans = new ArrayList<>();
+
+    // Owner id of the MBeans which are not registered for a bundle.
+    private static final long NO_BUNDLE = -1;
+
+    // The registered MBeans, mapped to the id of the owner bundle and the registered instance.
+    private static final ConcurrentMap<ObjectName, RegisteredMBean> mBeans = new ConcurrentHashMap<>();
+
+    // The registered MBeans of each owner bundle id.
+    private static final ConcurrentMap<Long, Set<ObjectName>> ownedMBeans = new ConcurrentHashMap<>();
+
+    // Wraps the MBeans before they are registered, if the attribute cache is set.
+    private static volatile Function<Object, DynamicMBean> mBeanWrapper;
 
     private MBeanRegistrator() {
     }
 
     /**
-     * Registers an object as an MBean with the MBean server.
+     * Sets the attribute cache applied to the registered MBeans. The MBeans which were registered before without the
+     * attribute cache are registered again, wrapped in a {@link CachingDynamicMBean}, hence their registration
+     * callbacks are invoked again. The MBeans which are already wrapped keep their current attribute cache.
+     *
+     * @param defaultTtlMillis   - The time in milliseconds for which an attribute value is served from the cache.
+     * @param attributeTtlMillis - The TTLs in milliseconds overriding the default, keyed by the attribute names.
+     * @param asyncRefresh       - Whether an expired value is served while it is refreshed in the background.
+     * @see CachingDynamicMBean
+     * @since 5.3.1
+     */
+    public static void setAttributeCache(long defaultTtlMillis, Map<String, Long> attributeTtlMillis,
+                                         boolean asyncRefresh) {
+        Map<String, Long> ttls = attributeTtlMillis == null ? Collections.emptyMap() :
+                Collections.unmodifiableMap(new HashMap<>(attributeTtlMillis));
+        mBeanWrapper = mBeanInstance -> {
+            try {
+                return new CachingDynamicMBean(mBeanInstance, defaultTtlMillis, ttls, asyncRefresh);
+            } catch (NotCompliantMBeanException e) {
+                String msg = "Exception when registering MBean " + mBeanInstance.getClass();
+                logger.error(msg, e);
+                throw new RuntimeException(msg, e);
+            }
+        };
+
+        MBeanServer mBeanServer = MBeanManagementFactory.getMBeanServer();
+        mBeans.forEach((objectName, registeredMBean) -> {
+            if (!registeredMBean.wrapped && isWrappable(registeredMBean.mBeanInstance)) {
+                wrapRegisteredMBean(mBeanServer, objectName, registeredMBean);
+            }
+        });
+    }
+
+    /**
+     * Removes the attribute cache, so that the MBeans registered afterwards are registered as they are.
+     *
+     * @since 5.3.1
+     */
+    public static void removeAttributeCache() {
+        mBeanWrapper = null;
+    }
+
+    /**
+     * Registers an object as an MBean with the MBean server, with a name derived from its class name.
      *
      * @param mBeanInstance - The MBean to be registered as an MBean.
      */
@@ -55,28 +126,206 @@ public class MBeanRegistrator {
         }
 
         String objectName = Constants.SERVER_PACKAGE + ":type=" + className;
+        registerMBean(null, mBeanInstance, objectName);
+    }
+
+    /**
+     * Registers an object as an MBean with the MBean server, with the given name.
+     *
+     * @param mBeanInstance - The MBean to be registered as an MBean.
+     * @param objectName    - The name of the MBean.
+     * @return the name of the registered MBean.
+     * @since 5.3.1
+     */
+    public static ObjectName registerMBean(Object mBeanInstance, String objectName) throws RuntimeException {
+        return registerMBean(null, mBeanInstance, objectName);
+    }
+
+    /**
+     * Registers an object as an MBean with the MBean server, with the given name, owned by the given bundle.
+     *
+     * @param bundle        - The bundle which owns the MBean, or null if the MBean is not owned by a bundle.
+     * @param mBeanInstance - The MBean to be registered as an MBean.
+     * @param objectName    - The name of the MBean.
+     * @return the name of the registered MBean.
+     * @since 5.3.1
+     */
+    public static ObjectName registerMBean(Bundle bundle, Object mBeanInstance, String objectName)
+            throws RuntimeException {
+        return register(MBeanManagementFactory.getMBeanServer(), getOwnerId(bundle), mBeanInstance,
+                toObjectName(objectName, mBeanInstance));
+    }
+
+    /**
+     * Registers the given objects as MBeans with the MBean server. Either all of them are registered, or none.
+     *
+     * @param mBeanInstances - The MBeans to be registered, keyed by their names.
+     * @return the names of the registered MBeans, in the iteration order of the given map.
+     * @since 5.3.1
+     */
+    public static List<ObjectName> registerMBeans(Map<String, ?> mBeanInstances) throws RuntimeException {
+        return registerMBeans(null, mBeanInstances);
+    }
+
+    /**
+     * Registers the given objects as MBeans with the MBean server, owned by the given bundle. Either all of them are
+     * registered, or none.
+     *
+     * @param bundle         - The bundle which owns the MBeans, or null if the MBeans are not owned by a bundle.
+     * @param mBeanInstances - The MBeans to be registered, keyed by their names.
+     * @return the names of the registered MBeans, in the iteration order of the given map.
+     * @since 5.3.1
+     */
+    public static List<ObjectName> registerMBeans(Bundle bundle, Map<String, ?> mBeanInstances)
+            throws RuntimeException {
+        // All the names are validated before any MBean is registered.
+        Map<ObjectName, Object> namedMBeans = new LinkedHashMap<>();
+        mBeanInstances.forEach((objectName, mBeanInstance) ->
+                namedMBeans.put(toObjectName(objectName, mBeanInstance), mBeanInstance));
+
+        MBeanServer mBeanServer = MBeanManagementFactory.getMBeanServer();
+        long ownerId = getOwnerId(bundle);
+        List<ObjectName> registeredNames = new ArrayList<>(namedMBeans.size());
         try {
-            MBeanServer mBeanServer = MBeanManagementFactory.getMBeanServer();
-            Set set = mBeanServer.queryNames(new ObjectName(objectName), null);
-            if (set.isEmpty()) {
-                try {
-                    ObjectName name = new ObjectName(objectName);
-                    mBeanServer.registerMBean(mBeanInstance, name);
-                    mBeans.add(name);
-                } catch (InstanceAlreadyExistsException e) {
-                    String msg = "MBean " + objectName + " already exists";
-                    logger.error(msg, e);
-                    throw new RuntimeException(msg, e);
-                } catch (MBeanRegistrationException | NotCompliantMBeanException e) {
-                    String msg = "Execption when registering MBean";
-                    logger.error(msg, e);
-                    throw new RuntimeException(msg, e);
+            namedMBeans.forEach((objectName, mBeanInstance) ->
+                    registeredNames.add(register(mBeanServer, ownerId, mBeanInstance, objectName)));
+        } catch (RuntimeException e) {
+            registeredNames.forEach(objectName -> unregister(mBeanServer, objectName));
+            throw e;
+        }
+        return registeredNames;
+    }
+
+    /**
+     * Unregisters the given MBean from the MBean server.
+     *
+     * @param objectName - The name of the MBean.
+     * @since 5.3.1
+     */
+    public static void unregisterMBean(ObjectName objectName) {
+        unregister(MBeanManagementFactory.getMBeanServer(), objectName);
+    }
+
+    /**
+     * Unregisters the MBeans owned by the given bundle from the MBean server.
+     *
+     * @param bundle - The bundle which owns the MBeans.
+     * @since 5.3.1
+     */
+    public static void unregisterMBeans(Bundle bundle) {
+        Set<ObjectName> bundleMBeans = ownedMBeans.remove(getOwnerId(bundle));
+        if (bundleMBeans == null) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Unregistering {} MBean(s) of bundle {}", bundleMBeans.size(), bundle.getSymbolicName());
+        }
+        MBeanServer mBeanServer = MBeanManagementFactory.getMBeanServer();
+        bundleMBeans.forEach(objectName -> unregister(mBeanServer, objectName));
+    }
+
+    /**
+     * Returns the names of the MBeans owned by the given bundle.
+     *
+     * @param bundle - The bundle which owns the MBeans, or null for the MBeans which are not owned by a bundle.
+     * @return the names of the registered MBeans of the bundle.
+     * @since 5.3.1
+     */
+    public static Set<ObjectName> getMBeans(Bundle bundle) {
+        Set<ObjectName> bundleMBeans = ownedMBeans.get(getOwnerId(bundle));
+        return bundleMBeans == null ? Collections.emptySet() : Collections.unmodifiableSet(new HashSet<>(bundleMBeans));
+    }
+
+    /**
+     * Unregisters all MBeans from the MBean server.
+     *
+     */
+    public static void unregisterAllMBeans() {
+        MBeanServer mBeanServer = MBeanManagementFactory.getMBeanServer();
+        mBeans.keySet().forEach(mBean -> unregister(mBeanServer, mBean));
+    }
+
+    private static ObjectName register(MBeanServer mBeanServer, long ownerId, Object mBeanInstance,
+                                       ObjectName objectName) {
+        Function<Object, DynamicMBean> wrapper = mBeanWrapper;
+        boolean wrapped = wrapper != null && isWrappable(mBeanInstance);
+
+        ObjectName registeredName;
+        try {
+            // Registering an existing name fails, hence the name is not looked up before registering.
+            registeredName = mBeanServer.registerMBean(wrapped ? wrapper.apply(mBeanInstance) : mBeanInstance,
+                    objectName).getObjectName();
+        } catch (InstanceAlreadyExistsException e) {
+            String msg = "MBean " + objectName + " already exists";
+            logger.error(msg, e);
+            throw new RuntimeException(msg, e);
+        } catch (MBeanRegistrationException | NotCompliantMBeanException e) {
+            String msg = "Exception when registering MBean " + objectName;
+            logger.error(msg, e);
+            throw new RuntimeException(msg, e);
+        }
+
+        mBeans.put(registeredName, new RegisteredMBean(ownerId, mBeanInstance, wrapped));
+        ownedMBeans.computeIfAbsent(ownerId, id -> ConcurrentHashMap.newKeySet()).add(registeredName);
+        return registeredName;
+    }
+
+    /**
+     * Registers the given MBean again, wrapped with the current attribute cache, under the same name and owner.
+     */
+    private static void wrapRegisteredMBean(MBeanServer mBeanServer, ObjectName objectName,
+                                            RegisteredMBean registeredMBean) {
+        Function<Object, DynamicMBean> wrapper = mBeanWrapper;
+        if (wrapper == null) {
+            return;
+        }
+        DynamicMBean wrappedMBean;
+        try {
+            wrappedMBean = wrapper.apply(registeredMBean.mBeanInstance);
+            mBeanServer.unregisterMBean(objectName);
+        } catch (InstanceNotFoundException e) {
+            // Unregistered concurrently, hence there is nothing to wrap.
+            return;
+        } catch (RuntimeException | MBeanRegistrationException e) {
+            logger.error("Cannot register MBean " + objectName.getCanonicalName() + " with the attribute cache", e);
+            return;
+        }
+        try {
+            mBeanServer.registerMBean(wrappedMBean, objectName);
+        } catch (RuntimeException | InstanceAlreadyExistsException | MBeanRegistrationException |
+                NotCompliantMBeanException e) {
+            // The MBean is no longer registered, hence it is no longer tracked either.
+            logger.error("Cannot register MBean " + objectName.getCanonicalName() + " with the attribute cache", e);
+            if (mBeans.remove(objectName, registeredMBean)) {
+                Set<ObjectName> bundleMBeans = ownedMBeans.get(registeredMBean.ownerId);
+                if (bundleMBeans != null) {
+                    bundleMBeans.remove(objectName);
                 }
-            } else {
-                String msg = "MBean " + objectName + " already exists";
-                logger.error(msg);
-                throw new RuntimeException(msg);
             }
+            return;
+        }
+        mBeans.replace(objectName, registeredMBean,
+                new RegisteredMBean(registeredMBean.ownerId, registeredMBean.mBeanInstance, true));
+    }
+
+    private static void unregister(MBeanServer mBeanServer, ObjectName objectName) {
+        RegisteredMBean registeredMBean = mBeans.remove(objectName);
+        if (registeredMBean != null) {
+            Set<ObjectName> bundleMBeans = ownedMBeans.get(registeredMBean.ownerId);
+            if (bundleMBeans != null) {
+                bundleMBeans.remove(objectName);
+            }
+        }
+        try {
+            mBeanServer.unregisterMBean(objectName);
+        } catch (InstanceNotFoundException | MBeanRegistrationException e) {
+            logger.error("Cannot unregister MBean " + objectName.getCanonicalName(), e);
+        }
+    }
+
+    private static ObjectName toObjectName(String objectName, Object mBeanInstance) {
+        try {
+            return new ObjectName(objectName);
         } catch (MalformedObjectNameException e) {
             String msg = "Could not register " + mBeanInstance.getClass() + " MBean";
             logger.error(msg);
@@ -84,18 +333,30 @@ public class MBeanRegistrator {
         }
     }
 
+    private static long getOwnerId(Bundle bundle) {
+        return bundle == null ? NO_BUNDLE : bundle.getBundleId();
+    }
+
+    // Beans which emit notifications are not wrapped, since the wrapper cannot forward the listeners.
+    private static boolean isWrappable(Object mBeanInstance) {
+        return !(mBeanInstance instanceof NotificationBroadcaster);
+    }
+
     /**
-     * Unregisters all MBeans from the MBean server.
-     *
+     * A registered MBean, with the id of its owner bundle.
      */
-    public static void unregisterAllMBeans() {
-        MBeanServer mBeanServer = MBeanManagementFactory.getMBeanServer();
-        mBeans.forEach(mBean -> {
-            try {
-                mBeanServer.unregisterMBean(mBean);
-            } catch (InstanceNotFoundException | MBeanRegistrationException e) {
-                logger.error("Cannot unregister MBean " + mBean.getCanonicalName(), e);
-            }
-        });
+    private static final class RegisteredMBean {
+
+        private final long ownerId;
+
+        private final Object mBeanInstance;
+
+        private final boolean wrapped;
+
+        private RegisteredMBean(long ownerId, Object mBeanInstance, boolean wrapped) {
+            this.ownerId = ownerId;
+            this.mBeanInstance = mBeanInstance;
+            this.wrapped = wrapped;
+        }
     }
 }
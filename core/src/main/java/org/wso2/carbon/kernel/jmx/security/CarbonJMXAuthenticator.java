@@ -18,21 +18,91 @@ package org.wso2.carbon.kernel.jmx.security;
 
 import org.wso2.carbon.kernel.Constants;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import javax.management.remote.JMXAuthenticator;
 import javax.management.remote.JMXPrincipal;
 import javax.security.auth.Subject;
 import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.login.AppConfigurationEntry;
+import javax.security.auth.login.Configuration;
 import javax.security.auth.login.LoginContext;
 import javax.security.auth.login.LoginException;
 
 /**
  * Implementation class for JMXAuthenticator.
+ * <p>
+ * The successful authentications can be cached for a limited time, so that the short lived connections of the
+ * monitoring agents do not run a JAAS login each. The cache is keyed by a salted hash of the credentials, hence the
+ * passwords are not kept in memory, and is bounded by evicting the least recently used entries. Failed
+ * authentications are never cached, and the cache is cleared when the JAAS configuration of the
+ * {@value Constants#LOGIN_MODULE_ENTRY} login modules changes.
  *
  * @since 5.1.0
  */
 public class CarbonJMXAuthenticator implements JMXAuthenticator {
 
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int SALT_LENGTH = 32;
+
+    private final long ttlNanos;
+
+    private final byte[] salt;
+
+    // The cached authentications keyed by the hash of the credentials, in the order of access.
+    private final Map<String, CachedAuthentication> cache;
+
+    // The login configuration the cached authentications were made with. Guarded by the cache.
+    private List<Object> cachedLoginConfiguration;
+
+    // Incremented whenever the cache is cleared, so that the logins which started earlier are not cached. Guarded by
+    // the cache.
+    private long generation;
+
+    /**
+     * Creates an authenticator which runs a JAAS login for each authentication.
+     */
+    public CarbonJMXAuthenticator() {
+        this(0, 0);
+    }
+
+    /**
+     * Creates an authenticator which caches the successful authentications.
+     *
+     * @param ttlMillis the time in milliseconds for which an authentication is cached, or 0 to disable the caching.
+     * @param maxSize   the maximum number of cached authentications, or 0 to disable the caching.
+     * @since 5.3.1
+     */
+    public CarbonJMXAuthenticator(long ttlMillis, int maxSize) {
+        if (ttlMillis > 0 && maxSize > 0) {
+            this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+            this.salt = new byte[SALT_LENGTH];
+            new SecureRandom().nextBytes(salt);
+            this.cache = new LinkedHashMap<String, CachedAuthentication>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedAuthentication> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        } else {
+            this.ttlNanos = 0;
+            this.salt = null;
+            this.cache = null;
+        }
+    }
+
     @Override
     public Subject authenticate(Object credentials) {
         if (credentials == null) {
@@ -43,14 +113,125 @@ public class CarbonJMXAuthenticator implements JMXAuthenticator {
             throw new SecurityException("Credentials should be String[]");
         }
 
+        String[] userCredentials = (String[]) credentials;
+        if (cache == null || userCredentials.length < 2 || userCredentials[0] == null ||
+                userCredentials[1] == null) {
+            return login(userCredentials);
+        }
+
+        List<Object> loginConfiguration = getLoginConfiguration();
+        if (loginConfiguration == null) {
+            return login(userCredentials);
+        }
+        String key = hash(userCredentials[0], userCredentials[1]);
+        long loginGeneration;
+        synchronized (cache) {
+            if (!loginConfiguration.equals(cachedLoginConfiguration)) {
+                cache.clear();
+                cachedLoginConfiguration = loginConfiguration;
+                generation++;
+            }
+            loginGeneration = generation;
+            CachedAuthentication cachedAuthentication = cache.get(key);
+            if (cachedAuthentication != null) {
+                if (System.nanoTime() - cachedAuthentication.expiryTime < 0) {
+                    return cachedAuthentication.subject;
+                }
+                cache.remove(key);
+            }
+        }
+
+        Subject subject = login(userCredentials);
+        synchronized (cache) {
+            // Not cached if the cache was invalidated, or the configuration changed, during the login.
+            if (generation == loginGeneration) {
+                cache.put(key, new CachedAuthentication(subject, System.nanoTime() + ttlNanos));
+            }
+        }
+        return subject;
+    }
+
+    /**
+     * Clears the cached authentications, so that the next authentication of each user runs a JAAS login.
+     *
+     * @since 5.3.1
+     */
+    public void invalidate() {
+        if (cache != null) {
+            synchronized (cache) {
+                cache.clear();
+                generation++;
+            }
+        }
+    }
+
+    private static Subject login(String[] credentials) {
         CallbackHandler callbackHandler = new CarbonJMXCallbackHandler(credentials);
         try {
             LoginContext loginContext = new LoginContext(Constants.LOGIN_MODULE_ENTRY, callbackHandler);
             loginContext.login();
-            return new Subject(true, Collections.singleton(new JMXPrincipal(((String[]) credentials)[0])),
+            return new Subject(true, Collections.singleton(new JMXPrincipal(credentials[0])),
                     Collections.EMPTY_SET, Collections.EMPTY_SET);
         } catch (LoginException e) {
             throw new SecurityException("Invalid credentials", e);
         }
     }
+
+    /**
+     * Returns the current JAAS configuration and the login modules configured for the carbon login, which are equal
+     * to an earlier result only if the configuration did not change.
+     *
+     * @return the configuration state, or null if the JAAS configuration cannot be loaded.
+     */
+    private static List<Object> getLoginConfiguration() {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration();
+        } catch (SecurityException e) {
+            return null;
+        }
+
+        // The configuration instance changes when the configuration is replaced, and its entries when it is refreshed.
+        List<Object> loginConfiguration = new ArrayList<>();
+        loginConfiguration.add(configuration);
+        AppConfigurationEntry[] entries = configuration.getAppConfigurationEntry(Constants.LOGIN_MODULE_ENTRY);
+        if (entries != null) {
+            for (AppConfigurationEntry entry : entries) {
+                loginConfiguration.add(entry.getLoginModuleName());
+                loginConfiguration.add(entry.getControlFlag());
+                loginConfiguration.add(entry.getOptions());
+            }
+        }
+        return loginConfiguration;
+    }
+
+    private String hash(String userName, String password) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+            messageDigest.update(salt);
+            byte[] userNameBytes = userName.getBytes(StandardCharsets.UTF_8);
+            // The length separates the user name from the password.
+            messageDigest.update(ByteBuffer.allocate(Integer.BYTES).putInt(userNameBytes.length).array());
+            messageDigest.update(userNameBytes);
+            messageDigest.update(password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(messageDigest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not supported", e);
+        }
+    }
+
+    /**
+     * A successful authentication and its expiry time.
+     */
+    private static final class CachedAuthentication {
+
+        private final Subject subject;
+
+        private final long expiryTime;
+
+        private CachedAuthentication(Subject subject, long expiryTime) {
+            this.subject = subject;
+            this.expiryTime = expiryTime;
+        }
+    }
 }
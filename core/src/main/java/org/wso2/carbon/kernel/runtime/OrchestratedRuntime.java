@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.runtime;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * A {@link Runtime} which declares how it is ordered against the other runtimes, when the lifecycle of all the
+ * runtimes is orchestrated with {@link RuntimeService#orchestrate(RuntimeLifecycleAction)}.
+ * <p>
+ * Runtimes are started in the ascending order of their priorities and stopped in the descending order. Within the
+ * same priority, a runtime is started after the runtimes named in {@link #getDependencies()} and stopped before them.
+ * Runtimes which are not ordered against each other are handled in parallel. A runtime which does not implement
+ * this interface has the priority {@code 0} and no dependencies.
+ *
+ * @since 5.3.1
+ */
+public interface OrchestratedRuntime extends Runtime {
+
+    /**
+     * The name which the other runtimes use to depend on this runtime.
+     *
+     * @return the name of this runtime.
+     */
+    default String getName() {
+        return getClass().getName();
+    }
+
+    /**
+     * The priority group of this runtime. All the runtimes of a lower priority are started before, and stopped after,
+     * the runtimes of a higher priority.
+     *
+     * @return the priority of this runtime.
+     */
+    default int getPriority() {
+        return 0;
+    }
+
+    /**
+     * The names of the runtimes which should be started before, and stopped after, this runtime. A runtime should not
+     * depend on a runtime of a higher priority.
+     *
+     * @return the names of the runtimes this runtime depends on.
+     */
+    default Set<String> getDependencies() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * The maximum time taken by a single lifecycle action of this runtime, after which the action is interrupted and
+     * reported as timed out.
+     *
+     * @return the timeout in milliseconds, or a non-positive value to use the default timeout.
+     */
+    default long getTimeoutMillis() {
+        return 0;
+    }
+}
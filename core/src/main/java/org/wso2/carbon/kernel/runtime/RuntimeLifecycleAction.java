@@ -0,0 +1,60 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.runtime;
+
+/**
+ * The lifecycle actions which can be applied on all the registered runtimes with
+ * {@link RuntimeService#orchestrate(RuntimeLifecycleAction)}.
+ *
+ * @since 5.3.1
+ */
+public enum RuntimeLifecycleAction {
+
+    /**
+     * Initializes and starts the runtimes. A runtime starts after the runtimes it depends on.
+     */
+    START(true),
+
+    /**
+     * Stops the runtimes. A runtime stops after the runtimes which depend on it.
+     */
+    STOP(false),
+
+    /**
+     * Puts the runtimes into maintenance mode. A runtime is drained after the runtimes which depend on it.
+     */
+    BEGIN_MAINTENANCE(false),
+
+    /**
+     * Takes the runtimes out of maintenance mode. A runtime resumes after the runtimes it depends on.
+     */
+    END_MAINTENANCE(true);
+
+    private final boolean dependencyOrder;
+
+    RuntimeLifecycleAction(boolean dependencyOrder) {
+        this.dependencyOrder = dependencyOrder;
+    }
+
+    /**
+     * Whether this action is applied on the dependencies of a runtime before the runtime itself, or after it.
+     *
+     * @return true if the dependencies come first, false if the dependents come first.
+     */
+    public boolean isDependencyOrder() {
+        return dependencyOrder;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.runtime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The aggregated outcome of a lifecycle action applied on all the registered runtimes with
+ * {@link RuntimeService#orchestrate(RuntimeLifecycleAction)}. Unlike the sequential lifecycle methods, the
+ * orchestration does not stop at the first failure, hence this report has an outcome for each runtime.
+ *
+ * @since 5.3.1
+ */
+public final class RuntimeLifecycleReport {
+
+    /**
+     * The status of the lifecycle action of a single runtime.
+     */
+    public enum Status {
+        /**
+         * The action completed successfully.
+         */
+        COMPLETED,
+        /**
+         * The action failed with an exception.
+         */
+        FAILED,
+        /**
+         * The action did not complete within the timeout of the runtime, hence it was interrupted.
+         */
+        TIMED_OUT,
+        /**
+         * The action was not applied, since a runtime ordered before this runtime did not complete its action, or
+         * the runtime dependencies could not be resolved.
+         */
+        SKIPPED
+    }
+
+    private final RuntimeLifecycleAction action;
+    private final List<Outcome> outcomes;
+    private final long elapsedMillis;
+
+    public RuntimeLifecycleReport(RuntimeLifecycleAction action, List<Outcome> outcomes, long elapsedMillis) {
+        this.action = action;
+        this.outcomes = Collections.unmodifiableList(new ArrayList<>(outcomes));
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public RuntimeLifecycleAction getAction() {
+        return action;
+    }
+
+    /**
+     * Returns the outcomes of the runtimes, in the order the runtimes were registered.
+     *
+     * @return the outcomes of the runtimes.
+     */
+    public List<Outcome> getOutcomes() {
+        return outcomes;
+    }
+
+    /**
+     * Returns the outcomes of the runtimes with the given status.
+     *
+     * @param status the status to filter the outcomes.
+     * @return the outcomes with the given status.
+     */
+    public List<Outcome> getOutcomes(Status status) {
+        return outcomes.stream()
+                .filter(outcome -> outcome.getStatus() == status)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The wall clock time taken by the whole orchestration.
+     *
+     * @return the elapsed time in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Whether the action completed successfully on all the runtimes.
+     *
+     * @return true if all the outcomes are completed.
+     */
+    public boolean isSuccessful() {
+        return outcomes.stream().allMatch(outcome -> outcome.getStatus() == Status.COMPLETED);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder()
+                .append(action).append(" of ").append(outcomes.size()).append(" runtime(s) took ")
+                .append(elapsedMillis).append(" ms");
+        for (Status status : Status.values()) {
+            int count = getOutcomes(status).size();
+            if (count > 0) {
+                report.append(", ").append(count).append(' ').append(status.name().toLowerCase());
+            }
+        }
+        outcomes.stream()
+                .filter(outcome -> outcome.getStatus() != Status.COMPLETED)
+                .forEach(outcome -> report.append(System.lineSeparator()).append("  ").append(outcome));
+        return report.toString();
+    }
+
+    /**
+     * The outcome of the lifecycle action of a single runtime.
+     */
+    public static final class Outcome {
+
+        private final String runtimeName;
+        private final Status status;
+        private final long durationMillis;
+        private final String message;
+        private final Throwable error;
+
+        public Outcome(String runtimeName, Status status, long durationMillis, String message, Throwable error) {
+            this.runtimeName = runtimeName;
+            this.status = status;
+            this.durationMillis = durationMillis;
+            this.message = message;
+            this.error = error;
+        }
+
+        public String getRuntimeName() {
+            return runtimeName;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * The time taken by the action of the runtime, which is 0 if the action was skipped.
+         *
+         * @return the duration in milliseconds.
+         */
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        /**
+         * A description of why the action did not complete.
+         *
+         * @return the description, or null if the action completed.
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * The exception thrown by the action.
+         *
+         * @return the exception, or null if the action did not fail.
+         */
+        public Throwable getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return runtimeName + " " + status + " after " + durationMillis + " ms" +
+                    (message == null ? "" : ": " + message);
+        }
+    }
+}
@@ -17,6 +17,9 @@ package org.wso2.carbon.kernel.runtime;
 
 import org.wso2.carbon.kernel.runtime.exception.RuntimeServiceException;
 
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
 /**
  * User level APIs for consuming RuntimeManager functionality.
  * This will be registered as an OSGi service so that users can reference this in their component.
@@ -60,4 +63,49 @@ public interface RuntimeService {
      */
     void endMaintenance() throws RuntimeServiceException;
 
+    /**
+     * Applies the given lifecycle action on all registered runtimes, ordered by the priorities and the dependencies
+     * declared by the {@link OrchestratedRuntime}s. Runtimes which are not ordered against each other are handled in
+     * parallel, each within its own timeout. A failing runtime only skips the runtimes ordered after it, and the
+     * outcome of every runtime is returned in the report.
+     * <p>
+     * The default implementation applies the action sequentially through the matching lifecycle method of this
+     * service, hence the report holds a single outcome for all the runtimes of this service.
+     *
+     * @param action the lifecycle action to be applied.
+     * @return the aggregated outcome of the action.
+     * @throws RuntimeServiceException - if the orchestration is interrupted
+     * @since 5.3.1
+     */
+    default RuntimeLifecycleReport orchestrate(RuntimeLifecycleAction action) throws RuntimeServiceException {
+        long startTime = System.nanoTime();
+        RuntimeLifecycleReport.Status status = RuntimeLifecycleReport.Status.COMPLETED;
+        Exception error = null;
+        try {
+            switch (action) {
+                case START:
+                    startRuntimes();
+                    break;
+                case STOP:
+                    stopRuntimes();
+                    break;
+                case BEGIN_MAINTENANCE:
+                    beginMaintenance();
+                    break;
+                case END_MAINTENANCE:
+                    endMaintenance();
+                    break;
+                default:
+                    throw new RuntimeServiceException("Unknown runtime lifecycle action " + action);
+            }
+        } catch (RuntimeServiceException | RuntimeException e) {
+            status = RuntimeLifecycleReport.Status.FAILED;
+            error = e;
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        RuntimeLifecycleReport.Outcome outcome = new RuntimeLifecycleReport.Outcome(getClass().getName(), status,
+                elapsedMillis, error == null ? null : error.getMessage(), error);
+        return new RuntimeLifecycleReport(action, Collections.singletonList(outcome), elapsedMillis);
+    }
+
 }
@@ -18,12 +18,13 @@ package org.wso2.carbon.kernel.startupresolver.manifest;
 import org.osgi.framework.Bundle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.wso2.carbon.utils.Tokenizer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
-import java.util.Hashtable;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This class represents a single manifest element.  A manifest element must consist of a single
@@ -92,12 +93,12 @@ public class ManifestElement {
     /**
      * The table of attributes for the manifest element.
      */
-    private Hashtable<String, Object> attributes;
+    private ValueTable attributes;
 
     /**
      * The table of directives for the manifest element.
      */
-    private Hashtable<String, Object> directives;
+    private ValueTable directives;
 
     /**
      * Containing OSGi bundle.
@@ -235,57 +236,38 @@ public class ManifestElement {
     /**
      * Return the last value associated with the given key in the specified table.
      *
-     * @param table Hashtable&lt;String, Object&gt;
+     * @param table ValueTable
      * @param key   String
      * @return String
      */
-    private String getTableValue(Hashtable<String, Object> table, String key) {
+    private String getTableValue(ValueTable table, String key) {
         if (table == null) {
             return null;
         }
-        Object result = table.get(key);
-        if (result == null) {
-            return null;
-        }
-        if (result instanceof String) {
-            return (String) result;
-        }
-        @SuppressWarnings("unchecked")
-        List<String> valueList = (List<String>) result;
-        //return the last value
-        return valueList.get(valueList.size() - 1);
+        return table.getLastValue(key);
     }
 
     /**
      * Return the values associated with the given key in the specified table.
      *
-     * @param table Hashtable&lt;String, Object&gt;
+     * @param table ValueTable
      * @param key   String
      * @return String[]
      */
-    private String[] getTableValues(Hashtable<String, Object> table, String key) {
+    private String[] getTableValues(ValueTable table, String key) {
         if (table == null) {
             return new String[]{};
         }
-        Object result = table.get(key);
-        if (result == null) {
-            return new String[]{};
-        }
-        if (result instanceof String) {
-            return new String[]{(String) result};
-        }
-        @SuppressWarnings("unchecked")
-        List<String> valueList = (List<String>) result;
-        return valueList.toArray(new String[valueList.size()]);
+        return table.getValues(key);
     }
 
     /**
      * Return an enumeration of table keys for the specified table.
      *
-     * @param table Hashtable&lt;String, Object&gt;
+     * @param table ValueTable
      * @return Enumeration&lt;String&gt;
      */
-    private Enumeration<String> getTableKeys(Hashtable<String, Object> table) {
+    private Enumeration<String> getTableKeys(ValueTable table) {
         if (table == null) {
             return null;
         }
@@ -294,37 +276,43 @@ public class ManifestElement {
 
     /**
      * Add the given key/value association to the specified table. If an entry already exists
-     * for this key, then create an array list from the current value (if necessary) and
-     * append the new value to the end of the list.
+     * for this key, the new value is appended after the existing values.
      *
-     * @param table Hashtable&lt;String, Object&gt;
+     * @param table ValueTable
      * @param key   String
      * @param value String
-     * @return Hashtable&lt;String, Object&gt;
+     * @return ValueTable
      */
-    @SuppressWarnings("unchecked")
-    private Hashtable<String, Object> addTableValue(Hashtable<String, Object> table, String key, String value) {
+    private ValueTable addTableValue(ValueTable table, String key, String value) {
         if (table == null) {
-            table = new Hashtable<>(7);
-        }
-        Object curValue = table.get(key);
-        if (curValue != null) {
-            List<String> newList;
-            // create a list to contain multiple values
-            if (curValue instanceof List) {
-                newList = (List<String>) curValue;
-            } else {
-                newList = new ArrayList<>(5);
-                newList.add((String) curValue);
-            }
-            newList.add(value);
-            table.put(key, newList);
-        } else {
-            table.put(key, value);
+            table = new ValueTable();
         }
+        table.add(key, value);
         return table;
     }
 
+    /**
+     * Creates a manifest element from an already parsed value, attributes and directives. This is used to restore
+     * manifest elements which were persisted after parsing a header value in a previous startup.
+     *
+     * @param header     the name of the manifest header
+     * @param value      the value of the manifest element
+     * @param attributes the attribute values keyed by the attribute name, in the order they were specified
+     * @param directives the directive values keyed by the directive name, in the order they were specified
+     * @param bundle     OSGi bundle
+     * @return the created ManifestElement
+     * @since 5.3.1
+     */
+    public static ManifestElement create(String header, String value, Map<String, List<String>> attributes,
+                                         Map<String, List<String>> directives, Bundle bundle) {
+        ManifestElement manifestElement = new ManifestElement(header, value, bundle);
+        attributes.forEach((key, values) -> values.forEach(attrValue -> manifestElement.addAttribute(key,
+                attrValue)));
+        directives.forEach((key, values) -> values.forEach(directiveValue -> manifestElement.addDirective(key,
+                directiveValue)));
+        return manifestElement;
+    }
+
     /**
      * Parses a manifest header value into an array of ManifestElements.  Each
      * ManifestElement returned will have a non-null value returned by getValue().
@@ -343,126 +331,7 @@ public class ManifestElement {
         if (value == null) {
             return new ArrayList<>();
         }
-        List<ManifestElement> headerElements = new ArrayList<>(10);
-        Tokenizer tokenizer = new Tokenizer(value);
-        while (true) {
-            String next = tokenizer.getString(";,");
-            if (next == null) {
-                throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header : " +
-                        header + ", Value: " + value);
-            }
-            StringBuilder headerValue = new StringBuilder(next);
-
-            logger.debug("parseHeader: " + next);
-            boolean directive = false;
-            char c = tokenizer.getChar();
-            // Header values may be a list of ';' separated values.  Just append them all into one value until the
-            // first '=' or ','
-            while (c == ';') {
-                next = tokenizer.getString(";,=:");
-                if (next == null) {
-                    throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header: " +
-                            header + ", Value: " + value);
-                }
-                c = tokenizer.getChar();
-                while (c == ':') { // may not really be a :=
-                    c = tokenizer.getChar();
-                    if (c != '=') {
-                        String restOfNext = tokenizer.getToken(";,=:");
-                        if (restOfNext == null) {
-                            throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header: " +
-                                    header + ", Value: " +
-                                    value);
-                        }
-                        next = next.concat(":" + c + restOfNext);
-                        c = tokenizer.getChar();
-                    } else {
-                        directive = true;
-                    }
-                }
-                if (c == ';' || c == ',' || c == '\0') /* more */ {
-                    headerValue.append(";").append(next);
-                    logger.debug(";" + next);
-                }
-            }
-            // found the header value create a manifestElement for it.
-            ManifestElement manifestElement = new ManifestElement(header, headerValue.toString(), bundle);
-
-            // now add any attributes/directives for the manifestElement.
-            while (c == '=' || c == ':') {
-                while (c == ':') { // may not really be a :=
-                    c = tokenizer.getChar();
-                    if (c != '=') {
-                        String restOfNext = tokenizer.getToken("=:");
-                        if (restOfNext == null) {
-                            throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header: " +
-                                    header + ", Value: " +
-                                    value);
-                        }
-                        next = next.concat(":" + c + restOfNext);
-                        c = tokenizer.getChar();
-                    } else {
-                        directive = true;
-                    }
-                }
-                // determine if the attribute is the form attr:List<type>
-                String preserveEscapes = null;
-                String tempNextWithoutFirstLetter = next.substring(1);
-                if (!directive && tempNextWithoutFirstLetter.contains("List")) {
-                    Tokenizer listTokenizer = new Tokenizer(next);
-                    String attrKey = listTokenizer.getToken(":");
-                    if (attrKey != null && listTokenizer.getChar() == ':' && "List"
-                            .equals(listTokenizer.getToken("<"))) {
-                        // we assume we must preserve escapes for , and "
-                        preserveEscapes = "\\,";
-                    }
-                }
-
-                String val = tokenizer.getString(";,", preserveEscapes);
-                if (val == null) {
-                    throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header: " +
-                            header + ", Value: " + value);
-                }
-
-                logger.debug(";" + next + "=" + val);
-                try {
-                    if (directive) {
-                        manifestElement.addDirective(next, val);
-                    } else {
-                        manifestElement.addAttribute(next, val);
-                    }
-                    directive = false;
-                } catch (RuntimeException e) {
-                    throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header: " +
-                            header + ", Value: " + value);
-                }
-                c = tokenizer.getChar();
-                if (c == ';') /* more */ {
-                    next = tokenizer.getToken("=:");
-                    if (next == null) {
-                        throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header: " +
-                                header + ", Value: " +
-                                value);
-                    }
-                    c = tokenizer.getChar();
-                }
-            }
-            headerElements.add(manifestElement);
-            if (c == ',') { /* another manifest element */
-                continue;
-            }
-            if (c == '\0') { /* end of value */
-                break;
-            }
-            throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header: " +
-                    header + ", Value: " + value);
-        }
-        int size = headerElements.size();
-        if (size == 0) {
-            return new ArrayList<>();
-        }
-
-        return headerElements;
+        return new HeaderParser(header, value).parse(bundle);
     }
 
     /**
@@ -504,4 +373,308 @@ public class ManifestElement {
             result.append("=\"").append(value).append('\"');
         }
     }
+
+    /**
+     * Compact table of the attributes or directives of a manifest element.
+     * <p>
+     * Keys and values are stored as consecutive pairs in a single array, in the order they were specified. A key with
+     * multiple values has one pair for each value. A manifest element has only a few attributes, hence a linear scan
+     * of the array is cheaper than hashing the keys.
+     */
+    private static final class ValueTable {
+
+        private String[] entries = new String[8];
+
+        private int size;
+
+        private void add(String key, String value) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = key;
+            entries[size++] = value;
+        }
+
+        private String getLastValue(String key) {
+            for (int i = size - 2; i >= 0; i -= 2) {
+                if (entries[i].equals(key)) {
+                    return entries[i + 1];
+                }
+            }
+            return null;
+        }
+
+        private String[] getValues(String key) {
+            int count = 0;
+            for (int i = 0; i < size; i += 2) {
+                if (entries[i].equals(key)) {
+                    count++;
+                }
+            }
+
+            String[] values = new String[count];
+            for (int i = 0, j = 0; j < count; i += 2) {
+                if (entries[i].equals(key)) {
+                    values[j++] = entries[i + 1];
+                }
+            }
+            return values;
+        }
+
+        private Enumeration<String> keys() {
+            List<String> keys = new ArrayList<>(size / 2);
+            for (int i = 0; i < size; i += 2) {
+                if (!keys.contains(entries[i])) {
+                    keys.add(entries[i]);
+                }
+            }
+            return Collections.enumeration(keys);
+        }
+    }
+
+    /**
+     * Single pass parser of manifest header values.
+     * <p>
+     * The parser scans the characters of the header value in place. Strings are created only for the values, the
+     * attribute keys and the attribute values of the resulting manifest elements. The results are the same as
+     * parsing the header value with the {@code Tokenizer} based parser of org.eclipse.osgi.util.
+     */
+    private static final class HeaderParser {
+
+        private final String header;
+
+        private final String value;
+
+        private final char[] chars;
+
+        private final int max;
+
+        private int cursor;
+
+        private HeaderParser(String header, String value) {
+            this.header = header;
+            this.value = value;
+            this.chars = value.toCharArray();
+            this.max = chars.length;
+        }
+
+        private List<ManifestElement> parse(Bundle bundle) throws ManifestElementParserException {
+            List<ManifestElement> headerElements = new ArrayList<>(10);
+            while (true) {
+                String next = getString(";,", false);
+                if (next == null) {
+                    throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header : " +
+                            header + ", Value: " + value);
+                }
+                // A StringBuilder is required only if the value has multiple components.
+                String headerValue = next;
+                StringBuilder headerValueBuilder = null;
+
+                if (logger.isDebugEnabled()) {
+                    logger.debug("parseHeader: {}", next);
+                }
+                boolean directive = false;
+                char c = getChar();
+                // Header values may be a list of ';' separated values.  Just append them all into one value until the
+                // first '=' or ','
+                while (c == ';') {
+                    next = getString(";,=:", false);
+                    if (next == null) {
+                        throw invalidHeader();
+                    }
+                    c = getChar();
+                    while (c == ':') { // may not really be a :=
+                        c = getChar();
+                        if (c != '=') {
+                            String restOfNext = getToken(";,=:");
+                            if (restOfNext == null) {
+                                throw invalidHeader();
+                            }
+                            next = next + ':' + c + restOfNext;
+                            c = getChar();
+                        } else {
+                            directive = true;
+                        }
+                    }
+                    if (c == ';' || c == ',' || c == '\0') /* more */ {
+                        if (headerValueBuilder == null) {
+                            headerValueBuilder = new StringBuilder(headerValue);
+                        }
+                        headerValueBuilder.append(';').append(next);
+                        if (logger.isDebugEnabled()) {
+                            logger.debug(";{}", next);
+                        }
+                    }
+                }
+                // found the header value create a manifestElement for it.
+                ManifestElement manifestElement = new ManifestElement(header, headerValueBuilder == null ?
+                        headerValue : headerValueBuilder.toString(), bundle);
+
+                // now add any attributes/directives for the manifestElement.
+                while (c == '=' || c == ':') {
+                    while (c == ':') { // may not really be a :=
+                        c = getChar();
+                        if (c != '=') {
+                            String restOfNext = getToken("=:");
+                            if (restOfNext == null) {
+                                throw invalidHeader();
+                            }
+                            next = next + ':' + c + restOfNext;
+                            c = getChar();
+                        } else {
+                            directive = true;
+                        }
+                    }
+                    // determine if the attribute is the form attr:List<type>, we assume we must preserve escapes
+                    // for , and " in that case
+                    boolean preserveEscapes = !directive && next.indexOf("List", 1) != -1 && isListType(next);
+
+                    String val = getString(";,", preserveEscapes);
+                    if (val == null) {
+                        throw invalidHeader();
+                    }
+
+                    if (logger.isDebugEnabled()) {
+                        logger.debug(";{}={}", next, val);
+                    }
+                    try {
+                        if (directive) {
+                            manifestElement.addDirective(next, val);
+                        } else {
+                            manifestElement.addAttribute(next, val);
+                        }
+                        directive = false;
+                    } catch (RuntimeException e) {
+                        throw invalidHeader();
+                    }
+
+                    c = getChar();
+                    if (c == ';') /* more */ {
+                        next = getToken("=:");
+                        if (next == null) {
+                            throw invalidHeader();
+                        }
+                        c = getChar();
+                    }
+                }
+                headerElements.add(manifestElement);
+                if (c == ',') { /* another manifest element */
+                    continue;
+                }
+                if (c == '\0') { /* end of value */
+                    break;
+                }
+                throw invalidHeader();
+            }
+            return headerElements;
+        }
+
+        private ManifestElementParserException invalidHeader() {
+            return new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header: " + header +
+                    ", Value: " + value);
+        }
+
+        private static boolean isListType(String attributeName) {
+            HeaderParser attributeParser = new HeaderParser(null, attributeName);
+            String attrKey = attributeParser.getToken(":");
+            return attrKey != null && attributeParser.getChar() == ':' && "List".equals(attributeParser.getToken("<"));
+        }
+
+        private void skipWhiteSpace() {
+            int cur = cursor;
+            while (cur < max) {
+                char c = chars[cur];
+                if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                    break;
+                }
+                cur++;
+            }
+            cursor = cur;
+        }
+
+        private String getToken(String terminals) {
+            skipWhiteSpace();
+            int cur = cursor;
+            int begin = cur;
+            while (cur < max && terminals.indexOf(chars[cur]) == -1) {
+                cur++;
+            }
+            cursor = cur;
+
+            int count = cur - begin;
+            if (count > 0) {
+                skipWhiteSpace();
+                while (count > 0 && (chars[begin + count - 1] == ' ' || chars[begin + count - 1] == '\t')) {
+                    count--;
+                }
+                return new String(chars, begin, count);
+            }
+            return null;
+        }
+
+        private String getString(String terminals, boolean preserveEscapes) {
+            skipWhiteSpace();
+            if (cursor >= max) {
+                return null;
+            }
+            if (chars[cursor] != '"') {
+                return getToken(terminals);
+            }
+
+            int cur = cursor + 1;
+            int begin = cur;
+            while (cur < max && chars[cur] != '"' && chars[cur] != '\\') {
+                cur++;
+            }
+
+            String result;
+            boolean closed;
+            if (cur < max && chars[cur] == '\\') {
+                // Escape characters are present, hence the value has to be copied character by character.
+                StringBuilder builder = new StringBuilder(max - begin).append(chars, begin, cur - begin);
+                char c = '\0';
+                for (; cur < max; cur++) {
+                    c = chars[cur];
+                    if (c == '\\') {
+                        cur++;
+                        if (cur == max) {
+                            break;
+                        }
+                        c = chars[cur];
+                        if (preserveEscapes && (c == '\\' || c == ',')) {
+                            builder.append('\\');
+                        }
+                    } else if (c == '"') {
+                        break;
+                    }
+                    builder.append(c);
+                }
+                result = builder.toString();
+                closed = c == '"';
+            } else {
+                result = new String(chars, begin, cur - begin);
+                closed = cur < max;
+            }
+
+            int count = cur - begin;
+            if (closed) {
+                cur++;
+            }
+            cursor = cur;
+            if (count > 0) {
+                skipWhiteSpace();
+                return result;
+            }
+            return null;
+        }
+
+        private char getChar() {
+            int cur = cursor;
+            if (cur < max) {
+                cursor = cur + 1;
+                return chars[cur];
+            }
+            return '\0';
+        }
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.context;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.internal.context.CarbonContextHolder;
+
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class tests the propagation of the carbon context by {@link CarbonContextExecutors}.
+ *
+ * @since 5.3.1
+ */
+public class CarbonContextExecutorsTest {
+
+    private static final String PROPERTY_NAME = "requestId";
+
+    private ExecutorService executorService;
+
+    @BeforeClass
+    public void init() {
+        executorService = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterClass
+    public void cleanup() {
+        executorService.shutdownNow();
+    }
+
+    @AfterMethod
+    public void destroyContext() {
+        PrivilegedCarbonContext.destroyCurrentContext();
+    }
+
+    @Test
+    public void testWrappedExecutorService() throws Exception {
+        ExecutorService wrappedExecutorService = CarbonContextExecutors.wrap(executorService);
+        Principal userPrincipal = () -> "executor";
+        PrivilegedCarbonContext.getCurrentContext().setUserPrincipal(userPrincipal);
+        PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_NAME, "request-1");
+
+        Assert.assertEquals(wrappedExecutorService.submit(CarbonContextExecutorsTest::getRequestId).get(),
+                "request-1");
+        Future<Principal> principalFuture =
+                wrappedExecutorService.submit(() -> CarbonContext.getCurrentContext().getUserPrincipal());
+        Assert.assertEquals(principalFuture.get(), userPrincipal);
+
+        PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_NAME, "request-2");
+        List<Callable<Object>> tasks = Arrays.asList(CarbonContextExecutorsTest::getRequestId,
+                CarbonContextExecutorsTest::getRequestId);
+        for (Future<Object> future : wrappedExecutorService.invokeAll(tasks)) {
+            Assert.assertEquals(future.get(), "request-2");
+        }
+        Assert.assertEquals(wrappedExecutorService.invokeAny(tasks), "request-2");
+    }
+
+    @Test
+    public void testPoolThreadIsLeftWithoutContext() throws Exception {
+        ExecutorService wrappedExecutorService = CarbonContextExecutors.wrap(executorService);
+        PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_NAME, "request-3");
+
+        Assert.assertEquals(wrappedExecutorService.submit(CarbonContextExecutorsTest::getRequestId).get(),
+                "request-3");
+        Assert.assertNull(executorService.submit(CarbonContextHolder::peekCurrentContextHolder).get());
+        Assert.assertNull(executorService.submit(CarbonContextExecutorsTest::getRequestId).get());
+    }
+
+    @Test
+    public void testCompletableFutureStages() throws Exception {
+        ExecutorService wrappedExecutorService = CarbonContextExecutors.wrap(executorService);
+        PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_NAME, "request-4");
+
+        CompletableFuture<String> future = CompletableFuture
+                .supplyAsync(() -> (String) getRequestId(), wrappedExecutorService)
+                .thenApplyAsync(requestId -> requestId + ":" + getRequestId(), wrappedExecutorService);
+        PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_NAME, "request-5");
+
+        Assert.assertEquals(future.get(10, TimeUnit.SECONDS), "request-4:request-4");
+    }
+
+    @Test
+    public void testWrappedRunnable() throws Exception {
+        PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_NAME, "request-6");
+        Object[] requestId = new Object[1];
+        Runnable runnable = CarbonContextExecutors.wrap(() -> {
+            requestId[0] = getRequestId();
+        });
+        PrivilegedCarbonContext.destroyCurrentContext();
+
+        Thread thread = new Thread(runnable);
+        thread.start();
+        thread.join();
+        Assert.assertEquals(requestId[0], "request-6");
+    }
+
+    private static Object getRequestId() {
+        return CarbonContext.getCurrentContext().getProperty(PROPERTY_NAME);
+    }
+}
@@ -21,6 +21,7 @@ import org.wso2.carbon.config.provider.ConfigProvider;
 import org.wso2.carbon.kernel.CarbonRuntime;
 import org.wso2.carbon.kernel.Constants;
 import org.wso2.carbon.kernel.internal.context.CarbonConfigProviderImpl;
+import org.wso2.carbon.kernel.internal.context.CarbonContextHolder;
 import org.wso2.carbon.kernel.internal.context.CarbonRuntimeFactory;
 
 import java.nio.file.Path;
@@ -97,6 +98,156 @@ public class CarbonContextTest {
                 );
     }
 
+    @Test
+    public void testRunWithContext() throws Exception {
+        Principal userPrincipal = () -> "scoped";
+        try {
+            PrivilegedCarbonContext.getCurrentContext().setUserPrincipal(userPrincipal);
+            PrivilegedCarbonContext.getCurrentContext().setProperty("scopedKey", "scopedValue");
+            CarbonContextSnapshot snapshot = PrivilegedCarbonContext.snapshot();
+            Assert.assertEquals(snapshot.getUserPrincipal(), userPrincipal);
+            Assert.assertEquals(snapshot.getProperty("scopedKey"), "scopedValue");
+
+            Thread thread = new Thread(() -> PrivilegedCarbonContext.runWithContext(snapshot, () -> {
+                Assert.assertEquals(CarbonContext.getCurrentContext().getUserPrincipal(), userPrincipal);
+                Assert.assertEquals(CarbonContext.getCurrentContext().getProperty("scopedKey"), "scopedValue");
+                PrivilegedCarbonContext.getCurrentContext().setProperty("scopedKey", "changedValue");
+            }));
+            thread.start();
+            thread.join();
+
+            // Changes within a scope do not affect the snapshot or the context of the thread which took it.
+            Assert.assertEquals(snapshot.getProperty("scopedKey"), "scopedValue");
+            Assert.assertEquals(CarbonContext.getCurrentContext().getProperty("scopedKey"), "scopedValue");
+
+            String result = PrivilegedCarbonContext.callWithContext(CarbonContextSnapshot.EMPTY, () -> {
+                Assert.assertNull(CarbonContext.getCurrentContext().getUserPrincipal());
+                return (String) CarbonContext.getCurrentContext().getProperty("scopedKey");
+            });
+            Assert.assertNull(result);
+            Assert.assertEquals(CarbonContext.getCurrentContext().getUserPrincipal(), userPrincipal);
+        } finally {
+            PrivilegedCarbonContext.destroyCurrentContext();
+        }
+    }
+
+    @Test
+    public void testContextViewsAreReused() throws Exception {
+        try {
+            PrivilegedCarbonContext privilegedCarbonContext = PrivilegedCarbonContext.getCurrentContext();
+            CarbonContext carbonContext = CarbonContext.getCurrentContext();
+            Assert.assertSame(PrivilegedCarbonContext.getCurrentContext(), privilegedCarbonContext);
+            Assert.assertSame(CarbonContext.getCurrentContext(), carbonContext);
+
+            PrivilegedCarbonContext.destroyCurrentContext();
+            Assert.assertNull(CarbonContextHolder.peekCurrentContextHolder());
+            Assert.assertNotSame(PrivilegedCarbonContext.getCurrentContext(), privilegedCarbonContext);
+            Assert.assertNotSame(CarbonContext.getCurrentContext(), carbonContext);
+        } finally {
+            PrivilegedCarbonContext.destroyCurrentContext();
+        }
+    }
+
+    @Test
+    public void testScopeDoesNotLeaveContextHolder() throws Exception {
+        PrivilegedCarbonContext.destroyCurrentContext();
+        PrivilegedCarbonContext.getCurrentContext().setProperty("scopedKey", "scopedValue");
+        CarbonContextSnapshot snapshot = PrivilegedCarbonContext.snapshot();
+        PrivilegedCarbonContext.destroyCurrentContext();
+
+        PrivilegedCarbonContext.runWithContext(snapshot, () ->
+                Assert.assertNotNull(CarbonContextHolder.peekCurrentContextHolder()));
+        Assert.assertNull(CarbonContextHolder.peekCurrentContextHolder());
+        Assert.assertSame(PrivilegedCarbonContext.snapshot(), CarbonContextSnapshot.EMPTY);
+    }
+
+    @Test
+    public void testRestoreSnapshot() throws Exception {
+        Principal userPrincipal = () -> "restored";
+        try {
+            PrivilegedCarbonContext.getCurrentContext().setUserPrincipal(userPrincipal);
+            CarbonContextSnapshot snapshot = PrivilegedCarbonContext.snapshot();
+
+            PrivilegedCarbonContext.restore(CarbonContextSnapshot.EMPTY);
+            Assert.assertNull(CarbonContextHolder.peekCurrentContextHolder());
+
+            PrivilegedCarbonContext.restore(snapshot);
+            Assert.assertEquals(CarbonContext.getCurrentContext().getUserPrincipal(), userPrincipal);
+        } finally {
+            PrivilegedCarbonContext.destroyCurrentContext();
+        }
+    }
+
+    @Test
+    public void testKeyedProperties() throws Exception {
+        ContextKey<Integer> attemptKey = ContextKey.register("attempt", Integer.class);
+        try {
+            PrivilegedCarbonContext.getCurrentContext().setProperty(attemptKey, 3);
+            int attempt = CarbonContext.getCurrentContext().getProperty(attemptKey);
+            Assert.assertEquals(attempt, 3);
+            Assert.assertEquals(CarbonContext.getCurrentContext().getProperty("attempt"), 3);
+
+            PrivilegedCarbonContext.getCurrentContext().setProperty("attempt", 4);
+            Assert.assertEquals(CarbonContext.getCurrentContext().getProperty(attemptKey), Integer.valueOf(4));
+
+            CarbonContextSnapshot snapshot = PrivilegedCarbonContext.snapshot();
+            PrivilegedCarbonContext.getCurrentContext().setProperty(attemptKey, null);
+            Assert.assertNull(CarbonContext.getCurrentContext().getProperty(attemptKey));
+            Assert.assertEquals(snapshot.getProperty(attemptKey), Integer.valueOf(4));
+            Assert.assertEquals(snapshot.getProperty("attempt"), 4);
+            Assert.assertSame(PrivilegedCarbonContext.snapshot(), CarbonContextSnapshot.EMPTY);
+        } finally {
+            PrivilegedCarbonContext.destroyCurrentContext();
+        }
+    }
+
+    @Test
+    public void testPropertyOfMismatchedTypeIsSetByName() throws Exception {
+        ContextKey<Integer> retriesKey = ContextKey.register("retries", Integer.class);
+        try {
+            PrivilegedCarbonContext privilegedCarbonContext = PrivilegedCarbonContext.getCurrentContext();
+            privilegedCarbonContext.setProperty(retriesKey, 3);
+            // A value which is not of the type of the key replaces the keyed value, but is only visible by its name.
+            privilegedCarbonContext.setProperty("retries", "three");
+            CarbonContext carbonContext = CarbonContext.getCurrentContext();
+            Assert.assertEquals(carbonContext.getProperty("retries"), "three");
+            Assert.assertNull(carbonContext.getProperty(retriesKey));
+            Assert.assertEquals(PrivilegedCarbonContext.snapshot().getProperty("retries"), "three");
+
+            privilegedCarbonContext.setProperty("retries", 4);
+            Assert.assertEquals(carbonContext.getProperty("retries"), 4);
+            Assert.assertEquals(carbonContext.getProperty(retriesKey), Integer.valueOf(4));
+        } finally {
+            PrivilegedCarbonContext.destroyCurrentContext();
+        }
+    }
+
+    @Test
+    public void testPropertySetBeforeKeyRegistration() throws Exception {
+        try {
+            PrivilegedCarbonContext.getCurrentContext().setProperty("tenantDomain", "carbon.super");
+            PrivilegedCarbonContext.getCurrentContext().setProperty("tenantId", "not-an-integer");
+            ContextKey<String> tenantDomainKey = ContextKey.register("tenantDomain", String.class);
+            ContextKey<Integer> tenantIdKey = ContextKey.register("tenantId", Integer.class);
+
+            CarbonContext carbonContext = CarbonContext.getCurrentContext();
+            Assert.assertEquals(carbonContext.getProperty("tenantDomain"), "carbon.super");
+            Assert.assertEquals(carbonContext.getProperty(tenantDomainKey), "carbon.super");
+            Assert.assertEquals(PrivilegedCarbonContext.snapshot().getProperty(tenantDomainKey), "carbon.super");
+            // A value which is not of the type of the key is only visible by its name.
+            Assert.assertEquals(carbonContext.getProperty("tenantId"), "not-an-integer");
+            Assert.assertNull(carbonContext.getProperty(tenantIdKey));
+
+            PrivilegedCarbonContext.getCurrentContext().setProperty(tenantDomainKey, "wso2.com");
+            Assert.assertEquals(carbonContext.getProperty("tenantDomain"), "wso2.com");
+            PrivilegedCarbonContext.getCurrentContext().setProperty(tenantDomainKey, null);
+            Assert.assertNull(carbonContext.getProperty("tenantDomain"));
+            Assert.assertNull(carbonContext.getProperty(tenantDomainKey));
+        } finally {
+            PrivilegedCarbonContext.destroyCurrentContext();
+        }
+    }
+
     private class CarbonContextInvoker extends Thread {
         String carbonContextPropertyKey;
         Object carbonContextPropertyValue;
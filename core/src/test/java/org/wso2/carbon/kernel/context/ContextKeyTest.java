@@ -0,0 +1,54 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.context;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * This class tests the registration of {@link ContextKey}s.
+ *
+ * @since 5.3.1
+ */
+public class ContextKeyTest {
+
+    @Test
+    public void testRegisterSameKeyAgain() {
+        ContextKey<String> contextKey = ContextKey.register("tenant-domain", String.class);
+
+        Assert.assertSame(ContextKey.register("tenant-domain", String.class), contextKey);
+        Assert.assertSame(ContextKey.lookup("tenant-domain"), contextKey);
+        Assert.assertEquals(contextKey.getName(), "tenant-domain");
+        Assert.assertEquals(contextKey.getType(), String.class);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testRegisterWithDifferentType() {
+        ContextKey.register("correlation-id", String.class);
+        ContextKey.register("correlation-id", Long.class);
+    }
+
+    @Test
+    public void testKeysHaveDenseIndexes() {
+        ContextKey<Object> firstKey = ContextKey.register("first-key", Object.class);
+        ContextKey<Object> secondKey = ContextKey.register("second-key", Object.class);
+
+        Assert.assertTrue(firstKey.index != secondKey.index);
+        Assert.assertTrue(firstKey.index < ContextKey.getKeyCount());
+        Assert.assertTrue(secondKey.index < ContextKey.getKeyCount());
+        Assert.assertNull(ContextKey.lookup("unregistered-key"));
+    }
+}
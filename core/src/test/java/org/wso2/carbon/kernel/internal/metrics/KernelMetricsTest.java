@@ -0,0 +1,132 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.context.PrivilegedCarbonContext;
+import org.wso2.carbon.kernel.internal.context.CarbonContextHolder;
+import org.wso2.carbon.kernel.internal.runtime.CarbonRuntimeService;
+import org.wso2.carbon.kernel.internal.runtime.CustomRuntime;
+import org.wso2.carbon.kernel.internal.runtime.RuntimeManager;
+import org.wso2.carbon.kernel.runtime.RuntimeLifecycleAction;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+/**
+ * This class tests the kernel metrics recorders and their MXBean.
+ *
+ * @since 5.3.1
+ */
+public class KernelMetricsTest {
+
+    @Test
+    public void testLatencyRecorder() {
+        LatencyRecorder latencyRecorder = new LatencyRecorder();
+        Assert.assertEquals(latencyRecorder.getPercentileMillis(99), 0.0);
+
+        for (int i = 0; i < 98; i++) {
+            latencyRecorder.record(TimeUnit.MICROSECONDS.toNanos(500));
+        }
+        latencyRecorder.record(TimeUnit.MILLISECONDS.toNanos(1));
+        latencyRecorder.record(TimeUnit.MILLISECONDS.toNanos(40));
+
+        Assert.assertEquals(latencyRecorder.getCount(), 100);
+        long[] bucketCounts = latencyRecorder.getBucketCounts();
+        Assert.assertEquals(bucketCounts.length, LatencyRecorder.getBucketBoundsMillis().length + 1);
+        // A latency equal to a bucket bound falls into that bucket.
+        Assert.assertEquals(bucketCounts[0], 99);
+        Assert.assertEquals(bucketCounts[5], 1);
+        Assert.assertEquals(latencyRecorder.getPercentileMillis(50), 1.0);
+        Assert.assertEquals(latencyRecorder.getPercentileMillis(100), 40.0);
+        Assert.assertEquals(latencyRecorder.getMaxMillis(), 40.0);
+    }
+
+    @Test
+    public void testRuntimeActionLatencies() throws Exception {
+        RuntimeManager runtimeManager = new RuntimeManager();
+        runtimeManager.registerRuntime(new CustomRuntime());
+        CarbonRuntimeService runtimeService = new CarbonRuntimeService(runtimeManager);
+        runtimeService.stopRuntimes();
+        runtimeService.orchestrate(RuntimeLifecycleAction.STOP);
+
+        LatencyRecorder latencyRecorder = KernelMetrics.getInstance()
+                .getRuntimeLatencyRecorders(RuntimeLifecycleAction.STOP).get(CustomRuntime.class.getName());
+        Assert.assertNotNull(latencyRecorder);
+        Assert.assertTrue(latencyRecorder.getCount() >= 2);
+        Assert.assertTrue(KernelMetrics.getInstance().getRuntimeLatencies()
+                .containsKey("STOP " + CustomRuntime.class.getName()));
+    }
+
+    @Test
+    public void testContextHolderCounts() {
+        KernelMetrics kernelMetrics = KernelMetrics.getInstance();
+        PrivilegedCarbonContext.destroyCurrentContext();
+        long createdCount = kernelMetrics.getCreatedContextHolderCount();
+        long boundCount = kernelMetrics.getBoundContextHolderCount();
+
+        PrivilegedCarbonContext.getCurrentContext().setProperty("metrics", "value");
+        Assert.assertEquals(kernelMetrics.getCreatedContextHolderCount(), createdCount + 1);
+        Assert.assertEquals(kernelMetrics.getBoundContextHolderCount(), boundCount + 1);
+
+        PrivilegedCarbonContext.destroyCurrentContext();
+        Assert.assertEquals(kernelMetrics.getBoundContextHolderCount(), boundCount);
+    }
+
+    @Test
+    public void testContextHolderCopyAndDestroyCounts() {
+        KernelMetrics kernelMetrics = KernelMetrics.getInstance();
+        PrivilegedCarbonContext.destroyCurrentContext();
+        long createdCount = kernelMetrics.getCreatedContextHolderCount();
+        long boundCount = kernelMetrics.getBoundContextHolderCount();
+
+        CarbonContextHolder carbonContextHolder = CarbonContextHolder.getCurrentContextHolder();
+        CarbonContextHolder.copyOf(carbonContextHolder);
+        Assert.assertEquals(kernelMetrics.getCreatedContextHolderCount(), createdCount + 1);
+        Assert.assertEquals(kernelMetrics.getBoundContextHolderCount(), boundCount + 1);
+
+        carbonContextHolder.destroyCurrentCarbonContextHolder();
+        Assert.assertNull(CarbonContextHolder.peekCurrentContextHolder());
+        Assert.assertEquals(kernelMetrics.getBoundContextHolderCount(), boundCount);
+    }
+
+    @Test
+    public void testMXBeanAttributes() throws Exception {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName("org.wso2.carbon.test:type=KernelMetrics");
+        mBeanServer.registerMBean(KernelMetrics.getInstance(), objectName);
+        try {
+            KernelMetrics.getInstance().recordBootPhase("test", TimeUnit.MILLISECONDS.toNanos(7));
+            TabularData bootPhaseDurations = (TabularData) mBeanServer.getAttribute(objectName,
+                    "BootPhaseDurations");
+            CompositeData bootPhase = bootPhaseDurations.get(new Object[]{"test"});
+            Assert.assertEquals(bootPhase.get("value"), 7L);
+
+            Assert.assertEquals(mBeanServer.getAttribute(objectName, "ResolverPendingComponentCount"), 0);
+            Assert.assertNotNull(mBeanServer.getAttribute(objectName, "RuntimeLatencies"));
+            Map<String, Long> durations = KernelMetrics.getInstance().getBootPhaseDurations();
+            Assert.assertEquals(durations.get("test"), Long.valueOf(7));
+        } finally {
+            mBeanServer.unregisterMBean(objectName);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.runtime.RuntimeLifecycleAction;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class tests the rendering and the HTTP endpoint of {@link OpenMetricsExporter}.
+ *
+ * @since 5.3.1
+ */
+public class OpenMetricsExporterTest {
+
+    @Test
+    public void testWriteNumbers() {
+        OpenMetricsWriter writer = new OpenMetricsWriter(1);
+        writer.writeLong(-1234567890123L);
+        writer.write(' ');
+        writer.writeFixed(1500, 3);
+        writer.write(' ');
+        writer.writeFixed(7, 9);
+        writer.write(' ');
+        writer.writeDouble(0.25);
+        writer.write(' ');
+        writer.writeDouble(Double.NaN);
+        writer.write(' ');
+        writer.writeValue(42, 0);
+        Assert.assertEquals(writer.toString(), "-1234567890123 1.500 0.000000007 0.250000 NaN 42");
+        Assert.assertEquals(OpenMetricsWriter.escapeLabelValue("a\"b\\c\nd"), "a\\\"b\\\\c\\nd");
+    }
+
+    @Test
+    public void testRenderPlatformMetrics() {
+        OpenMetricsExporter exporter = new OpenMetricsExporter(ManagementFactory.getPlatformMBeanServer(), null);
+        String metrics = exporter.render();
+
+        Assert.assertTrue(metrics.contains("# TYPE jvm_memory_used_bytes gauge\n"));
+        Assert.assertTrue(metrics.contains("jvm_memory_used_bytes{area=\"heap\"} "));
+        Assert.assertTrue(metrics.contains("\njvm_threads_current "));
+        Assert.assertTrue(metrics.contains("\njvm_gc_collections_total{gc=\""));
+        Assert.assertTrue(metrics.endsWith("# EOF\n"));
+        // The buffers are reused across scrapes.
+        Assert.assertEquals(exporter.render().split("\n").length, metrics.split("\n").length);
+    }
+
+    @Test
+    public void testRenderRuntimeActionHistogram() {
+        KernelMetrics.getInstance().recordRuntimeAction("exporter-test", RuntimeLifecycleAction.STOP,
+                TimeUnit.MILLISECONDS.toNanos(20));
+        OpenMetricsExporter exporter = new OpenMetricsExporter(null, KernelMetrics.getInstance());
+        String metrics = exporter.render();
+
+        Assert.assertTrue(metrics.contains("# TYPE carbon_runtime_action_seconds histogram\n"));
+        String labels = "{action=\"stop\",runtime=\"exporter-test\"";
+        Assert.assertTrue(metrics.contains("carbon_runtime_action_seconds_bucket" + labels + ",le=\"0.010\"} 0\n"));
+        Assert.assertTrue(metrics.contains("carbon_runtime_action_seconds_bucket" + labels + ",le=\"0.025\"} 1\n"));
+        Assert.assertTrue(metrics.contains("carbon_runtime_action_seconds_bucket" + labels + ",le=\"+Inf\"} 1\n"));
+        Assert.assertTrue(metrics.contains("carbon_runtime_action_seconds_count" + labels + "} 1\n"));
+        Assert.assertTrue(metrics.contains("carbon_runtime_action_seconds_sum" + labels + "} 0.020000000\n"));
+        Assert.assertTrue(metrics.contains("\ncarbon_context_holders_created_total "));
+    }
+
+    @Test
+    public void testScrape() throws Exception {
+        OpenMetricsExporter exporter = new OpenMetricsExporter(ManagementFactory.getPlatformMBeanServer(),
+                KernelMetrics.getInstance());
+        exporter.start("127.0.0.1", 0);
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + exporter.getPort() +
+                    OpenMetricsExporter.METRICS_PATH).openConnection();
+            Assert.assertEquals(connection.getResponseCode(), 200);
+            Assert.assertTrue(connection.getContentType().startsWith("application/openmetrics-text"));
+            String metrics = read(connection.getInputStream());
+            Assert.assertEquals(connection.getContentLength(), metrics.getBytes(StandardCharsets.UTF_8).length);
+            Assert.assertTrue(metrics.contains("\njvm_threads_current "));
+            Assert.assertTrue(metrics.endsWith("# EOF\n"));
+
+            connection = (HttpURLConnection) new URL("http://127.0.0.1:" + exporter.getPort() + "/other")
+                    .openConnection();
+            Assert.assertEquals(connection.getResponseCode(), 404);
+        } finally {
+            exporter.stop();
+        }
+        Assert.assertEquals(exporter.getPort(), -1);
+    }
+
+    private static String read(InputStream inputStream) throws Exception {
+        try (InputStream in = inputStream) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+            return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
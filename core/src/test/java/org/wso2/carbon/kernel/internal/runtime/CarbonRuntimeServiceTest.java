@@ -0,0 +1,270 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.runtime;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.runtime.OrchestratedRuntime;
+import org.wso2.carbon.kernel.runtime.RuntimeLifecycleAction;
+import org.wso2.carbon.kernel.runtime.RuntimeLifecycleReport;
+import org.wso2.carbon.kernel.runtime.RuntimeLifecycleReport.Outcome;
+import org.wso2.carbon.kernel.runtime.RuntimeLifecycleReport.Status;
+import org.wso2.carbon.kernel.runtime.RuntimeState;
+import org.wso2.carbon.kernel.runtime.exception.RuntimeServiceException;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class tests the lifecycle orchestration of {@link CarbonRuntimeService}.
+ *
+ * @since 5.3.1
+ */
+public class CarbonRuntimeServiceTest {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testIndependentRuntimesRunInParallel() throws Exception {
+        events.clear();
+        RuntimeManager runtimeManager = new RuntimeManager();
+        CountDownLatch startedRuntimes = new CountDownLatch(4);
+        for (int i = 0; i < 4; i++) {
+            // Each runtime waits for all the others to start, hence they only complete if they run in parallel.
+            runtimeManager.registerRuntime(new TestRuntime("runtime-" + i, 0, () -> {
+                startedRuntimes.countDown();
+                if (!startedRuntimes.await(10, TimeUnit.SECONDS)) {
+                    throw new RuntimeServiceException("Runtimes did not start in parallel");
+                }
+            }));
+        }
+
+        RuntimeLifecycleReport report = new CarbonRuntimeService(runtimeManager)
+                .orchestrate(RuntimeLifecycleAction.START);
+        Assert.assertTrue(report.isSuccessful(), report.toString());
+        Assert.assertEquals(report.getOutcomes().size(), 4);
+        runtimeManager.getRuntimeList()
+                .forEach(runtime -> Assert.assertEquals(runtime.getState(), RuntimeState.ACTIVE));
+    }
+
+    @Test
+    public void testDependencyAndPriorityOrder() throws Exception {
+        events.clear();
+        RuntimeManager runtimeManager = new RuntimeManager();
+        runtimeManager.registerRuntime(new TestRuntime("transport", 1, null));
+        runtimeManager.registerRuntime(new TestRuntime("deployer", 0, null, "registry"));
+        runtimeManager.registerRuntime(new TestRuntime("registry", 0, null));
+        CarbonRuntimeService runtimeService = new CarbonRuntimeService(runtimeManager);
+
+        Assert.assertTrue(runtimeService.orchestrate(RuntimeLifecycleAction.START).isSuccessful());
+        Assert.assertEquals(events, Arrays.asList("START registry", "START deployer", "START transport"));
+
+        events.clear();
+        Assert.assertTrue(runtimeService.orchestrate(RuntimeLifecycleAction.STOP).isSuccessful());
+        Assert.assertEquals(events, Arrays.asList("STOP transport", "STOP deployer", "STOP registry"));
+    }
+
+    @Test
+    public void testFailureSkipsDependentRuntimesOnly() throws Exception {
+        events.clear();
+        RuntimeManager runtimeManager = new RuntimeManager();
+        runtimeManager.registerRuntime(new TestRuntime("registry", 0, () -> {
+            throw new RuntimeServiceException("Registry is not reachable");
+        }));
+        runtimeManager.registerRuntime(new TestRuntime("deployer", 0, null, "registry"));
+        runtimeManager.registerRuntime(new TestRuntime("scheduler", 0, null));
+        runtimeManager.registerRuntime(new TestRuntime("tooling", 0, null, "missing"));
+
+        RuntimeLifecycleReport report = new CarbonRuntimeService(runtimeManager)
+                .orchestrate(RuntimeLifecycleAction.START);
+        Assert.assertFalse(report.isSuccessful());
+        List<Outcome> outcomes = report.getOutcomes();
+        Assert.assertEquals(outcomes.get(0).getStatus(), Status.FAILED);
+        Assert.assertEquals(outcomes.get(0).getMessage(), "Registry is not reachable");
+        Assert.assertEquals(outcomes.get(1).getStatus(), Status.SKIPPED);
+        Assert.assertEquals(outcomes.get(2).getStatus(), Status.COMPLETED);
+        Assert.assertEquals(outcomes.get(3).getStatus(), Status.SKIPPED);
+        Assert.assertEquals(events, Arrays.asList("START scheduler"));
+    }
+
+    @Test
+    public void testTimeoutAndCycle() throws Exception {
+        events.clear();
+        RuntimeManager runtimeManager = new RuntimeManager();
+        runtimeManager.registerRuntime(new TestRuntime("slow", 0, () -> Thread.sleep(TimeUnit.SECONDS.toMillis(30))));
+        runtimeManager.registerRuntime(new TestRuntime("first", 0, null, "second"));
+        runtimeManager.registerRuntime(new TestRuntime("second", 0, null, "first"));
+
+        long startTime = System.nanoTime();
+        RuntimeLifecycleReport report = new CarbonRuntimeService(runtimeManager, 200)
+                .orchestrate(RuntimeLifecycleAction.START);
+        Assert.assertTrue(System.nanoTime() - startTime < TimeUnit.SECONDS.toNanos(10));
+        Assert.assertEquals(report.getOutcomes(Status.TIMED_OUT).size(), 1);
+        Assert.assertEquals(report.getOutcomes(Status.SKIPPED).size(), 2);
+        Assert.assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testTimeoutExcludesWaitForWorkerThread() throws Exception {
+        events.clear();
+        RuntimeManager runtimeManager = new RuntimeManager();
+        // Three times as many ready runtimes as the worker threads, each well within the timeout on its own, while
+        // the last of them only start after the timeout has elapsed since the orchestration started.
+        for (int i = 0; i < 48; i++) {
+            runtimeManager.registerRuntime(new TestRuntime("runtime-" + i, 0, () -> Thread.sleep(400)));
+        }
+
+        RuntimeLifecycleReport report = new CarbonRuntimeService(runtimeManager, 1000)
+                .orchestrate(RuntimeLifecycleAction.START);
+        Assert.assertTrue(report.isSuccessful(), report.toString());
+        Assert.assertEquals(report.getOutcomes(Status.COMPLETED).size(), 48);
+    }
+
+    @Test
+    public void testHungRuntimesDoNotBlockWaitingRuntimes() throws Exception {
+        events.clear();
+        RuntimeManager runtimeManager = new RuntimeManager();
+        CountDownLatch release = new CountDownLatch(1);
+        // More hung runtimes than the worker threads, which keep their threads after they are timed out.
+        for (int i = 0; i < 20; i++) {
+            runtimeManager.registerRuntime(new TestRuntime("runtime-" + i, 0, () -> {
+                while (release.getCount() > 0) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        // Ignores the interruption, as a hung runtime does.
+                    }
+                }
+            }));
+        }
+
+        try {
+            long startTime = System.nanoTime();
+            RuntimeLifecycleReport report = new CarbonRuntimeService(runtimeManager, 200)
+                    .orchestrate(RuntimeLifecycleAction.START);
+            Assert.assertTrue(System.nanoTime() - startTime < TimeUnit.SECONDS.toNanos(10));
+            Assert.assertEquals(report.getOutcomes(Status.TIMED_OUT).size(), 20);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testOrchestrateRuntimesThroughMBean() throws Exception {
+        events.clear();
+        RuntimeManager runtimeManager = new RuntimeManager();
+        runtimeManager.registerRuntime(new TestRuntime("registry", 0, null));
+        CarbonRuntimeServiceMBean runtimeServiceMBean = new CarbonRuntimeService(runtimeManager);
+
+        Assert.assertTrue(runtimeServiceMBean.orchestrateRuntimes("start").startsWith("START of 1 runtime(s)"));
+        try {
+            runtimeServiceMBean.orchestrateRuntimes("restart");
+            Assert.fail("An unknown action should not be accepted");
+        } catch (RuntimeServiceException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Unknown runtime lifecycle action restart"));
+        }
+    }
+
+    /**
+     * The action of a test runtime.
+     */
+    private interface RuntimeAction {
+        void run() throws Exception;
+    }
+
+    /**
+     * An orchestrated runtime, which records its lifecycle events.
+     */
+    private class TestRuntime implements OrchestratedRuntime {
+        private final String name;
+        private final int priority;
+        private final RuntimeAction startAction;
+        private final Set<String> dependencies;
+        private volatile RuntimeState state = RuntimeState.INACTIVE;
+
+        TestRuntime(String name, int priority, RuntimeAction startAction, String... dependencies) {
+            this.name = name;
+            this.priority = priority;
+            this.startAction = startAction;
+            this.dependencies = new HashSet<>(Arrays.asList(dependencies));
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public Set<String> getDependencies() {
+            return dependencies;
+        }
+
+        @Override
+        public void init() throws RuntimeServiceException {
+        }
+
+        @Override
+        public void start() throws RuntimeServiceException {
+            if (startAction != null) {
+                try {
+                    startAction.run();
+                } catch (RuntimeServiceException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new RuntimeServiceException("Error while starting " + name, e);
+                }
+            }
+            events.add("START " + name);
+            state = RuntimeState.ACTIVE;
+        }
+
+        @Override
+        public void stop() throws RuntimeServiceException {
+            events.add("STOP " + name);
+            state = RuntimeState.INACTIVE;
+        }
+
+        @Override
+        public void beginMaintenance() throws RuntimeServiceException {
+            state = RuntimeState.MAINTENANCE;
+        }
+
+        @Override
+        public void endMaintenance() throws RuntimeServiceException {
+            state = RuntimeState.INACTIVE;
+        }
+
+        @Override
+        public Enum<RuntimeState> getState() {
+            return state;
+        }
+
+        @Override
+        public void setState(RuntimeState runtimeState) {
+            state = runtimeState;
+        }
+    }
+}
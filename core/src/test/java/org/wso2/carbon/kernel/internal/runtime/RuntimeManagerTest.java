@@ -20,6 +20,8 @@ import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Test;
 import org.wso2.carbon.kernel.runtime.Runtime;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -50,4 +52,67 @@ public class RuntimeManagerTest {
         runtimeManager.unRegisterRuntime(runtime);
         Assert.assertTrue(runtimeManager.getRuntimeList().size() == 0);
     }
+
+    @Test
+    public void testRuntimeLookup() {
+        RuntimeManager runtimeManager = new RuntimeManager();
+        CustomRuntime customRuntime = new CustomRuntime();
+        runtimeManager.registerRuntime(customRuntime);
+
+        Assert.assertSame(runtimeManager.getRuntime(CustomRuntime.class), customRuntime);
+        Assert.assertSame(runtimeManager.getRuntime(CustomRuntime.class.getName()), customRuntime);
+        runtimeManager.unRegisterRuntime(customRuntime);
+        Assert.assertNull(runtimeManager.getRuntime(CustomRuntime.class));
+        Assert.assertNull(runtimeManager.getRuntime(CustomRuntime.class.getName()));
+    }
+
+    @Test
+    public void testRuntimeListIsSnapshot() {
+        RuntimeManager runtimeManager = new RuntimeManager();
+        Runtime firstRuntime = new CustomRuntime();
+        runtimeManager.registerRuntime(firstRuntime);
+
+        List<Runtime> runtimeList = runtimeManager.getRuntimeList();
+        int iteratedRuntimes = 0;
+        for (Runtime ignored : runtimeList) {
+            // Registering while iterating does not affect the iterated snapshot.
+            runtimeManager.registerRuntime(new CustomRuntime());
+            iteratedRuntimes++;
+        }
+        Assert.assertEquals(iteratedRuntimes, 1);
+        Assert.assertEquals(runtimeManager.getRuntimeList().size(), 2);
+        try {
+            runtimeList.add(firstRuntime);
+            Assert.fail("The runtime list should not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            Assert.assertEquals(runtimeList.size(), 1);
+        }
+    }
+
+    @Test
+    public void testRuntimeListener() {
+        RuntimeManager runtimeManager = new RuntimeManager();
+        List<String> events = new ArrayList<>();
+        RuntimeListener runtimeListener = new RuntimeListener() {
+            @Override
+            public void runtimeRegistered(Runtime runtime) {
+                events.add("registered " + runtimeManager.getRuntimeList().size());
+            }
+
+            @Override
+            public void runtimeUnregistered(Runtime runtime) {
+                events.add("unregistered " + runtimeManager.getRuntimeList().size());
+            }
+        };
+        runtimeManager.addRuntimeListener(runtimeListener);
+
+        Runtime customRuntime = new CustomRuntime();
+        runtimeManager.registerRuntime(customRuntime);
+        runtimeManager.unRegisterRuntime(customRuntime);
+        runtimeManager.unRegisterRuntime(customRuntime);
+        runtimeManager.removeRuntimeListener(runtimeListener);
+        runtimeManager.registerRuntime(customRuntime);
+
+        Assert.assertEquals(events, Arrays.asList("registered 1", "unregistered 0"));
+    }
 }
@@ -19,8 +19,15 @@ import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * This class tests the functionality of org.wso2.carbon.kernel.internal.startupresolver.MultiCounter.
@@ -85,4 +92,40 @@ public class MultiCounterTest {
     public void testDecrementAndGetWrongKey() throws Exception {
         Assert.assertEquals(multiCounter.decrementAndGet("wrong-key"), -1);
     }
+
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        MultiCounter<String> counter = new MultiCounter<>();
+        int threadCount = 8;
+        int updateCount = 10000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executorService.submit(() -> {
+                    startLatch.await();
+                    for (int j = 0; j < updateCount; j++) {
+                        counter.incrementAndGet("shared-key");
+                        counter.incrementAndGet("key-" + (j % 4));
+                        counter.decrementAndGet("key-" + (j % 4));
+                    }
+                    return null;
+                }));
+            }
+            startLatch.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        Assert.assertEquals(counter.get("shared-key"), threadCount * updateCount);
+        for (int i = 0; i < 4; i++) {
+            Assert.assertEquals(counter.get("key-" + i), 0);
+        }
+        Assert.assertEquals(counter.getAllKeys().size(), 5);
+        Assert.assertEquals(counter.getKeysWithNonZeroCount(), Collections.singletonList("shared-key"));
+    }
 }
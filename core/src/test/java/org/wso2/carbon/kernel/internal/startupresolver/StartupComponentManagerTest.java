@@ -0,0 +1,184 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.easymock.EasyMock;
+import org.osgi.framework.Bundle;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.startupresolver.StartupComponentManager.
+ *
+ * @since 5.3.1
+ */
+public class StartupComponentManagerTest {
+
+    private static final String COMPONENT_NAME = "startup-component-manager-test";
+    private static final String REQUIRED_SERVICE = Runnable.class.getName();
+
+    private StartupComponentManager startupComponentManager;
+    private StartupComponent startupComponent;
+    private Bundle bundle;
+    private List<String> updatedComponents = new ArrayList<>();
+    private AtomicInteger notificationCount = new AtomicInteger();
+
+    @BeforeClass
+    public void init() {
+        bundle = EasyMock.createNiceMock(Bundle.class);
+        EasyMock.replay(bundle);
+
+        startupComponentManager = new StartupComponentManager();
+        startupComponent = new StartupComponent(COMPONENT_NAME, bundle);
+        startupComponent.addRequiredService(REQUIRED_SERVICE);
+        startupComponentManager.addStartupComponent(startupComponent);
+        startupComponentManager.setComponentUpdateListener(component -> updatedComponents.add(component.getName()));
+        StartupServiceCache.getInstance().setUpdateListener(startupComponentManager::updateAvailableService);
+    }
+
+    @AfterClass
+    public void cleanup() {
+        StartupServiceCache.getInstance().setUpdateListener(null);
+    }
+
+    @Test
+    public void testGetComponentsRequiring() {
+        String additionalService = Callable.class.getName();
+        startupComponentManager.addRequiredOSGiServiceToComponent(COMPONENT_NAME, additionalService);
+        startupComponentManager.addRequiredOSGiServiceToComponent(COMPONENT_NAME, additionalService);
+
+        Assert.assertEquals(startupComponentManager.getComponentsRequiring(REQUIRED_SERVICE).size(), 1);
+        Assert.assertSame(startupComponentManager.getComponentsRequiring(additionalService).get(0),
+                startupComponent);
+        Assert.assertEquals(startupComponentManager.getComponentsRequiring(additionalService).size(), 1);
+        Assert.assertTrue(startupComponentManager.getComponentsRequiring("wrong-capability").isEmpty());
+    }
+
+    @Test
+    public void testComponentUpdateListener() {
+        startupComponentManager.addExpectedCapability(new OSGiServiceCapability(REQUIRED_SERVICE,
+                Capability.CapabilityType.OSGi_SERVICE, Capability.CapabilityState.EXPECTED, bundle, true));
+        startupComponentManager.addRequiredCapabilityListener(notificationCount::incrementAndGet, COMPONENT_NAME,
+                bundle);
+
+        Assert.assertEquals(updatedComponents.size(), 2);
+        Assert.assertEquals(updatedComponents.get(0), COMPONENT_NAME);
+        Assert.assertSame(startupComponentManager.getComponent(COMPONENT_NAME), startupComponent);
+    }
+
+    @Test(dependsOnMethods = "testComponentUpdateListener")
+    public void testNotifyIfSatisfiableWithPendingCapability() {
+        startupComponentManager.notifyIfSatisfiable(startupComponent);
+
+        Assert.assertEquals(notificationCount.get(), 0);
+        Assert.assertTrue(startupComponentManager.hasPendingComponents());
+    }
+
+    @Test(dependsOnMethods = "testNotifyIfSatisfiableWithPendingCapability")
+    public void testNotifyIfSatisfiable() {
+        StartupServiceCache.getInstance().update(COMPONENT_NAME, Runnable.class);
+        startupComponentManager.notifyIfSatisfiable(startupComponent);
+        startupComponentManager.notifyIfSatisfiable(startupComponent);
+
+        Assert.assertEquals(notificationCount.get(), 1);
+        Assert.assertTrue(startupComponent.isSatisfied());
+        Assert.assertFalse(startupComponentManager.hasPendingComponents());
+    }
+
+    @Test
+    public void testParallelNotification() throws Exception {
+        StartupComponentManager manager = new StartupComponentManager();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        manager.setNotificationExecutor(executor);
+
+        CountDownLatch blockingListenerLatch = new CountDownLatch(1);
+        CountDownLatch notifiedLatch = new CountDownLatch(2);
+        AtomicInteger parallelNotificationCount = new AtomicInteger();
+
+        StartupComponent slowComponent = new StartupComponent("slow-component", bundle);
+        slowComponent.setListener(() -> {
+            parallelNotificationCount.incrementAndGet();
+            try {
+                blockingListenerLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            notifiedLatch.countDown();
+        });
+        StartupComponent fastComponent = new StartupComponent("fast-component", bundle);
+        fastComponent.setListener(() -> {
+            parallelNotificationCount.incrementAndGet();
+            notifiedLatch.countDown();
+            throw new IllegalStateException("Listener failure should not affect other listeners");
+        });
+        manager.addStartupComponent(slowComponent);
+        manager.addStartupComponent(fastComponent);
+
+        try {
+            manager.notifySatisfiableComponents();
+            manager.notifySatisfiableComponents();
+            Assert.assertFalse(manager.hasPendingComponents());
+            Assert.assertTrue(manager.hasRunningNotifications());
+
+            blockingListenerLatch.countDown();
+            Assert.assertTrue(notifiedLatch.await(10, TimeUnit.SECONDS));
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            Assert.assertFalse(manager.hasRunningNotifications());
+            Assert.assertEquals(parallelNotificationCount.get(), 2);
+        } finally {
+            blockingListenerLatch.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testComponentSatisfiedListener() {
+        StartupComponentManager manager = new StartupComponentManager();
+        List<String> satisfiedComponents = new ArrayList<>();
+        manager.setComponentSatisfiedListener(component -> {
+            Assert.assertTrue(component.isSatisfied());
+            satisfiedComponents.add(component.getName());
+        });
+
+        StartupComponent satisfiableComponent = new StartupComponent("satisfiable-component", bundle);
+        satisfiableComponent.setListener(() -> {
+        });
+        StartupComponent pendingComponent = new StartupComponent("pending-component", bundle);
+        manager.addStartupComponent(satisfiableComponent);
+        manager.addStartupComponent(pendingComponent);
+
+        manager.notifySatisfiableComponents();
+        manager.notifySatisfiableComponents();
+
+        Assert.assertEquals(satisfiedComponents.size(), 1);
+        Assert.assertEquals(satisfiedComponents.get(0), "satisfiable-component");
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.easymock.EasyMock;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.Version;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.CapabilityProviderCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+import org.wso2.carbon.kernel.startupresolver.CapabilityProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.startupresolver.StartupDependencyGraph.
+ *
+ * @since 5.3.1
+ */
+public class StartupDependencyGraphTest {
+
+    private StartupDependencyGraph dependencyGraph;
+
+    /**
+     * Components a and b wait for each other, c waits for the cycle, d has no listener, e waits for a capability
+     * of a bundle without startup components, f waits for a CapabilityProvider of d and g is satisfiable.
+     */
+    @BeforeClass
+    public void init() {
+        Bundle bundleA = createBundle("bundle.a");
+        Bundle bundleB = createBundle("bundle.b");
+        Bundle bundleD = createBundle("bundle.d");
+        Bundle externalBundle = createBundle("bundle.external");
+
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        addComponent(startupComponentManager, "a", bundleA, "service.b");
+        addComponent(startupComponentManager, "b", bundleB, "service.a");
+        addComponent(startupComponentManager, "c", createBundle("bundle.c"), "service.a");
+        addComponent(startupComponentManager, "d", bundleD, "service.g");
+        addComponent(startupComponentManager, "e", createBundle("bundle.e"), "service.external");
+        addComponent(startupComponentManager, "f", createBundle("bundle.f"), "service.d");
+        addComponent(startupComponentManager, "g", createBundle("bundle.g"), "service.none");
+
+        startupComponentManager.getComponent("d").setListener(null);
+        addExpectedCapability(startupComponentManager, "service.a", bundleA);
+        addExpectedCapability(startupComponentManager, "service.b", bundleB);
+        addExpectedCapability(startupComponentManager, "service.external", externalBundle);
+        startupComponentManager.addExpectedOrAvailableCapabilityProvider(new CapabilityProviderCapability(
+                CapabilityProvider.class.getName(), Capability.CapabilityType.OSGi_SERVICE,
+                Capability.CapabilityState.EXPECTED, "service.d", bundleD));
+
+        dependencyGraph = StartupDependencyGraph.build(
+                startupComponentManager.getComponents(StartupComponent::isPending));
+    }
+
+    @Test
+    public void testCycles() {
+        Assert.assertEquals(dependencyGraph.getCycles(), Collections.singletonList(Arrays.asList("a", "b", "a")));
+    }
+
+    @Test
+    public void testMinimalBlockingSet() {
+        Assert.assertEquals(dependencyGraph.getMinimalBlockingSet(), Arrays.asList("a", "b", "d", "e"));
+    }
+
+    @Test
+    public void testBlockingSummary() {
+        String blockingSummary = dependencyGraph.getBlockingSummary();
+
+        Assert.assertTrue(blockingSummary.startsWith("Startup is blocked by 4 of 7 pending startup components."));
+        Assert.assertTrue(blockingSummary.contains("Dependency cycle: a(bundle.a:1.0.0) -> b(bundle.b:1.0.0) -> " +
+                "a(bundle.a:1.0.0)"));
+        Assert.assertTrue(blockingSummary.contains("d(bundle.d:1.0.0) is waiting for RequiredCapabilityListener " +
+                "OSGi service with componentName d"));
+        Assert.assertTrue(blockingSummary.contains("e(bundle.e:1.0.0) is waiting for capability service.external " +
+                "from bundle(bundle.external:1.0.0)"));
+        Assert.assertFalse(blockingSummary.contains("c(bundle.c:1.0.0)"));
+    }
+
+    @Test
+    public void testBlockingSummaryWithoutBlockingComponents() {
+        StartupComponent startupComponent = new StartupComponent("satisfiable", createBundle("bundle.satisfiable"));
+        startupComponent.setListener(() -> {
+        });
+
+        StartupDependencyGraph graph = StartupDependencyGraph.build(Collections.singletonList(startupComponent));
+        Assert.assertTrue(graph.getCycles().isEmpty());
+        Assert.assertTrue(graph.getMinimalBlockingSet().isEmpty());
+        Assert.assertEquals(graph.getBlockingSummary(), "");
+    }
+
+    @Test
+    public void testSelfDependency() {
+        Bundle bundle = createBundle("bundle.self");
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        addComponent(startupComponentManager, "self", bundle, "service.self");
+        addExpectedCapability(startupComponentManager, "service.self", bundle);
+
+        StartupDependencyGraph graph = StartupDependencyGraph.build(
+                startupComponentManager.getComponents(StartupComponent::isPending));
+        Assert.assertEquals(graph.getCycles(), Collections.singletonList(Arrays.asList("self", "self")));
+        Assert.assertEquals(graph.getMinimalBlockingSet(), Collections.singletonList("self"));
+    }
+
+    @Test
+    public void testLongDependencyChain() {
+        int componentCount = 20000;
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        List<Bundle> bundles = new ArrayList<>(componentCount);
+        for (int i = 0; i < componentCount; i++) {
+            bundles.add(createBundle("bundle." + i));
+            addComponent(startupComponentManager, "component-" + i, bundles.get(i), "service." + (i + 1));
+        }
+        for (int i = 1; i < componentCount; i++) {
+            addExpectedCapability(startupComponentManager, "service." + i, bundles.get(i));
+        }
+        // Close the chain, so that all the components form a single cycle.
+        addExpectedCapability(startupComponentManager, "service." + componentCount, bundles.get(0));
+
+        StartupDependencyGraph graph = StartupDependencyGraph.build(
+                startupComponentManager.getComponents(StartupComponent::isPending));
+        Assert.assertEquals(graph.getCycles().size(), 1);
+        Assert.assertEquals(graph.getCycles().get(0).size(), componentCount + 1);
+        Assert.assertEquals(graph.getMinimalBlockingSet().size(), componentCount);
+    }
+
+    @Test
+    public void testToDot() {
+        String dot = dependencyGraph.toDot();
+
+        Assert.assertTrue(dot.startsWith("digraph \"startup-dependencies\" {"));
+        Assert.assertTrue(dot.contains("\"a\" [label=\"a\\nbundle.a:1.0.0\", color=red];"));
+        Assert.assertTrue(dot.contains("\"c\" [label=\"c\\nbundle.c:1.0.0\"];"));
+        Assert.assertTrue(dot.contains("\"c\" -> \"a\" [label=\"service.a\"];"));
+        Assert.assertTrue(dot.contains("\"f\" -> \"d\" [label=\"CapabilityProvider(service.d)\"];"));
+        Assert.assertTrue(dot.contains("\"d\" -> \"d#blocker0\" [style=dashed];"));
+    }
+
+    @Test
+    public void testToJson() {
+        String json = dependencyGraph.toJson();
+
+        Assert.assertTrue(json.contains("{\"name\": \"c\", \"bundle\": \"bundle.c:1.0.0\", \"blocking\": false, " +
+                "\"waitingFor\": [{\"component\": \"a\", \"capabilities\": [\"service.a\"]}], \"blockers\": []}"));
+        Assert.assertTrue(json.contains("\"cycles\": [\n    [\"a\", \"b\", \"a\"]\n  ]"));
+        Assert.assertTrue(json.contains("\"minimalBlockingSet\": [\"a\", \"b\", \"d\", \"e\"]"));
+    }
+
+    @Test
+    public void testExport() throws Exception {
+        Path directory = Files.createTempDirectory("startup-dependency-graph");
+        dependencyGraph.export(directory);
+
+        Assert.assertEquals(new String(Files.readAllBytes(directory.resolve(StartupDependencyGraph.DOT_FILE_NAME)),
+                StandardCharsets.UTF_8), dependencyGraph.toDot());
+        Assert.assertEquals(new String(Files.readAllBytes(directory.resolve(StartupDependencyGraph.JSON_FILE_NAME)),
+                StandardCharsets.UTF_8), dependencyGraph.toJson());
+    }
+
+    private static void addComponent(StartupComponentManager startupComponentManager, String componentName,
+                                     Bundle bundle, String requiredService) {
+        StartupComponent startupComponent = new StartupComponent(componentName, bundle);
+        startupComponent.addRequiredService(requiredService);
+        startupComponent.setListener(() -> {
+        });
+        startupComponentManager.addStartupComponent(startupComponent);
+    }
+
+    private static void addExpectedCapability(StartupComponentManager startupComponentManager, String capabilityName,
+                                              Bundle bundle) {
+        startupComponentManager.addExpectedCapability(new OSGiServiceCapability(capabilityName,
+                Capability.CapabilityType.OSGi_SERVICE, Capability.CapabilityState.EXPECTED, bundle, true));
+    }
+
+    private static Bundle createBundle(String symbolicName) {
+        Bundle bundle = EasyMock.createNiceMock(Bundle.class);
+        EasyMock.expect(bundle.getSymbolicName()).andReturn(symbolicName).anyTimes();
+        EasyMock.expect(bundle.getVersion()).andReturn(new Version(1, 0, 0)).anyTimes();
+        EasyMock.replay(bundle);
+        return bundle;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.easymock.EasyMock;
+import org.osgi.framework.Bundle;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.startupresolver.manifest.ManifestElement;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Hashtable;
+import java.util.List;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.startupresolver.StartupManifestCache.
+ *
+ * @since 5.3.1
+ */
+public class StartupManifestCacheTest {
+
+    private static final String HEADER_VALUE = "osgi.service; objectClass=\"org.wso2.carbon.sample.Deployer\"; " +
+            "serviceCount=\"2\"; requiredByComponentName=\"a, b\"; requiredByComponentName=\"c\"; effective:=active";
+    private static final String UPDATED_HEADER_VALUE = "startup.listener; componentName=\"deployer-mgt\"; " +
+            "requiredService=\"org.wso2.carbon.sample.Deployer\"";
+
+    private Path cacheFile;
+
+    @BeforeClass
+    public void init() throws Exception {
+        cacheFile = Files.createTempDirectory("startup-manifest-cache").resolve(StartupManifestCache.CACHE_FILE_NAME);
+    }
+
+    @Test
+    public void testColdStartup() {
+        StartupManifestCache manifestCache = StartupManifestCache.load(cacheFile);
+
+        List<ManifestElement> manifestElements = manifestCache.getManifestElements(createBundle(1, 100,
+                HEADER_VALUE));
+        Assert.assertTrue(manifestCache.getManifestElements(createBundle(2, 100, null)).isEmpty());
+        manifestCache.save();
+
+        Assert.assertTrue(Files.exists(cacheFile));
+        assertManifestElement(manifestElements);
+    }
+
+    @Test(dependsOnMethods = "testColdStartup")
+    public void testWarmStartup() {
+        StartupManifestCache manifestCache = StartupManifestCache.load(cacheFile);
+
+        // Headers of the unchanged bundle are not read again.
+        Bundle bundle = createBundle(1, 100, UPDATED_HEADER_VALUE);
+        List<ManifestElement> manifestElements = manifestCache.getManifestElements(bundle);
+
+        assertManifestElement(manifestElements);
+        Assert.assertSame(manifestElements.get(0).getBundle(), bundle);
+    }
+
+    @Test(dependsOnMethods = "testWarmStartup")
+    public void testUpdatedBundle() {
+        StartupManifestCache manifestCache = StartupManifestCache.load(cacheFile);
+        List<ManifestElement> manifestElements = manifestCache.getManifestElements(createBundle(1, 200,
+                UPDATED_HEADER_VALUE));
+        manifestCache.save();
+
+        Assert.assertEquals(manifestElements.size(), 1);
+        Assert.assertEquals(manifestElements.get(0).getValue(), "startup.listener");
+
+        // Entries of the bundles which were not found during the previous startup are dropped.
+        manifestCache = StartupManifestCache.load(cacheFile);
+        Assert.assertEquals(manifestCache.getManifestElements(createBundle(2, 100, HEADER_VALUE)).size(), 1);
+    }
+
+    private void assertManifestElement(List<ManifestElement> manifestElements) {
+        Assert.assertEquals(manifestElements.size(), 1);
+        ManifestElement manifestElement = manifestElements.get(0);
+        Assert.assertEquals(manifestElement.getManifestHeaderName(), "Carbon-Component");
+        Assert.assertEquals(manifestElement.getValue(), "osgi.service");
+        Assert.assertEquals(manifestElement.getAttribute("objectClass"), "org.wso2.carbon.sample.Deployer");
+        Assert.assertEquals(manifestElement.getAttribute("serviceCount"), "2");
+        Assert.assertEquals(manifestElement.getAttributes("requiredByComponentName"), new String[]{"a, b", "c"});
+        Assert.assertEquals(manifestElement.getDirectives("effective"), new String[]{"active"});
+    }
+
+    private Bundle createBundle(long bundleId, long lastModified, String headerValue) {
+        Hashtable<String, String> headers = new Hashtable<>();
+        if (headerValue != null) {
+            headers.put("Carbon-Component", headerValue);
+        }
+
+        Bundle bundle = EasyMock.createNiceMock(Bundle.class);
+        EasyMock.expect(bundle.getBundleId()).andReturn(bundleId).anyTimes();
+        EasyMock.expect(bundle.getLastModified()).andReturn(lastModified).anyTimes();
+        EasyMock.expect(bundle.getHeaders()).andReturn(headers).anyTimes();
+        EasyMock.replay(bundle);
+        return bundle;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.easymock.EasyMock;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceReference;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.CarbonRuntime;
+import org.wso2.carbon.kernel.Constants;
+import org.wso2.carbon.kernel.config.model.CarbonConfiguration;
+import org.wso2.carbon.kernel.internal.DataHolder;
+import org.wso2.carbon.kernel.startupresolver.RequiredCapabilityListener;
+import org.wso2.carbon.utils.ClassUtils;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.util.Hashtable;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class tests that the org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolver releases its threads
+ * and startup components once the startup is completed.
+ *
+ * @since 5.3.1
+ */
+public class StartupOrderResolverTest {
+
+    private static final String COMPONENT_NAME = "startup-order-resolver-test";
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    private BundleContext originalBundleContext;
+
+    @BeforeClass
+    public void init() {
+        originalBundleContext = DataHolder.getInstance().getBundleContext();
+        if (System.getProperty(Constants.START_TIME) == null) {
+            System.setProperty(Constants.START_TIME, String.valueOf(System.currentTimeMillis()));
+        }
+    }
+
+    @AfterClass
+    public void cleanup() {
+        DataHolder.getInstance().setBundleContext(originalBundleContext);
+    }
+
+    @Test
+    public void testStartupWithoutStartupComponents() throws Exception {
+        Set<Thread> existingThreads = Thread.getAllStackTraces().keySet();
+        StartupOrderResolver startupOrderResolver = createStartupOrderResolver(new CarbonConfiguration());
+        startupOrderResolver.start(createBundleContext(new Bundle[0], null));
+
+        Assert.assertNull(getFromPrivateField(startupOrderResolver, "startupComponentManager"));
+        Assert.assertNull(getFromPrivateField(startupOrderResolver, "resolverExecutor"));
+        Assert.assertFalse(isResolverThreadAlive(existingThreads));
+    }
+
+    @Test(dependsOnMethods = "testStartupWithoutStartupComponents")
+    public void testResourcesReleasedAfterStartup() throws Exception {
+        assertResourcesReleasedAfterStartup(new CarbonConfiguration());
+    }
+
+    @Test(dependsOnMethods = "testResourcesReleasedAfterStartup")
+    public void testResourcesReleasedAfterEventDrivenStartup() throws Exception {
+        CarbonConfiguration carbonConfiguration = new CarbonConfiguration();
+        ClassUtils.setToPrivateField(carbonConfiguration.getStartupResolverConfig(), "eventDrivenNotification", true);
+        ClassUtils.setToPrivateField(carbonConfiguration.getStartupResolverConfig(), "listenerNotificationThreads",
+                2);
+        assertResourcesReleasedAfterStartup(carbonConfiguration);
+    }
+
+    private void assertResourcesReleasedAfterStartup(CarbonConfiguration carbonConfiguration) throws Exception {
+        Set<Thread> existingThreads = Thread.getAllStackTraces().keySet();
+        CountDownLatch notifiedLatch = new CountDownLatch(1);
+        StartupOrderResolver startupOrderResolver = createStartupOrderResolver(carbonConfiguration);
+        WeakReference<Object> startupComponentManager =
+                new WeakReference<>(getFromPrivateField(startupOrderResolver, "startupComponentManager"));
+
+        Bundle bundle = createBundle("startup.listener; componentName=\"" + COMPONENT_NAME + "\"; " +
+                "requiredService=\"" + Runnable.class.getName() + "\"");
+        startupOrderResolver.start(createBundleContext(new Bundle[]{bundle}, notifiedLatch::countDown));
+
+        Assert.assertTrue(notifiedLatch.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (isResolverThreadAlive(existingThreads) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Assert.assertFalse(isResolverThreadAlive(existingThreads));
+        Assert.assertNull(getFromPrivateField(startupOrderResolver, "startupComponentManager"));
+        Assert.assertNull(getFromPrivateField(startupOrderResolver, "osgiServiceTracker"));
+        Assert.assertNull(getFromPrivateField(startupOrderResolver, "listenerNotificationExecutor"));
+
+        while (startupComponentManager.get() != null && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Assert.assertNull(startupComponentManager.get(), "Startup components are retained after the startup");
+    }
+
+    private StartupOrderResolver createStartupOrderResolver(CarbonConfiguration carbonConfiguration) {
+        CarbonRuntime carbonRuntime = EasyMock.createNiceMock(CarbonRuntime.class);
+        EasyMock.expect(carbonRuntime.getConfiguration()).andReturn(carbonConfiguration).anyTimes();
+        EasyMock.replay(carbonRuntime);
+
+        StartupOrderResolver startupOrderResolver = new StartupOrderResolver();
+        startupOrderResolver.registerCarbonRuntime(carbonRuntime);
+        return startupOrderResolver;
+    }
+
+    private BundleContext createBundleContext(Bundle[] bundles, RequiredCapabilityListener listener)
+            throws Exception {
+        BundleContext bundleContext = EasyMock.createNiceMock(BundleContext.class);
+        EasyMock.expect(bundleContext.getBundles()).andReturn(bundles).anyTimes();
+        if (listener != null) {
+            ServiceReference reference = EasyMock.createNiceMock(ServiceReference.class);
+            EasyMock.expect(reference.getProperty("componentName")).andReturn(COMPONENT_NAME).anyTimes();
+            EasyMock.expect(reference.getBundle()).andReturn(bundles[0]).anyTimes();
+            EasyMock.replay(reference);
+
+            EasyMock.expect(bundleContext.getServiceReferences(RequiredCapabilityListener.class.getName(), null))
+                    .andReturn(new ServiceReference[]{reference}).anyTimes();
+            EasyMock.expect(bundleContext.getService(reference)).andReturn(listener).anyTimes();
+        }
+        EasyMock.replay(bundleContext);
+        DataHolder.getInstance().setBundleContext(bundleContext);
+        return bundleContext;
+    }
+
+    private Bundle createBundle(String headerValue) {
+        Hashtable<String, String> headers = new Hashtable<>();
+        headers.put("Carbon-Component", headerValue);
+
+        Bundle bundle = EasyMock.createNiceMock(Bundle.class);
+        EasyMock.expect(bundle.getSymbolicName()).andReturn("org.wso2.carbon.startup.test").anyTimes();
+        EasyMock.expect(bundle.getHeaders()).andReturn(headers).anyTimes();
+        EasyMock.replay(bundle);
+        return bundle;
+    }
+
+    private static Object getFromPrivateField(Object objInstance, String fieldName) throws Exception {
+        Field field = objInstance.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        return field.get(objInstance);
+    }
+
+    /**
+     * Returns 'true' if a resolver thread, or any other non-daemon thread started after the given threads, is alive.
+     */
+    private static boolean isResolverThreadAlive(Set<Thread> existingThreads) {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(Thread::isAlive)
+                .anyMatch(thread -> thread.getName().startsWith("CarbonStartup") ||
+                        (!thread.isDaemon() && !existingThreads.contains(thread)));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.easymock.EasyMock;
+import org.osgi.framework.Bundle;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.startupresolver.manifest.ManifestElement;
+
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.
+ *
+ * @since 5.3.1
+ */
+public class StartupOrderResolverUtilsTest {
+
+    private static final int BUNDLE_COUNT = 50;
+
+    private List<Bundle> bundleList = new ArrayList<>();
+
+    @BeforeClass
+    public void init() {
+        for (int i = 0; i < BUNDLE_COUNT; i++) {
+            Hashtable<String, String> headers = new Hashtable<>();
+            // Every other bundle is not a Carbon component.
+            if (i % 2 == 0) {
+                headers.put("Carbon-Component", "startup.listener; componentName=\"component-" + i + "\"; " +
+                        "requiredService=\"org.wso2.carbon.sample.Service\"");
+            }
+
+            Bundle bundle = EasyMock.createNiceMock(Bundle.class);
+            EasyMock.expect(bundle.getBundleId()).andReturn((long) i).anyTimes();
+            EasyMock.expect(bundle.getHeaders()).andReturn(headers).anyTimes();
+            EasyMock.replay(bundle);
+            bundleList.add(bundle);
+        }
+    }
+
+    @Test
+    public void testReadManifestElements() {
+        List<List<ManifestElement>> manifestElementLists = StartupOrderResolverUtils.readManifestElements(bundleList,
+                bundle -> StartupOrderResolverUtils.isCarbonComponentHeaderPresent(bundle) ?
+                        StartupOrderResolverUtils.getManifestElements(bundle) : new ArrayList<>(), 4);
+
+        Assert.assertEquals(manifestElementLists.size(), BUNDLE_COUNT);
+        for (int i = 0; i < BUNDLE_COUNT; i++) {
+            List<ManifestElement> manifestElements = manifestElementLists.get(i);
+            if (i % 2 == 0) {
+                Assert.assertEquals(manifestElements.size(), 1);
+                Assert.assertEquals(manifestElements.get(0).getAttribute("componentName"), "component-" + i);
+                Assert.assertSame(manifestElements.get(0).getBundle(), bundleList.get(i));
+            } else {
+                Assert.assertTrue(manifestElements.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void testReadManifestElementsFailure() {
+        // The bundle which comes later in the bundle order fails first.
+        Function<Bundle, List<ManifestElement>> manifestElementReader = bundle -> {
+            if (bundle.getBundleId() == 10) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new StartOrderResolverException("bundle-10");
+            } else if (bundle.getBundleId() == 40) {
+                throw new StartOrderResolverException("bundle-40");
+            }
+            return new ArrayList<>();
+        };
+
+        try {
+            StartupOrderResolverUtils.readManifestElements(bundleList, manifestElementReader, 4);
+            Assert.fail("StartOrderResolverException is expected");
+        } catch (StartOrderResolverException e) {
+            Assert.assertEquals(e.getMessage(), "bundle-10");
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.startupresolver.StartupServiceCache.
+ *
+ * @since 5.3.1
+ */
+public class StartupServiceCacheTest {
+
+    @Test
+    public void testUpdate() {
+        StartupServiceCache serviceCache = StartupServiceCache.getInstance();
+        String componentName = "service-cache-test-component";
+
+        Assert.assertEquals(serviceCache.getAvailableServiceCount(componentName, Runnable.class.getName()), 0);
+        Assert.assertEquals(serviceCache.getAvailableService(componentName), Collections.emptyMap());
+
+        serviceCache.update(componentName, Runnable.class);
+        serviceCache.update(componentName, Runnable.class);
+        serviceCache.update(componentName, AutoCloseable.class);
+
+        Assert.assertEquals(serviceCache.getAvailableServiceCount(componentName, Runnable.class.getName()), 2);
+        Assert.assertEquals(serviceCache.getAvailableServiceCount(componentName, AutoCloseable.class.getName()), 1);
+        Assert.assertEquals(serviceCache.getAvailableServiceCount(componentName, Comparable.class.getName()), 0);
+
+        Map<String, Long> availableServices = serviceCache.getAvailableService(componentName);
+        Assert.assertEquals(availableServices.size(), 2);
+        Assert.assertEquals(availableServices.get(Runnable.class.getName()), Long.valueOf(2));
+        Assert.assertEquals(availableServices.get(AutoCloseable.class.getName()), Long.valueOf(1));
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        StartupServiceCache serviceCache = StartupServiceCache.getInstance();
+        int threadCount = 8;
+        int updateCount = 5000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executorService.submit(() -> {
+                    startLatch.await();
+                    for (int j = 0; j < updateCount; j++) {
+                        serviceCache.update("concurrent-test-component-" + (j % 4), Runnable.class);
+                    }
+                    return null;
+                }));
+            }
+            startLatch.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        for (int i = 0; i < 4; i++) {
+            Assert.assertEquals(serviceCache.getAvailableServiceCount("concurrent-test-component-" + i,
+                    Runnable.class.getName()), threadCount * updateCount / 4);
+        }
+    }
+}
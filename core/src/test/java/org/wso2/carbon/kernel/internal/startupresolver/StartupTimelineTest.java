@@ -0,0 +1,119 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.easymock.EasyMock;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.Version;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.startupresolver.StartupTimeline.
+ *
+ * @since 5.3.1
+ */
+public class StartupTimelineTest {
+
+    private StartupTimeline startupTimeline;
+
+    @BeforeClass
+    public void init() throws InterruptedException {
+        Bundle transportBundle = createBundle("org.wso2.carbon.sample.transport");
+        Bundle deployerBundle = createBundle("org.wso2.carbon.sample.deployer");
+        StartupComponent deployerComponent = new StartupComponent("deployer-mgt", deployerBundle);
+        StartupComponent transportComponent = new StartupComponent("transport-mgt", transportBundle);
+
+        startupTimeline = new StartupTimeline();
+        startupTimeline.componentDeclared(deployerComponent);
+        startupTimeline.componentDeclared(transportComponent);
+        startupTimeline.listenerArrived(transportComponent);
+        startupTimeline.listenerArrived(deployerComponent);
+        Thread.sleep(2);
+
+        // The deployer listener registers the service which the transport component requires.
+        startupTimeline.notificationStarted(deployerComponent);
+        Thread.sleep(2);
+        startupTimeline.capabilityAvailable(transportComponent, "org.wso2.carbon.sample.Deployer", deployerBundle);
+        startupTimeline.notificationCompleted(deployerComponent);
+        Thread.sleep(2);
+
+        startupTimeline.notificationStarted(transportComponent);
+        startupTimeline.notificationCompleted(transportComponent);
+    }
+
+    @Test
+    public void testCriticalPath() {
+        List<StartupTimeline.ComponentTimeline> criticalPath = startupTimeline.getCriticalPath();
+
+        Assert.assertEquals(criticalPath.size(), 2);
+        Assert.assertEquals(criticalPath.get(0).getName(), "deployer-mgt");
+        Assert.assertEquals(criticalPath.get(1).getName(), "transport-mgt");
+        Assert.assertTrue(criticalPath.get(1).getReadyAt() > criticalPath.get(0).getReadyAt());
+    }
+
+    @Test
+    public void testExport() throws Exception {
+        Path exportDirectory = Files.createTempDirectory("startup-timeline");
+        startupTimeline.export(exportDirectory);
+
+        String timeline = new String(Files.readAllBytes(exportDirectory.resolve(StartupTimeline.TIMELINE_FILE_NAME)),
+                "UTF-8");
+        String trace = new String(Files.readAllBytes(exportDirectory.resolve(StartupTimeline.TRACE_FILE_NAME)),
+                "UTF-8");
+
+        Assert.assertTrue(timeline.contains("\"criticalPath\""));
+        Assert.assertTrue(timeline.contains("\"blockedBy\": \"capability org.wso2.carbon.sample.Deployer from " +
+                "org.wso2.carbon.sample.deployer:1.0.0\""));
+        Assert.assertTrue(trace.startsWith("{\"displayTimeUnit\": \"ms\", \"traceEvents\": ["));
+        Assert.assertTrue(trace.contains("\"name\": \"onAllRequiredCapabilitiesAvailable\""));
+    }
+
+    @Test
+    public void testCapabilityOfUnknownProviderIsNotDuplicated() {
+        Bundle deployerBundle = createBundle("org.wso2.carbon.sample.deployer");
+        StartupComponent runtimeComponent = new StartupComponent("runtime-mgt",
+                createBundle("org.wso2.carbon.sample.runtime"));
+        StartupTimeline timeline = new StartupTimeline();
+        timeline.componentDeclared(runtimeComponent);
+        timeline.listenerArrived(runtimeComponent);
+
+        timeline.capabilityAvailable(runtimeComponent, "org.wso2.carbon.sample.Deployer", deployerBundle);
+        timeline.capabilityAvailable(runtimeComponent, "org.wso2.carbon.sample.Deployer", null);
+        timeline.capabilityAvailable(runtimeComponent, "org.wso2.carbon.sample.Registry", null);
+        timeline.capabilityAvailable(runtimeComponent, "org.wso2.carbon.sample.Registry", null);
+
+        String json = timeline.toJson();
+        Assert.assertEquals(json.split("\\{\"name\": \"org.wso2.carbon.sample.Deployer\"", -1).length, 2);
+        Assert.assertTrue(json.contains("{\"name\": \"org.wso2.carbon.sample.Deployer\", " +
+                "\"bundle\": \"org.wso2.carbon.sample.deployer:1.0.0\""));
+        Assert.assertEquals(json.split("\\{\"name\": \"org.wso2.carbon.sample.Registry\"", -1).length, 2);
+    }
+
+    private Bundle createBundle(String symbolicName) {
+        Bundle bundle = EasyMock.createNiceMock(Bundle.class);
+        EasyMock.expect(bundle.getSymbolicName()).andReturn(symbolicName).anyTimes();
+        EasyMock.expect(bundle.getVersion()).andReturn(new Version("1.0.0")).anyTimes();
+        EasyMock.replay(bundle);
+        return bundle;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver.beans;
+
+import org.easymock.EasyMock;
+import org.osgi.framework.Bundle;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * This class tests the pending capability accounting of
+ * org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent.
+ *
+ * @since 5.3.1
+ */
+public class StartupComponentTest {
+
+    private static final String DIRECT_SERVICE = "org.wso2.carbon.sample.DirectService";
+    private static final String INDIRECT_SERVICE = "org.wso2.carbon.sample.IndirectService";
+
+    private StartupComponent startupComponent;
+    private Bundle bundle;
+
+    @BeforeClass
+    public void init() {
+        bundle = EasyMock.createNiceMock(Bundle.class);
+        EasyMock.replay(bundle);
+
+        startupComponent = new StartupComponent("startup-component-test", bundle);
+        startupComponent.setListener(() -> {
+        });
+    }
+
+    @Test
+    public void testDirectDependencies() {
+        startupComponent.addExpectedCapability(createCapability(DIRECT_SERVICE, Capability.CapabilityState.EXPECTED,
+                true));
+        startupComponent.addExpectedCapability(createCapability(DIRECT_SERVICE, Capability.CapabilityState.EXPECTED,
+                true));
+        Assert.assertFalse(startupComponent.isSatisfiable());
+        Assert.assertEquals(startupComponent.getPendingCapabilities().size(), 2);
+
+        Assert.assertFalse(startupComponent.updateAvailableCount(DIRECT_SERVICE, 1));
+        Assert.assertFalse(startupComponent.isSatisfiable());
+
+        Assert.assertTrue(startupComponent.updateAvailableCount(DIRECT_SERVICE, 2));
+        Assert.assertTrue(startupComponent.isSatisfiable());
+        Assert.assertTrue(startupComponent.getPendingCapabilities().isEmpty());
+    }
+
+    @Test(dependsOnMethods = "testDirectDependencies")
+    public void testLowerAvailableCountIsIgnored() {
+        Assert.assertFalse(startupComponent.updateAvailableCount(DIRECT_SERVICE, 1));
+        Assert.assertTrue(startupComponent.isSatisfiable());
+    }
+
+    @Test(dependsOnMethods = "testLowerAvailableCountIsIgnored")
+    public void testIndirectDependencies() {
+        startupComponent.updateCapability(createCapability(INDIRECT_SERVICE, Capability.CapabilityState.EXPECTED,
+                false));
+        Assert.assertFalse(startupComponent.isSatisfiable());
+        Assert.assertEquals(startupComponent.getPendingCapabilities().size(), 1);
+
+        // An indirect dependency is no longer expected once its service is registered.
+        startupComponent.updateCapability(createCapability(INDIRECT_SERVICE, Capability.CapabilityState.AVAILABLE,
+                false));
+        Assert.assertTrue(startupComponent.isSatisfiable());
+        Assert.assertTrue(startupComponent.getPendingCapabilities().isEmpty());
+    }
+
+    @Test
+    public void testIndirectAvailableCapabilityWithPendingDependency() {
+        StartupComponent component = new StartupComponent("indirect-available-test", bundle);
+        component.setListener(() -> {
+        });
+        component.addExpectedCapability(createCapability(DIRECT_SERVICE, Capability.CapabilityState.EXPECTED, true));
+        // Registered before its EXPECTED counterpart, hence it has no count yet.
+        component.updateCapability(createCapability(INDIRECT_SERVICE, Capability.CapabilityState.AVAILABLE, false));
+
+        Assert.assertFalse(component.isSatisfiable());
+        Assert.assertEquals(component.getPendingCapabilities().size(), 1);
+        Assert.assertEquals(component.getPendingCapabilities().get(0).getName(), DIRECT_SERVICE);
+    }
+
+    private Capability createCapability(String name, Capability.CapabilityState state, boolean directDependency) {
+        return new OSGiServiceCapability(name, Capability.CapabilityType.OSGi_SERVICE, state, bundle,
+                directDependency);
+    }
+}
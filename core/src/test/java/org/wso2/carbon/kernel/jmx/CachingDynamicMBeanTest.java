@@ -0,0 +1,235 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.jmx;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * This class tests the attribute caching of {@link CachingDynamicMBean}.
+ *
+ * @since 5.3.1
+ */
+public class CachingDynamicMBeanTest {
+
+    private static final long TTL = TimeUnit.MINUTES.toMillis(1);
+
+    @Test
+    public void testAttributeIsCached() throws Exception {
+        Counter counter = new Counter();
+        CachingDynamicMBean mBean = new CachingDynamicMBean(counter, TTL, null, false);
+
+        Assert.assertEquals(mBean.getAttribute("Count"), 1);
+        Assert.assertEquals(mBean.getAttribute("Count"), 1);
+        Assert.assertEquals(counter.reads.get(), 1);
+
+        mBean.invalidate();
+        Assert.assertEquals(mBean.getAttribute("Count"), 2);
+    }
+
+    @Test
+    public void testAttributeTtlOverride() throws Exception {
+        Counter counter = new Counter();
+        CachingDynamicMBean mBean = new CachingDynamicMBean(counter, TTL, Collections.singletonMap("Count", 0L),
+                false);
+
+        Assert.assertEquals(mBean.getAttribute("Count"), 1);
+        Assert.assertEquals(mBean.getAttribute("Count"), 2);
+        Assert.assertEquals(mBean.getAttribute("Name"), "counter");
+        Assert.assertEquals(mBean.getAttribute("Name"), "counter");
+        Assert.assertEquals(counter.nameReads.get(), 1);
+    }
+
+    @Test
+    public void testGetAttributesIsOneSnapshot() throws Exception {
+        Counter counter = new Counter();
+        CachingDynamicMBean mBean = new CachingDynamicMBean(counter, TTL, null, false);
+
+        Assert.assertEquals(mBean.getAttribute("Name"), "counter");
+        AttributeList attributes = mBean.getAttributes(new String[]{"Count", "Name", "Missing"});
+        Assert.assertEquals(attributes.size(), 2);
+        Assert.assertEquals(attributes.asList().get(0).getValue(), 1);
+        Assert.assertEquals(attributes.asList().get(1).getValue(), "counter");
+        Assert.assertEquals(counter.nameReads.get(), 1);
+
+        mBean.getAttributes(new String[]{"Count", "Name"});
+        Assert.assertEquals(counter.reads.get(), 1);
+    }
+
+    @Test
+    public void testWritesInvalidateTheCache() throws Exception {
+        Counter counter = new Counter();
+        CachingDynamicMBean mBean = new CachingDynamicMBean(counter, TTL, null, false);
+
+        Assert.assertEquals(mBean.getAttribute("Count"), 1);
+        mBean.invoke("reset", new Object[0], new String[0]);
+        Assert.assertEquals(mBean.getAttribute("Count"), 1);
+
+        Assert.assertEquals(mBean.getAttribute("Name"), "counter");
+        mBean.setAttribute(new Attribute("Name", "renamed"));
+        Assert.assertEquals(mBean.getAttribute("Name"), "renamed");
+    }
+
+    @Test
+    public void testWriteDuringReadIsNotUndone() throws Exception {
+        Counter counter = new Counter();
+        CachingDynamicMBean mBean = new CachingDynamicMBean(counter, TTL, null, false);
+
+        counter.nameReadHook = () -> setName(mBean, "renamed");
+        Assert.assertEquals(mBean.getAttribute("Name"), "counter");
+        counter.nameReadHook = null;
+        Assert.assertEquals(mBean.getAttribute("Name"), "renamed");
+
+        mBean.invalidate();
+        counter.nameReadHook = () -> setName(mBean, "renamed again");
+        Assert.assertEquals(mBean.getAttributes(new String[]{"Name"}).asList().get(0).getValue(), "renamed");
+        counter.nameReadHook = null;
+        Assert.assertEquals(mBean.getAttributes(new String[]{"Name"}).asList().get(0).getValue(), "renamed again");
+    }
+
+    @Test
+    public void testAsyncRefresh() throws Exception {
+        Counter counter = new Counter();
+        CachingDynamicMBean mBean = new CachingDynamicMBean(counter, 1, null, true);
+
+        Assert.assertEquals(mBean.getAttribute("Count"), 1);
+        Thread.sleep(5);
+        // The expired value is served while it is refreshed.
+        Assert.assertEquals(mBean.getAttribute("Count"), 1);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (counter.reads.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        Assert.assertEquals(counter.reads.get(), 2);
+        Thread.sleep(5);
+        Assert.assertEquals(mBean.getAttribute("Count"), 2);
+    }
+
+    @Test
+    public void testRegisterWithAttributeCache() throws Exception {
+        MBeanServer mBeanServer = MBeanManagementFactory.getMBeanServer();
+        Counter counter = new Counter();
+        MBeanRegistrator.setAttributeCache(TTL, null, false);
+        ObjectName objectName;
+        try {
+            objectName = MBeanRegistrator.registerMBean(counter, "org.wso2.carbon.test:type=CachedCounter");
+        } finally {
+            MBeanRegistrator.removeAttributeCache();
+        }
+
+        try {
+            Assert.assertEquals(mBeanServer.getAttribute(objectName, "Count"), 1);
+            Assert.assertEquals(mBeanServer.getAttribute(objectName, "Count"), 1);
+            Assert.assertEquals(counter.reads.get(), 1);
+        } finally {
+            MBeanRegistrator.unregisterMBean(objectName);
+        }
+    }
+
+    @Test
+    public void testAttributeCacheWrapsRegisteredMBeans() throws Exception {
+        MBeanServer mBeanServer = MBeanManagementFactory.getMBeanServer();
+        Counter counter = new Counter();
+        ObjectName objectName = MBeanRegistrator.registerMBean(counter, "org.wso2.carbon.test:type=RegisteredCounter");
+        try {
+            Assert.assertEquals(mBeanServer.getAttribute(objectName, "Count"), 1);
+            MBeanRegistrator.setAttributeCache(TTL, null, false);
+            try {
+                Assert.assertEquals(mBeanServer.getAttribute(objectName, "Count"), 2);
+                Assert.assertEquals(mBeanServer.getAttribute(objectName, "Count"), 2);
+                Assert.assertEquals(counter.reads.get(), 2);
+            } finally {
+                MBeanRegistrator.removeAttributeCache();
+            }
+            Assert.assertTrue(MBeanRegistrator.getMBeans(null).contains(objectName));
+        } finally {
+            MBeanRegistrator.unregisterMBean(objectName);
+        }
+        Assert.assertFalse(mBeanServer.isRegistered(objectName));
+    }
+
+    private static void setName(CachingDynamicMBean mBean, String name) {
+        try {
+            mBean.setAttribute(new Attribute("Name", name));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * MXBean interface of the test MBean.
+     */
+    public interface CounterMXBean {
+
+        int getCount();
+
+        String getName();
+
+        void setName(String name);
+
+        void reset();
+    }
+
+    /**
+     * An MBean counting the reads of its attributes.
+     */
+    public static class Counter implements CounterMXBean {
+
+        private final AtomicInteger reads = new AtomicInteger();
+
+        private final AtomicInteger nameReads = new AtomicInteger();
+
+        private volatile String name = "counter";
+
+        // Run by each read of the name, after the name is read.
+        private volatile Runnable nameReadHook;
+
+        @Override
+        public int getCount() {
+            return reads.incrementAndGet();
+        }
+
+        @Override
+        public String getName() {
+            nameReads.incrementAndGet();
+            String currentName = name;
+            Runnable hook = nameReadHook;
+            if (hook != null) {
+                hook.run();
+            }
+            return currentName;
+        }
+
+        @Override
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void reset() {
+            reads.set(0);
+        }
+    }
+}
@@ -18,6 +18,8 @@ package org.wso2.carbon.kernel.jmx;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.easymock.EasyMock;
+import org.osgi.framework.Bundle;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import org.wso2.carbon.kernel.CarbonServerInfo;
@@ -25,6 +27,9 @@ import org.wso2.carbon.kernel.Constants;
 import org.wso2.carbon.kernel.internal.runtime.CarbonRuntimeService;
 import org.wso2.carbon.kernel.internal.runtime.RuntimeManager;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import javax.management.InstanceNotFoundException;
 import javax.management.IntrospectionException;
 import javax.management.MBeanServer;
@@ -80,4 +85,49 @@ public class MBeanRegistratorTest {
         MBeanRegistrator.unregisterAllMBeans();
         Assert.assertTrue(mBeanServer.getMBeanCount() == initialMBeanCount);
     }
+
+    @Test
+    public void testRegisterMBeansOfBundle() throws Exception {
+        MBeanServer mBeanServer = MBeanManagementFactory.getMBeanServer();
+        Bundle bundle = EasyMock.createNiceMock(Bundle.class);
+        EasyMock.expect(bundle.getBundleId()).andReturn(42L).anyTimes();
+        EasyMock.replay(bundle);
+
+        Map<String, Object> mBeans = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            mBeans.put(Constants.SERVER_PACKAGE + ":type=TenantStats,tenant=tenant-" + i,
+                    new CarbonRuntimeService(new RuntimeManager()));
+        }
+        List<ObjectName> objectNames = MBeanRegistrator.registerMBeans(bundle, mBeans);
+        Assert.assertEquals(objectNames.size(), 100);
+        Assert.assertEquals(MBeanRegistrator.getMBeans(bundle).size(), 100);
+        Assert.assertTrue(mBeanServer.isRegistered(objectNames.get(99)));
+
+        MBeanRegistrator.unregisterMBeans(bundle);
+        Assert.assertTrue(MBeanRegistrator.getMBeans(bundle).isEmpty());
+        objectNames.forEach(objectName -> Assert.assertFalse(mBeanServer.isRegistered(objectName)));
+    }
+
+    @Test
+    public void testRegisterMBeansIsAllOrNothing() throws Exception {
+        MBeanServer mBeanServer = MBeanManagementFactory.getMBeanServer();
+        String existingName = Constants.SERVER_PACKAGE + ":type=EndpointStats,endpoint=existing";
+        ObjectName existingObjectName = MBeanRegistrator.registerMBean(new CarbonRuntimeService(new RuntimeManager()),
+                existingName);
+
+        Map<String, Object> mBeans = new LinkedHashMap<>();
+        mBeans.put(Constants.SERVER_PACKAGE + ":type=EndpointStats,endpoint=new",
+                new CarbonRuntimeService(new RuntimeManager()));
+        mBeans.put(existingName, new CarbonRuntimeService(new RuntimeManager()));
+        try {
+            MBeanRegistrator.registerMBeans(mBeans);
+            Assert.fail("Registering an existing MBean should fail");
+        } catch (RuntimeException e) {
+            Assert.assertFalse(mBeanServer.isRegistered(
+                    new ObjectName(Constants.SERVER_PACKAGE + ":type=EndpointStats,endpoint=new")));
+        } finally {
+            MBeanRegistrator.unregisterMBean(existingObjectName);
+        }
+        Assert.assertFalse(mBeanServer.isRegistered(existingObjectName));
+    }
 }
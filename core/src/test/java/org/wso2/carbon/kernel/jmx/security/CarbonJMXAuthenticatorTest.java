@@ -0,0 +1,215 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.jmx.security;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.Constants;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.remote.JMXPrincipal;
+import javax.security.auth.Subject;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.callback.NameCallback;
+import javax.security.auth.callback.PasswordCallback;
+import javax.security.auth.login.AppConfigurationEntry;
+import javax.security.auth.login.Configuration;
+import javax.security.auth.login.FailedLoginException;
+import javax.security.auth.login.LoginException;
+import javax.security.auth.spi.LoginModule;
+
+/**
+ * This class tests the authentication cache of {@link CarbonJMXAuthenticator}.
+ *
+ * @since 5.3.1
+ */
+public class CarbonJMXAuthenticatorTest {
+
+    private static final AtomicInteger loginCount = new AtomicInteger();
+
+    // Run by each login, while the login is in progress.
+    private static volatile Runnable loginHook;
+
+    private Configuration defaultConfiguration;
+
+    @BeforeClass
+    public void init() {
+        try {
+            defaultConfiguration = Configuration.getConfiguration();
+        } catch (SecurityException e) {
+            defaultConfiguration = null;
+        }
+    }
+
+    @AfterClass
+    public void cleanup() {
+        Configuration.setConfiguration(defaultConfiguration);
+    }
+
+    @BeforeMethod
+    public void setUp() {
+        Configuration.setConfiguration(new TestConfiguration());
+        loginCount.set(0);
+        loginHook = null;
+    }
+
+    @Test
+    public void testAuthenticationIsCached() {
+        CarbonJMXAuthenticator authenticator = new CarbonJMXAuthenticator(60000, 10);
+
+        Subject subject = authenticator.authenticate(new String[]{"admin", "admin"});
+        Assert.assertEquals(subject.getPrincipals(), Collections.singleton(new JMXPrincipal("admin")));
+        Assert.assertSame(authenticator.authenticate(new String[]{"admin", "admin"}), subject);
+        Assert.assertEquals(loginCount.get(), 1);
+
+        authenticator.invalidate();
+        authenticator.authenticate(new String[]{"admin", "admin"});
+        Assert.assertEquals(loginCount.get(), 2);
+    }
+
+    @Test
+    public void testFailedAuthenticationIsNotCached() {
+        CarbonJMXAuthenticator authenticator = new CarbonJMXAuthenticator(60000, 10);
+        authenticator.authenticate(new String[]{"admin", "admin"});
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                authenticator.authenticate(new String[]{"admin", "wrong"});
+                Assert.fail("Authenticated with an invalid password");
+            } catch (SecurityException e) {
+                Assert.assertEquals(e.getMessage(), "Invalid credentials");
+            }
+        }
+        Assert.assertEquals(loginCount.get(), 3);
+    }
+
+    @Test
+    public void testInvalidateDuringLogin() {
+        CarbonJMXAuthenticator authenticator = new CarbonJMXAuthenticator(60000, 10);
+        loginHook = authenticator::invalidate;
+        authenticator.authenticate(new String[]{"admin", "admin"});
+
+        // The login which was in progress while invalidating is not cached.
+        loginHook = null;
+        authenticator.authenticate(new String[]{"admin", "admin"});
+        authenticator.authenticate(new String[]{"admin", "admin"});
+        Assert.assertEquals(loginCount.get(), 2);
+    }
+
+    @Test
+    public void testExpiryAndEviction() throws Exception {
+        CarbonJMXAuthenticator authenticator = new CarbonJMXAuthenticator(1, 10);
+        authenticator.authenticate(new String[]{"admin", "admin"});
+        Thread.sleep(5);
+        authenticator.authenticate(new String[]{"admin", "admin"});
+        Assert.assertEquals(loginCount.get(), 2);
+
+        authenticator = new CarbonJMXAuthenticator(60000, 1);
+        authenticator.authenticate(new String[]{"admin", "admin"});
+        authenticator.authenticate(new String[]{"monitor", "monitor"});
+        authenticator.authenticate(new String[]{"admin", "admin"});
+        Assert.assertEquals(loginCount.get(), 5);
+    }
+
+    @Test
+    public void testConfigurationChangeInvalidatesCache() {
+        CarbonJMXAuthenticator authenticator = new CarbonJMXAuthenticator(60000, 10);
+        authenticator.authenticate(new String[]{"admin", "admin"});
+
+        Configuration.setConfiguration(new TestConfiguration());
+        authenticator.authenticate(new String[]{"admin", "admin"});
+        authenticator.authenticate(new String[]{"admin", "admin"});
+        Assert.assertEquals(loginCount.get(), 2);
+    }
+
+    @Test
+    public void testCacheIsDisabledByDefault() {
+        CarbonJMXAuthenticator authenticator = new CarbonJMXAuthenticator();
+        authenticator.authenticate(new String[]{"admin", "admin"});
+        authenticator.authenticate(new String[]{"admin", "admin"});
+        Assert.assertEquals(loginCount.get(), 2);
+    }
+
+    /**
+     * A JAAS configuration of the carbon login with {@link TestLoginModule}.
+     */
+    private static class TestConfiguration extends Configuration {
+
+        @Override
+        public AppConfigurationEntry[] getAppConfigurationEntry(String name) {
+            if (!Constants.LOGIN_MODULE_ENTRY.equals(name)) {
+                return null;
+            }
+            return new AppConfigurationEntry[]{new AppConfigurationEntry(TestLoginModule.class.getName(),
+                    AppConfigurationEntry.LoginModuleControlFlag.REQUIRED, Collections.emptyMap())};
+        }
+    }
+
+    /**
+     * A login module which counts the logins, and accepts the passwords equal to the user names.
+     */
+    public static class TestLoginModule implements LoginModule {
+
+        private CallbackHandler callbackHandler;
+
+        @Override
+        public void initialize(Subject subject, CallbackHandler callbackHandler, Map<String, ?> sharedState,
+                               Map<String, ?> options) {
+            this.callbackHandler = callbackHandler;
+        }
+
+        @Override
+        public boolean login() throws LoginException {
+            loginCount.incrementAndGet();
+            Runnable hook = loginHook;
+            if (hook != null) {
+                hook.run();
+            }
+            NameCallback nameCallback = new NameCallback("name");
+            PasswordCallback passwordCallback = new PasswordCallback("password", false);
+            try {
+                callbackHandler.handle(new Callback[]{nameCallback, passwordCallback});
+            } catch (Exception e) {
+                throw new LoginException(e.getMessage());
+            }
+            if (!nameCallback.getName().equals(new String(passwordCallback.getPassword()))) {
+                throw new FailedLoginException("Invalid password");
+            }
+            return true;
+        }
+
+        @Override
+        public boolean commit() {
+            return true;
+        }
+
+        @Override
+        public boolean abort() {
+            return true;
+        }
+
+        @Override
+        public boolean logout() {
+            return true;
+        }
+    }
+}
@@ -22,6 +22,10 @@ import org.wso2.carbon.kernel.internal.runtime.RuntimeManager;
 import org.wso2.carbon.kernel.runtime.exception.RuntimeServiceException;
 import org.wso2.carbon.kernel.runtime.service.CustomRuntimeService;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Runtime Service Test class.
  *
@@ -153,4 +157,42 @@ public class RuntimeServiceTest {
         }
     }
 
+    @Test
+    public void testDefaultOrchestrate() throws RuntimeServiceException {
+        List<RuntimeLifecycleAction> appliedActions = new ArrayList<>();
+        RuntimeService runtimeService = new RuntimeService() {
+            @Override
+            public void startRuntimes() throws RuntimeServiceException {
+                appliedActions.add(RuntimeLifecycleAction.START);
+            }
+
+            @Override
+            public void stopRuntimes() throws RuntimeServiceException {
+                throw new RuntimeServiceException("Runtime did not stop");
+            }
+
+            @Override
+            public void beginMaintenance() throws RuntimeServiceException {
+                appliedActions.add(RuntimeLifecycleAction.BEGIN_MAINTENANCE);
+            }
+
+            @Override
+            public void endMaintenance() throws RuntimeServiceException {
+                appliedActions.add(RuntimeLifecycleAction.END_MAINTENANCE);
+            }
+        };
+
+        RuntimeLifecycleReport report = runtimeService.orchestrate(RuntimeLifecycleAction.START);
+        Assert.assertTrue(report.isSuccessful());
+        Assert.assertEquals(report.getAction(), RuntimeLifecycleAction.START);
+        Assert.assertEquals(report.getOutcomes().size(), 1);
+        Assert.assertEquals(report.getOutcomes().get(0).getStatus(), RuntimeLifecycleReport.Status.COMPLETED);
+        Assert.assertEquals(appliedActions, Collections.singletonList(RuntimeLifecycleAction.START));
+
+        report = runtimeService.orchestrate(RuntimeLifecycleAction.STOP);
+        Assert.assertFalse(report.isSuccessful());
+        Assert.assertEquals(report.getOutcomes().get(0).getStatus(), RuntimeLifecycleReport.Status.FAILED);
+        Assert.assertEquals(report.getOutcomes().get(0).getMessage(), "Runtime did not stop");
+    }
+
 }
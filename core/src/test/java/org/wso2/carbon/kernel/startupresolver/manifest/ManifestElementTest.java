@@ -85,4 +85,78 @@ public class ManifestElementTest {
             Assert.assertTrue(false);
         }
     }
+
+    @Test
+    public void testParseQuotedValues() throws ManifestElementParserException {
+        ManifestElement element = parseSingle("a;attr=\"x y\";escaped=\"say \\\"hi\\\"\";plain=\"x\\,y\"");
+        Assert.assertEquals(element.getAttribute("attr"), "x y");
+        Assert.assertEquals(element.getAttribute("escaped"), "say \"hi\"");
+        Assert.assertEquals(element.getAttribute("plain"), "x,y");
+    }
+
+    @Test
+    public void testParseDelimitersInQuotes() throws ManifestElementParserException {
+        List<ManifestElement> elements = ManifestElement.parseHeader(PROVIDE_CAPABILITY,
+                "a;attr=\"x;y,z\";other=1,b", null);
+        Assert.assertEquals(elements.size(), 2);
+        Assert.assertEquals(elements.get(0).getAttribute("attr"), "x;y,z");
+        Assert.assertEquals(elements.get(0).getAttribute("other"), "1");
+        Assert.assertEquals(elements.get(1).getValue(), "b");
+        Assert.assertNull(elements.get(1).getKeys());
+
+        ManifestElement element = parseSingle("\"c ; 1\";\"c , 2\";attr=v");
+        Assert.assertEquals(element.getValue(), "c ; 1;c , 2");
+        Assert.assertEquals(element.getAttribute("attr"), "v");
+    }
+
+    @Test
+    public void testParseMultipleComponents() throws ManifestElementParserException {
+        ManifestElement element = parseSingle("a.jar;b.jar;attr=v w");
+        Assert.assertEquals(element.getValue(), "a.jar;b.jar");
+        Assert.assertEquals(element.getAttribute("attr"), "v w");
+    }
+
+    @Test
+    public void testParseDirectivesAndAttributes() throws ManifestElementParserException {
+        ManifestElement element = parseSingle("a;dir:=d;attr=v");
+        Assert.assertEquals(element.getDirectives("dir"), new String[]{"d"});
+        Assert.assertNull(element.getAttribute("dir"));
+        Assert.assertEquals(element.getAttribute("attr"), "v");
+        Assert.assertEquals(element.getDirectives("attr").length, 0);
+    }
+
+    @Test
+    public void testParseRepeatedKeys() throws ManifestElementParserException {
+        ManifestElement element = parseSingle("a;k=1;k=2");
+        Assert.assertEquals(element.getAttribute("k"), "2");
+        Assert.assertEquals(element.getAttributes("k"), new String[]{"1", "2"});
+        Assert.assertEquals(Collections.list(element.getKeys()), Collections.singletonList("k"));
+    }
+
+    @Test
+    public void testParseTypedAttributes() throws ManifestElementParserException {
+        // The escapes of ',' and '\\' are preserved in the values of the List typed attributes.
+        ManifestElement element = parseSingle("a;names:List<String>=\"x\\,y,z\";paths:List<String>=\"x\\\\y\"");
+        Assert.assertEquals(element.getAttribute("names:List<String>"), "x\\,y,z");
+        Assert.assertEquals(element.getAttribute("paths:List<String>"), "x\\\\y");
+    }
+
+    @Test
+    public void testParseMalformedHeaders() {
+        String[] malformedHeaders = {"", "a;attr=", "a;=v", ",a", "a;attr=v;", "a,", "a;x:y=1", "a;;b", "a;attr=\"\""};
+        for (String malformedHeader : malformedHeaders) {
+            try {
+                ManifestElement.parseHeader(PROVIDE_CAPABILITY, malformedHeader, null);
+                Assert.fail("Parsed the malformed header " + malformedHeader);
+            } catch (ManifestElementParserException e) {
+                Assert.assertTrue(e.getMessage().contains(malformedHeader));
+            }
+        }
+    }
+
+    private static ManifestElement parseSingle(String header) throws ManifestElementParserException {
+        List<ManifestElement> elements = ManifestElement.parseHeader(PROVIDE_CAPABILITY, header, null);
+        Assert.assertEquals(elements.size(), 1);
+        return elements.get(0);
+    }
 }
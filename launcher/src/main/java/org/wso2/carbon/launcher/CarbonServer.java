@@ -27,9 +27,11 @@ import org.wso2.carbon.launcher.config.CarbonLaunchConfig;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import static org.wso2.carbon.launcher.Constants.BOOT_PHASE_PROPERTY_PREFIX;
 import static org.wso2.carbon.launcher.Constants.CARBON_START_TIME;
 
 /**
@@ -63,11 +65,23 @@ public class CarbonServer {
             logger.log(Level.FINE, "Starting Carbon server instance.");
         }
 
+        // Records the time taken by the launcher since Main set the start time, before the start time is reset.
+        long startTime = System.currentTimeMillis();
+        String launcherStartTime = System.getProperty(CARBON_START_TIME);
+        if (launcherStartTime != null) {
+            try {
+                recordBootPhase("launcher", startTime - Long.parseLong(launcherStartTime));
+            } catch (NumberFormatException e) {
+                logger.log(Level.FINE, "Invalid launcher start time " + launcherStartTime, e);
+            }
+        }
+
         // Sets the server start time.
-        System.setProperty(CARBON_START_TIME, Long.toString(System.currentTimeMillis()));
+        System.setProperty(CARBON_START_TIME, Long.toString(startTime));
 
         try {
             // Creates an OSGi framework instance.
+            long phaseStartTime = System.nanoTime();
             ClassLoader fwkClassLoader = createOSGiFwkClassLoader();
             FrameworkFactory fwkFactory = loadOSGiFwkFactory(fwkClassLoader);
             framework = fwkFactory.newFramework(config.getProperties());
@@ -78,9 +92,12 @@ public class CarbonServer {
 
             // Initialize and start OSGi framework.
             initAndStartOSGiFramework(framework);
+            recordBootPhase("framework", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - phaseStartTime));
 
             // Loads initial bundles listed in the launch.properties file.
+            phaseStartTime = System.nanoTime();
             loadInitialBundles(framework.getBundleContext());
+            recordBootPhase("initialBundles", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - phaseStartTime));
 
             setServerCurrentStatus(ServerStatus.STARTED);
             // This thread waits until the OSGi framework comes to a complete shutdown.
@@ -95,6 +112,16 @@ public class CarbonServer {
         }
     }
 
+    /**
+     * Records the duration of a boot phase as a system property, from which the kernel metrics read it.
+     *
+     * @param phase  name of the phase
+     * @param millis duration of the phase in milliseconds
+     */
+    private static void recordBootPhase(String phase, long millis) {
+        System.setProperty(BOOT_PHASE_PROPERTY_PREFIX + phase, Long.toString(millis));
+    }
+
     /**
      * Stop this Carbon server instance.
      */
@@ -27,6 +27,7 @@ public class Constants {
     public static final String RUNTIME_PATH = "wso2.runtime.path";
     public static final String RUNTIME = "wso2.runtime";
     static final String CARBON_START_TIME = "carbon.start.time";
+    static final String BOOT_PHASE_PROPERTY_PREFIX = "carbon.boot.phase.";
 
     public static final String OSGI_REPOSITORY = "wso2/lib";
     public static final String LAUNCH_CONF_DIRECTORY = "conf/osgi";